@@ -0,0 +1,433 @@
+/*
+ * Class: BotPlayer
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     GameClock
+ *     GameRandom
+ *     DifficultyTable
+ *     SimulationResult
+ *     MonteCarloSimulator
+ *     GameFX
+ *     GameMode
+ *     GridRenderer
+ *
+ * Called by classes:
+ *     MonteCarloSimulator
+ *     SoakTest
+ *
+ * Description:
+ *     This class plays the game instead of a user. It looks at the grid once every "reaction
+ *     time", picks a tile through a ClickPolicy (whites only, greens first or avoiding reds) and
+ *     clicks it. With an accuracy under 1, some of its clicks slip onto a random cell instead,
+ *     which can be any color.
+ *
+ *     It plays two ways. Headless, it plays the engines alone, with the hard mode grid updating
+ *     itself every second of game time the same as on screen; MonteCarloSimulator plays its games
+ *     this way. The engine latency is the game time between the bot picking a tile and the click
+ *     reaching the engine, so in the hard mode the grid can change under its click, the same as
+ *     it can for a user on a slow machine. On screen, it drives a GameFX through the real grid
+ *     on screen (the tile buttons, or the canvas), and answers the alerts and the name prompt, so a whole game can
+ *     be played through the JavaFX nodes with nobody at the keyboard.
+ *
+ *     Run on its own, it is the reaction-latency benchmark: it plays the same games over a sweep
+ *     of reaction times and engine latencies, and prints how often the game is won and how long
+ *     the survival round lasts for each.
+ *
+ * Attrtibutes:
+ *     public static final String BOT_NAME - The name the bot saves its scores under
+ *     private ClickPolicy policy - How the bot picks which tile to click
+ *     private double dReactionTime - The seconds between the bot looking at the grid and clicking
+ *     private double dAccuracy - The chance the bot clicks the tile it picked, rather than a random cell
+ *     private double dEngineLatency - The seconds between the bot clicking and the engine seeing the click (headless only)
+ *     private GameRandom random - The random numbers for the bot's picks and slips
+ *     private GameFX gameFX - The game the bot is driving on screen, or null
+ *     private Timeline timelineBot - Runs the bot on screen, once every reaction time
+ *     private EngineState stateFinal - The state the driven game ended in, once it has
+ *     private boolean bFinalInHardMode - Whether the driven game ended in the hard mode, where a score is saved
+ *     private int iNamesEntered - How many name prompts the bot has typed its name into during the driven game
+ *     private Window windowNamed - The last name prompt the bot typed its name into, so it is only counted once
+ *     private CompletableFuture<EngineState> futureFinished - Completed once the driven game is over and back at the menu
+ *
+ * Interesting Methods:
+ *     pickCell(TileGrid) - Picks the cell to click, slips and all
+ *     playGame(DifficultyTable, SimulationResult) - Plays a whole game headless
+ *     drive(GameFX) - Plays a game on screen, through the tile buttons
+ *     answerDialogs() - Closes the alerts and fills in the name prompt that come up during a game
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.DialogPane;
+import javafx.scene.control.TextField;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+
+public class BotPlayer
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The name typed into the name prompt
+	public static final String BOT_NAME = "Bot";
+
+	// The bot's behavior
+	private ClickPolicy policy;
+	private double dReactionTime;
+	private double dAccuracy;
+	private double dEngineLatency;
+	private GameRandom random;
+
+	// The game being driven on screen, if any
+	private GameFX gameFX = null;
+	private Timeline timelineBot = null;
+	private EngineState stateFinal = null;
+	private boolean bFinalInHardMode = false;
+	private int iNamesEntered = 0;
+	private Window windowNamed = null;
+	private CompletableFuture<EngineState> futureFinished = new CompletableFuture<>();
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor for a bot that always clicks what it picks, with no engine latency
+	public BotPlayer(ClickPolicy policy, double dReactionTime, GameRandom random)
+	{
+		this(policy, dReactionTime, 1.0, 0.0, random);
+	}
+
+
+	// Constructor, taking in every part of the bot's behavior
+	public BotPlayer(ClickPolicy policy, double dReactionTime, double dAccuracy, double dEngineLatency, GameRandom random)
+	{
+		this.policy = policy;
+		this.dReactionTime = dReactionTime;
+		this.dAccuracy = dAccuracy;
+		this.dEngineLatency = dEngineLatency;
+		this.random = random;
+	}
+
+
+	// Method to pick the cell to click in the grid, or -1 if the policy has nothing to click
+	// A slip lands on any cell at all; with an accuracy of 1, no random number is spent on slipping
+	public int pickCell(TileGrid grid)
+	{
+		int iCell = policy.pickCell(grid, random);
+
+		if (iCell >= 0 && dAccuracy < 1 && random.nextDouble() >= dAccuracy)
+		{
+			iCell = random.nextInt(grid.getCellCount());
+		}
+
+		return iCell;
+	}
+
+
+	// Method to play a whole game headless- five easy rounds, then the survival round- adding its outcome to the result
+	public void playGame(DifficultyTable table, SimulationResult result)
+	{
+		EasyGameEngine engineEasy = new EasyGameEngine(new GameClock(EasyGameEngine.EASY_START_TIME), table, random);
+		engineEasy.randomlyPopulateGrid();
+		result.addEasyRound(engineEasy.getNumberOfWhiteTiles());
+
+		if (playEasy(engineEasy, result) != EngineState.EasyModeComplete)
+		{
+			result.addEasyFinish(engineEasy.getState());
+			return;
+		}
+
+		HardGameEngine engineHard = new HardGameEngine(new GameClock(HardGameEngine.HARD_START_TIME), table, random);
+		engineHard.randomlyPopulateGrid();
+
+		result.addHardFinish(playHard(engineHard), engineHard.getTimeSurvived());
+	}
+
+
+	// Method to click through the easy rounds of a populated engine, or fail trying, returning the state it ended in
+	// Each new round is added to the result, if there is one
+	public EngineState playEasy(EasyGameEngine engine, SimulationResult result)
+	{
+		while (engine.advanceTime(dReactionTime) == EngineState.Playing)
+		{
+			int iCell = pickCell(engine.getGrid());
+
+			// The click lands a little later; nothing changes the easy grid in between, but the clock keeps running
+			if (dEngineLatency > 0 && engine.advanceTime(dEngineLatency) != EngineState.Playing)
+			{
+				break;
+			}
+
+			if (iCell >= 0)
+			{
+				engine.click(iCell);
+			}
+
+			if (engine.getState() == EngineState.RoundComplete)
+			{
+				engine.nextRound();
+
+				if (result != null)
+				{
+					result.addEasyRound(engine.getNumberOfWhiteTiles());
+				}
+			}
+			else if (engine.getState() != EngineState.Playing)
+			{
+				break;
+			}
+		}
+
+		return engine.getState();
+	}
+
+
+	// Method to survive the hard round of a populated engine for as long as possible, returning the state it ended in
+	// The grid updates itself every whole second in between the bot's clicks, including between a pick and its click landing
+	public EngineState playHard(HardGameEngine engine)
+	{
+		int[] arrUpdatedCells = new int[engine.getTilesPerUpdate()];
+		double dNextUpdate = 1.0;
+
+		while (engine.isPlaying())
+		{
+			double dPick = engine.getTimeSurvived() + dReactionTime;
+			dNextUpdate = advanceHard(engine, dPick, dNextUpdate, arrUpdatedCells);
+
+			if (!engine.isPlaying())
+			{
+				break;
+			}
+
+			int iCell = pickCell(engine.getGrid());
+			dNextUpdate = advanceHard(engine, dPick + dEngineLatency, dNextUpdate, arrUpdatedCells);
+
+			if (engine.isPlaying() && iCell >= 0)
+			{
+				engine.click(iCell);
+			}
+		}
+
+		return engine.getState();
+	}
+
+
+	// Method to move the hard engine's clock up to the given time, updating the grid at every whole second on the way
+	// Returns the time of the next update
+	private static double advanceHard(HardGameEngine engine, double dUntil, double dNextUpdate, int[] arrUpdatedCells)
+	{
+		while (dNextUpdate <= dUntil && engine.isPlaying())
+		{
+			engine.advanceTime(dNextUpdate - engine.getTimeSurvived());
+			engine.randomlyUpdateGrid(arrUpdatedCells);
+			dNextUpdate += 1.0;
+		}
+
+		if (engine.isPlaying())
+		{
+			engine.advanceTime(dUntil - engine.getTimeSurvived());
+		}
+
+		return dNextUpdate;
+	}
+
+
+	// Method to click a tile of a game mode on screen, through its renderer, returning the cell clicked or -1
+	// A clicked tile ignores it, the same as a real click
+	public int clickTile(GameMode mode)
+	{
+		GameEngine engine = mode.getEngine();
+
+		if (!engine.isPlaying())
+		{
+			return -1;
+		}
+
+		int iCell = pickCell(engine.getGrid());
+
+		if (iCell < 0)
+		{
+			return -1;
+		}
+
+		mode.getRenderer().fireCell(iCell);
+		return iCell;
+	}
+
+
+	// Method to play a game on screen, from the easy mode through to the menu, returning a future of the state it ended in
+	// Must be called on the JavaFX application thread, once the game is showing
+	public CompletableFuture<EngineState> drive(GameFX gameFX)
+	{
+		this.gameFX = gameFX;
+
+		timelineBot = new Timeline(new KeyFrame(Duration.seconds(dReactionTime), e -> tick()));
+		timelineBot.setCycleCount(Timeline.INDEFINITE);
+		timelineBot.play();
+
+		return futureFinished;
+	}
+
+
+	// Method run once every reaction time while driving a game on screen
+	// The clicks and the answers are run later, outside of the timeline, since the game shows its alerts with showAndWait(),
+	// which JavaFX doesn't allow while timelines are being run
+	private void tick()
+	{
+		if (answerDialogs())
+		{
+			return;
+		}
+
+		GameMode mode = gameFX.getCurrentMode();
+		EngineState state = mode.getEngine().getState();
+
+		// The easy mode ending hands over to the hard mode once its alert is answered; every other end is the end of the game
+		if (state == EngineState.Playing)
+		{
+			Platform.runLater(() -> clickTile(mode));
+		}
+		else if (state != EngineState.RoundComplete && state != EngineState.EasyModeComplete)
+		{
+			stateFinal = state;
+			bFinalInHardMode = mode instanceof HardGameMode;
+		}
+
+		// Once the game is over and the menu is back up, the game's pane is out of the window
+		if (stateFinal != null && gameFX.getRootPane().getScene() == null)
+		{
+			stop();
+		}
+	}
+
+
+	// Method to answer every alert and prompt that is showing over the game, returning whether there were any
+	// An alert's OK button is pressed; a prompt gets the bot's name in its text field before its button is pressed
+	private boolean answerDialogs()
+	{
+		Window windowGame = gameFX.getRootPane().getScene() == null ? null : gameFX.getRootPane().getScene().getWindow();
+		boolean bAnswered = false;
+
+		for (Window window : Window.getWindows())
+		{
+			if (window == windowGame || !window.isShowing() || window.getScene() == null)
+			{
+				continue;
+			}
+
+			Parent root = window.getScene().getRoot();
+			Node nodeButton;
+
+			if (root instanceof DialogPane)
+			{
+				nodeButton = ((DialogPane) root).lookupButton(ButtonType.OK);
+			}
+			else
+			{
+				Node nodeText = root.lookup(".text-field");
+
+				if (nodeText instanceof TextField)
+				{
+					((TextField) nodeText).setText(BOT_NAME);
+
+					if (window != windowNamed)
+					{
+						windowNamed = window;
+						iNamesEntered++;
+					}
+				}
+
+				nodeButton = root.lookup(".button");
+			}
+
+			if (nodeButton instanceof Button)
+			{
+				Button btAnswer = (Button) nodeButton;
+				Platform.runLater(btAnswer::fire);
+				bAnswered = true;
+			}
+		}
+
+		return bAnswered;
+	}
+
+
+	// Getter for whether the driven game ended in the hard mode, i.e. whether it saved a score under the name prompt's name
+	public boolean isFinalInHardMode()
+	{
+		return bFinalInHardMode;
+	}
+
+
+	// Getter for how many name prompts the bot typed its name into while driving the game; a score saved without one has no name
+	public int getNamesEntered()
+	{
+		return iNamesEntered;
+	}
+
+
+	// Method to stop driving the game on screen, completing the future with the state the game ended in (null if it never ended)
+	public void stop()
+	{
+		if (timelineBot != null)
+		{
+			timelineBot.stop();
+		}
+
+		futureFinished.complete(stateFinal);
+	}
+
+
+	// The reaction-latency benchmark: plays the same games over a sweep of reaction times and engine latencies
+	// Arguments (all optional): games per run, click policy, accuracy, seed, a table file to play with
+	public static void main(String[] args) throws IOException
+	{
+		int iGames = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		ClickPolicy policy = args.length > 1 ? ClickPolicy.valueOf(args[1]) : ClickPolicy.GreensFirst;
+		double dAccuracy = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+		long lSeed = args.length > 3 ? Long.parseLong(args[3]) : new GameRandom().getSeed();
+		DifficultyTable table = args.length > 4 ? DifficultyTable.load(Paths.get(args[4])) : DifficultyTable.DEFAULT;
+
+		double[] arrReactionTimes = {.2, .3, .4, .5, .6};
+		double[] arrLatencies = {0, .016, .033, .05, .1, .2};
+
+		System.out.println(policy + ", accuracy " + dAccuracy + ", " + iGames + " games per run, seed " + lSeed);
+		System.out.println("win rate (mean seconds survived) by reaction time, then engine latency");
+
+		for (double dReactionTime : arrReactionTimes)
+		{
+			StringBuilder sbRow = new StringBuilder(String.format("%.2fs:", dReactionTime));
+
+			for (double dLatency : arrLatencies)
+			{
+				// Every cell of the sweep starts from the same seed, so only the timing differs between them
+				SimulationResult result = new MonteCarloSimulator(policy, dReactionTime, dAccuracy, dLatency, new GameRandom(lSeed))
+						.simulate(table, iGames);
+
+				sbRow.append(String.format("  +%3.0fms %5.1f%% (%4.1fs)", dLatency * 1000, result.getWinRate() * 100, result.getMeanSurvivalTime()));
+			}
+
+			System.out.println(sbRow);
+		}
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+/*
+ * Class: ButtonGridRenderer
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GridRenderer
+ *     GridLayout
+ *     GameEngine
+ *     Tile
+ *
+ * Called by classes:
+ *     RendererType
+ *     GameBenchmarkTarget
+ *
+ * Description:
+ *     This class shows a grid the way the game always has: a GridPane of tile buttons, one Tile
+ *     per cell, created the first time the grid is shown and re-skinned in place every time
+ *     after that. Clicks are not registered on each tile; one handler on the GridPane catches
+ *     every tile button's action, finds the cell from the button's column and row, and hands it
+ *     to the game mode.
+ *
+ *     Every tile is a full control, with its own CSS, skin and layout, which is fine for the 5x5
+ *     and 6x6 grids; for much larger ones, refer to CanvasGridRenderer. The tile and gap sizes
+ *     come from a GridLayout.
+ *
+ * Attrtibutes:
+ *     private final GridPane gpGrid - The grid pane the tile buttons are laid out in
+ *     private final double dFitSize - The size of each tile's image (0 for its natural size)
+ *     private final double dGap - The pixels between tiles
+ *     private final EventHandler<ActionEvent> handlerAction - The one click handler on the GridPane
+ *     private final FadeTransition fadeClicked - The fade played on a tile that has been clicked
+ *     private Tile[] arrTiles - The tiles, indexed by the engine's cell index
+ *     private GameEngine engine - The engine whose grid is shown
+ *     private IntConsumer handlerCellClick - The game mode's handler for the cell of each click
+ *
+ * Interesting Methods:
+ *     showGrid() - Shows every cell, creating the tiles the first time
+ *     dispatchAction(ActionEvent) - Finds the cell of a tile button's action and hands it to the game mode
+ *
+ */
+
+
+// Imports
+import java.util.function.IntConsumer;
+
+import javafx.animation.FadeTransition;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+
+public class ButtonGridRenderer implements GridRenderer
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The grid pane, and the size of the images on its tiles
+	private final GridPane gpGrid = new GridPane();
+	private final double dFitSize;
+	private final double dGap;
+
+	// The one click handler, and the fade for a clicked tile
+	private final EventHandler<ActionEvent> handlerAction = e -> dispatchAction(e);
+	private final FadeTransition fadeClicked = new FadeTransition(Duration.seconds(.115));
+
+	// The tiles, and what they show and report to
+	private Tile[] arrTiles = new Tile[0];
+	private GameEngine engine = null;
+	private IntConsumer handlerCellClick = null;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the size of each tile's image (0 for its natural size), with the usual gap between tiles
+	public ButtonGridRenderer(double dFitSize)
+	{
+		this(dFitSize, GridLayout.MAX_GAP);
+	}
+
+
+	// Constructor, also taking in the pixels between tiles
+	public ButtonGridRenderer(double dFitSize, double dGap)
+	{
+		this.dFitSize = dFitSize;
+		this.dGap = dGap;
+
+		// Adjust the background, spacing between boxes, etc.
+		gpGrid.setBackground(new Background(new BackgroundFill(Color.LIGHTGRAY, null, null)));
+		gpGrid.setHgap(dGap);
+		gpGrid.setVgap(dGap);
+		gpGrid.setPadding(new Insets(GridLayout.PADDING));
+		gpGrid.setCursor(Cursor.HAND);
+
+		// Define the fade transition for every tile click
+		// Used to visually cue the user to a tile being clicked and changing color
+		fadeClicked.setFromValue(1.0);
+		fadeClicked.setToValue(.25);
+		fadeClicked.setAutoReverse(true);
+		fadeClicked.setCycleCount(2);
+	}
+
+
+	@Override
+	// Method to hook the renderer up to an engine and the game mode's click handler
+	// A button's action travels up to the GridPane it is in, so one handler there hears every tile's clicks
+	public void attach(GameEngine engine, IntConsumer handlerCellClick)
+	{
+		this.engine = engine;
+		this.handlerCellClick = handlerCellClick;
+
+		arrTiles = new Tile[engine.getCellCount()];
+		gpGrid.addEventHandler(ActionEvent.ACTION, handlerAction);
+	}
+
+
+	@Override
+	// Getter for the grid pane
+	public Node getNode()
+	{
+		return gpGrid;
+	}
+
+
+	@Override
+	// Getter for the width of the grid pane, once it has been laid out
+	public double getWidth()
+	{
+		return gpGrid.getWidth();
+	}
+
+
+	@Override
+	// Getter for the height of the grid pane, once it has been laid out
+	public double getHeight()
+	{
+		return gpGrid.getHeight();
+	}
+
+
+	@Override
+	// Method to show the engine's grid on the tiles, one per engine cell
+	// The first time, each tile's button and image are created and added to the gridpane at column i, row j;
+	// every time after that, the same nodes are re-skinned in place, so nothing is added to or removed from the scene
+	public void showGrid()
+	{
+		for (int i = 0; i < engine.getGridSize(); i++)
+		{
+			for (int j = 0; j < engine.getGridSize(); j++)
+			{
+				int iCell = engine.getCellIndex(i, j);
+				Tile tile = arrTiles[iCell];
+
+				if (tile == null)
+				{
+					tile = new Tile(iCell, dFitSize);
+					arrTiles[iCell] = tile;
+				}
+
+				// Add the tile to the gridpane, if it isn't there already
+				if (tile.getTileButton().getParent() != gpGrid)
+				{
+					gpGrid.add(tile.getTileButton(), i, j);
+				}
+
+				showCell(iCell);
+			}
+		}
+	}
+
+
+	@Override
+	// Method to re-skin a tile to the engine's color for its cell, then disable the button (both visually and
+	// functionally) if the cell has been clicked, so a clicked tile can't be clicked again
+	public void showCell(int iCell)
+	{
+		Tile tile = arrTiles[iCell];
+
+		tile.reskin(engine.getTileColor(iCell));
+		tile.getTileButton().setDisable(engine.isTileDisabled(iCell));
+	}
+
+
+	@Override
+	// Method to fade a clicked tile out and back in
+	public void flashCell(int iCell)
+	{
+		fadeClicked.setNode(arrTiles[iCell].getTileButton());
+		fadeClicked.play();
+	}
+
+
+	@Override
+	// Method to click a tile from the code; Button.fire() does nothing to a disabled button, the same as a real click
+	public void fireCell(int iCell)
+	{
+		if (iCell < arrTiles.length && arrTiles[iCell] != null)
+		{
+			arrTiles[iCell].getTileButton().fire();
+		}
+	}
+
+
+	// Method run by the gridpane's handler for every button action inside it
+	// Finds the clicked tile from its column and row, then hands its cell to the game mode
+	private void dispatchAction(ActionEvent e)
+	{
+		if (!(e.getTarget() instanceof Node))
+		{
+			return;
+		}
+
+		Node nodeClicked = (Node) e.getTarget();
+		Integer iColumn = GridPane.getColumnIndex(nodeClicked);
+		Integer iRow = GridPane.getRowIndex(nodeClicked);
+
+		// Anything that isn't one of the tiles is none of the game mode's business
+		if (iColumn == null || iRow == null || iColumn >= engine.getGridSize() || iRow >= engine.getGridSize())
+		{
+			return;
+		}
+
+		int iCell = engine.getCellIndex(iColumn, iRow);
+		Tile tile = arrTiles[iCell];
+
+		if (tile == null || tile.getTileButton() != nodeClicked)
+		{
+			return;
+		}
+
+		handlerCellClick.accept(iCell);
+	}
+
+
+	@Override
+	// Method to stop the fade, remove the click handler and clear the gridpane of every tile
+	public void dispose()
+	{
+		fadeClicked.stop();
+		gpGrid.removeEventHandler(ActionEvent.ACTION, handlerAction);
+		gpGrid.getChildren().clear();
+		arrTiles = new Tile[0];
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,357 @@
+/*
+ * Class: CanvasGridRenderer
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GridRenderer
+ *     GridLayout
+ *     GameEngine
+ *     Tile
+ *
+ * Called by classes:
+ *     RendererType
+ *
+ * Description:
+ *     This class draws a whole grid on a single Canvas, laid out the same as ButtonGridRenderer's
+ *     GridPane (2 pixels of padding, and the GridLayout's gap between tiles), so that a 32x32 grid
+ *     (or many grids at once) is one node in the scene rather than a thousand buttons, each with
+ *     its own CSS, skin and layout.
+ *
+ *     Only what changes is drawn again: showGrid() paints every cell, but after that, showCell()
+ *     repaints just the rectangle of the cell that changed, and a fading cell has just its own
+ *     rectangle repainted on each pulse while it fades. The Canvas keeps what has been drawn, so
+ *     the rest of the grid costs nothing.
+ *
+ *     There is nothing to pick a click from, so the cell is worked out from the mouse's
+ *     coordinates: the column and row come from dividing by a tile plus its gap, and a click that
+ *     lands in a gap is no click at all. Like a button, a cell is clicked when the mouse is
+ *     released over the same cell it was pressed on, and a clicked (disabled) cell can't be
+ *     clicked again; it is drawn faded, as a disabled button is.
+ *
+ * Attrtibutes:
+ *     private static final double DISABLED_OPACITY - How opaque a clicked tile is drawn
+ *     private static final double FLASH_OPACITY - How opaque a clicked tile gets, halfway through its fade
+ *     private static final long FLASH_NANOS - How long a clicked tile's fade lasts, out and back in
+ *     private final Canvas canvas - The one node the grid is drawn on
+ *     private final GraphicsContext gc - Draws on the canvas
+ *     private final double dTileSize - The size of each tile, in pixels
+ *     private final double dGap - The pixels between tiles
+ *     private final EventHandler<MouseEvent> handlerPressed - Remembers the cell the mouse was pressed on
+ *     private final EventHandler<MouseEvent> handlerReleased - Clicks the cell, if it is released on the same one
+ *     private final AnimationTimer timerFlash - Repaints the fading cells on every pulse, only while there are any
+ *     private GameEngine engine - The engine whose grid is drawn
+ *     private IntConsumer handlerCellClick - The game mode's handler for the cell of each click
+ *     private long[] arrFlashStart - When each cell started fading, or 0
+ *     private int[] arrFlashing - The cells fading, iFlashing of them
+ *     private int iPressedCell - The cell the mouse was pressed on, or -1
+ *
+ * Interesting Methods:
+ *     getCellAt(double, double) - Works out the cell at a point on the canvas, or -1
+ *     drawCell(int, double) - Repaints one cell's rectangle
+ *     repaintFlashes(long) - Repaints the fading cells, once per pulse
+ *
+ */
+
+
+// Imports
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.event.EventHandler;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+
+
+public class CanvasGridRenderer implements GridRenderer
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// A clicked tile is as faded as a disabled button; a fade goes down to a quarter and back, the same as the FadeTransition
+	private static final double DISABLED_OPACITY = .4;
+	private static final double FLASH_OPACITY = .25;
+	private static final long FLASH_NANOS = 230_000_000L;
+
+	// The canvas, the size of its tiles and the gaps between them
+	private final Canvas canvas = new Canvas();
+	private final GraphicsContext gc = canvas.getGraphicsContext2D();
+	private final double dTileSize;
+	private final double dGap;
+
+	// The mouse handlers, and the timer that runs the fades
+	private final EventHandler<MouseEvent> handlerPressed = e -> mousePressed(e);
+	private final EventHandler<MouseEvent> handlerReleased = e -> mouseReleased(e);
+	private final AnimationTimer timerFlash;
+
+	// What the grid shows and reports to
+	private GameEngine engine = null;
+	private IntConsumer handlerCellClick = null;
+
+	// The fading cells, and the cell being clicked
+	private long[] arrFlashStart = new long[0];
+	private int[] arrFlashing = new int[0];
+	private int iFlashing = 0;
+	private int iPressedCell = -1;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the size of each tile in pixels (0 for the tile images' own size) and the pixels between tiles
+	public CanvasGridRenderer(double dTileSize, double dGap)
+	{
+		this.dTileSize = dTileSize > 0 ? dTileSize : Tile.IMG_WHITE_TILE.getWidth();
+		this.dGap = dGap;
+
+		canvas.setCursor(Cursor.HAND);
+
+		timerFlash = new AnimationTimer()
+		{
+			@Override
+			public void handle(long lNow)
+			{
+				repaintFlashes(lNow);
+			}
+		};
+	}
+
+
+	@Override
+	// Method to hook the renderer up to an engine and the game mode's click handler, sizing the canvas to fit the grid
+	public void attach(GameEngine engine, IntConsumer handlerCellClick)
+	{
+		this.engine = engine;
+		this.handlerCellClick = handlerCellClick;
+
+		arrFlashStart = new long[engine.getCellCount()];
+		arrFlashing = new int[engine.getCellCount()];
+
+		int iGridSize = engine.getGridSize();
+		canvas.setWidth(GridLayout.PADDING * 2 + iGridSize * dTileSize + (iGridSize - 1) * dGap);
+		canvas.setHeight(canvas.getWidth());
+
+		canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, handlerPressed);
+		canvas.addEventHandler(MouseEvent.MOUSE_RELEASED, handlerReleased);
+	}
+
+
+	@Override
+	// Getter for the canvas
+	public Node getNode()
+	{
+		return canvas;
+	}
+
+
+	@Override
+	// Getter for the width of the canvas, which is known as soon as it is attached
+	public double getWidth()
+	{
+		return canvas.getWidth();
+	}
+
+
+	@Override
+	// Getter for the height of the canvas, which is known as soon as it is attached
+	public double getHeight()
+	{
+		return canvas.getHeight();
+	}
+
+
+	@Override
+	// Method to paint the whole grid: the background, then every cell
+	// Painting over the whole canvas also lets it throw away everything drawn before
+	public void showGrid()
+	{
+		gc.setFill(Color.LIGHTGRAY);
+		gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+		Arrays.fill(arrFlashStart, 0);
+		iFlashing = 0;
+		timerFlash.stop();
+
+		for (int iCell = 0; iCell < engine.getCellCount(); iCell++)
+		{
+			drawCell(iCell, 1);
+		}
+	}
+
+
+	@Override
+	// Method to repaint one cell; a fading cell is left to the fade, which repaints it on the next pulse anyway
+	public void showCell(int iCell)
+	{
+		if (arrFlashStart[iCell] == 0)
+		{
+			drawCell(iCell, 1);
+		}
+	}
+
+
+	@Override
+	// Method to start a cell fading out and back in; it is repainted on every pulse until it is done
+	public void flashCell(int iCell)
+	{
+		if (arrFlashStart[iCell] == 0)
+		{
+			arrFlashing[iFlashing++] = iCell;
+		}
+
+		// The time it starts is taken from the first pulse it is drawn on, the same as an animation
+		arrFlashStart[iCell] = -1;
+		timerFlash.start();
+	}
+
+
+	// Method run on every pulse while any cell is fading, repainting just those cells
+	// A finished cell is painted as it now is and taken out of the list; once none are left, the timer stops
+	private void repaintFlashes(long lNow)
+	{
+		int iStillFlashing = 0;
+
+		for (int i = 0; i < iFlashing; i++)
+		{
+			int iCell = arrFlashing[i];
+
+			if (arrFlashStart[iCell] < 0)
+			{
+				arrFlashStart[iCell] = lNow;
+			}
+
+			long lElapsed = lNow - arrFlashStart[iCell];
+
+			if (lElapsed >= FLASH_NANOS)
+			{
+				arrFlashStart[iCell] = 0;
+				drawCell(iCell, 1);
+				continue;
+			}
+
+			// Down to FLASH_OPACITY over the first half, then back up over the second
+			double dHalf = Math.abs(2.0 * lElapsed / FLASH_NANOS - 1);
+			drawCell(iCell, FLASH_OPACITY + (1 - FLASH_OPACITY) * dHalf);
+			arrFlashing[iStillFlashing++] = iCell;
+		}
+
+		iFlashing = iStillFlashing;
+
+		if (iFlashing == 0)
+		{
+			timerFlash.stop();
+		}
+	}
+
+
+	// Method to repaint one cell's rectangle: the background behind it, then its tile at the given opacity
+	// A clicked cell is faded further, the way a disabled button is
+	private void drawCell(int iCell, double dOpacity)
+	{
+		int iGridSize = engine.getGridSize();
+		double dX = GridLayout.PADDING + (iCell / iGridSize) * (dTileSize + dGap);
+		double dY = GridLayout.PADDING + (iCell % iGridSize) * (dTileSize + dGap);
+		TileColor color = engine.getTileColor(iCell);
+
+		gc.setFill(Color.LIGHTGRAY);
+		gc.fillRect(dX, dY, dTileSize, dTileSize);
+
+		if (color == null)
+		{
+			return;
+		}
+
+		gc.setGlobalAlpha(engine.isTileDisabled(iCell) ? dOpacity * DISABLED_OPACITY : dOpacity);
+		gc.drawImage(Tile.getTileImage(color), dX, dY, dTileSize, dTileSize);
+		gc.setGlobalAlpha(1);
+	}
+
+
+	// Method to work out the cell at a point on the canvas, or -1 if the point is in the padding or a gap
+	// Cells are indexed by column, then row, the same as the engine's
+	public int getCellAt(double dX, double dY)
+	{
+		int iColumn = getTileAt(dX - GridLayout.PADDING);
+		int iRow = getTileAt(dY - GridLayout.PADDING);
+
+		if (iColumn < 0 || iRow < 0)
+		{
+			return -1;
+		}
+
+		return engine.getCellIndex(iColumn, iRow);
+	}
+
+
+	// Method to work out the column (or row) at a distance from the first tile's edge, or -1 if it is in a gap or off the grid
+	private int getTileAt(double dOffset)
+	{
+		if (dOffset < 0)
+		{
+			return -1;
+		}
+
+		int iTile = (int) (dOffset / (dTileSize + dGap));
+
+		if (iTile >= engine.getGridSize() || dOffset - iTile * (dTileSize + dGap) >= dTileSize)
+		{
+			return -1;
+		}
+
+		return iTile;
+	}
+
+
+	// Method run when the mouse is pressed on the canvas; remembers the cell, the same as a button being armed
+	private void mousePressed(MouseEvent e)
+	{
+		iPressedCell = e.getButton() == MouseButton.PRIMARY ? getCellAt(e.getX(), e.getY()) : -1;
+	}
+
+
+	// Method run when the mouse is released on the canvas; the cell is clicked if it is the one the mouse was pressed on
+	private void mouseReleased(MouseEvent e)
+	{
+		int iCell = getCellAt(e.getX(), e.getY());
+
+		if (e.getButton() == MouseButton.PRIMARY && iCell >= 0 && iCell == iPressedCell)
+		{
+			fireCell(iCell);
+		}
+
+		iPressedCell = -1;
+	}
+
+
+	@Override
+	// Method to click a cell from the code, the same as the user would; a clicked cell is ignored, as a disabled button is
+	public void fireCell(int iCell)
+	{
+		if (handlerCellClick != null && !engine.isTileDisabled(iCell))
+		{
+			handlerCellClick.accept(iCell);
+		}
+	}
+
+
+	@Override
+	// Method to stop the fades and remove the mouse handlers; the canvas is dropped along with the renderer
+	public void dispose()
+	{
+		timerFlash.stop();
+		iFlashing = 0;
+		canvas.removeEventHandler(MouseEvent.MOUSE_PRESSED, handlerPressed);
+		canvas.removeEventHandler(MouseEvent.MOUSE_RELEASED, handlerReleased);
+		handlerCellClick = null;
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,475 @@
+/*
+ * Class: DifficultyTable
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     None
+ *
+ * Called by classes:
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     EasyGameMode
+ *     HardGameMode
+ *     GameFX
+ *     MonteCarloSimulator
+ *     BotPlayer
+ *     Replay
+ *     ReplayRecorder
+ *     ReplayPlayer
+ *
+ * Description:
+ *     This class holds the color probabilities that make the game easy or hard: the chance of
+ *     each color when the easy and hard grids are populated, and the chance of each new color
+ *     when a hard mode tile changes. They used to be constants hard-coded into the game mode
+ *     classes; now they can be swapped out, so the simulator can try out different numbers.
+ *
+ *     Every array of probabilities is indexed by TileColor ordinal (White, Black, Green, Red)
+ *     and must add up to 1. A table can also be loaded from a file, in the same form toString()
+ *     prints it in, so the numbers can be tuned without touching the code:
+ *
+ *         easy = .44 .36 .12 .08
+ *         hard = .417 .278 .167 .138
+ *         transition.White = .35 .17 .35 .13
+ *         (and a transition line for every other color)
+ *
+ *     The game itself plays with the table file named on the command line, i.e.
+ *     -Dtiles.table=tuned.table, or the default table if there is none. Every replay records the
+ *     table it was played with (in binary; refer to writeTo()), so it plays back the same.
+ *
+ *     Each distribution is compiled into an alias table (Vose's alias method) when the table is
+ *     made. Picking a color is then one random number, split into a column and a coin flip
+ *     within that column, no matter how many colors there are; walking a running sum of the
+ *     probabilities took one comparison per color.
+ *
+ * Attrtibutes:
+ *     public static final DifficultyTable DEFAULT - The numbers the game has always shipped with
+ *     public static final int ENCODED_BYTES - The size of a table in binary
+ *     private static final String[] DISTRIBUTION_KEYS - The keys of the easy and hard distributions in a table file
+ *     private static final String TRANSITION_PREFIX - Begins the key of each row of transitions in a table file
+ *     private final double[] arrEasyInitial - The chance of each color in an easy grid
+ *     private final double[] arrHardInitial - The chance of each color in the initial hard grid
+ *     private final double[][] arrHardTransitions - The chance of each new color, [old color][new color]
+ *     private final AliasTable aliasEasyInitial - arrEasyInitial, compiled for sampling
+ *     private final AliasTable aliasHardInitial - arrHardInitial, compiled for sampling
+ *     private final AliasTable[] arrAliasTransitions - Each row of arrHardTransitions, compiled for sampling
+ *
+ * Interesting Methods:
+ *     sampleEasyInitial(double) - Picks the color of an easy tile from a random number
+ *     sampleHardInitial(double) - Picks the color of an initial hard tile from a random number
+ *     sampleHardTransition(TileColor, double) - Picks the new color of a hard tile from a random number
+ *     load(Path) - Reads a table from a file
+ *     fromProperty(String) - Reads the table file named by a system property, or gives back the default
+ *     writeTo(ByteBuffer) / readFrom(ByteBuffer) - Writes a table in binary and reads it back, i.e. for a replay
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+
+public class DifficultyTable
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The colors, indexed by ordinal
+	private static final TileColor[] COLORS = TileColor.values();
+
+	// A table in binary is every probability as a double: easy, hard, then the transitions, a row per color
+	public static final int ENCODED_BYTES = 8 * COLORS.length * (2 + COLORS.length);
+
+	// The numbers the game ships with; all of them are entirely preferential
+	// Easy approximates 11 white tiles, 9 black, 3 green and 2 red out of 25
+	// Hard approximates 15 white, 10 black, 6 green and 5 red out of 36
+	// A hard tile changes color with:
+	// White tile: .35 W, .35 G, .13 R, .17 B
+	// Black tile: .60 W, .20 G, .10 R, .10 B
+	// Green tile: .40 W, .36 G, .10 R. .14 B
+	// Red tile: .25 W, .45 G, .15 R, .15 B
+	public static final DifficultyTable DEFAULT = new DifficultyTable(
+			new double[] {.44, .36, .12, .08},
+			new double[] {.417, .278, .167, .138},
+			new double[][]
+			{
+				{.35, .17, .35, .13},
+				{.60, .10, .20, .10},
+				{.40, .14, .36, .10},
+				{.25, .15, .45, .15}
+			});
+
+	// The keys in a table file
+	private static final String[] DISTRIBUTION_KEYS = {"easy", "hard"};
+	private static final String TRANSITION_PREFIX = "transition.";
+
+	// The probabilities themselves
+	private final double[] arrEasyInitial;
+	private final double[] arrHardInitial;
+	private final double[][] arrHardTransitions;
+
+	// The same probabilities, compiled into alias tables
+	private final AliasTable aliasEasyInitial;
+	private final AliasTable aliasHardInitial;
+	private final AliasTable[] arrAliasTransitions;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in every probability; the arrays are copied, so changing them later does nothing
+	public DifficultyTable(double[] arrEasyInitial, double[] arrHardInitial, double[][] arrHardTransitions) throws IllegalArgumentException
+	{
+		this.arrEasyInitial = checkDistribution(arrEasyInitial);
+		this.arrHardInitial = checkDistribution(arrHardInitial);
+
+		if (arrHardTransitions.length != COLORS.length)
+		{
+			throw new IllegalArgumentException("There must be one row of transitions per tile color.");
+		}
+
+		this.arrHardTransitions = new double[COLORS.length][];
+		arrAliasTransitions = new AliasTable[COLORS.length];
+
+		for (int i = 0; i < COLORS.length; i++)
+		{
+			this.arrHardTransitions[i] = checkDistribution(arrHardTransitions[i]);
+			arrAliasTransitions[i] = new AliasTable(this.arrHardTransitions[i]);
+		}
+
+		aliasEasyInitial = new AliasTable(this.arrEasyInitial);
+		aliasHardInitial = new AliasTable(this.arrHardInitial);
+	}
+
+
+	// Method to read a table from a file, written the way toString() prints one
+	// Every color needs a probability on every line; a missing line or a bad number is an IOException
+	public static DifficultyTable load(Path pathTable) throws IOException
+	{
+		Properties properties = new Properties();
+
+		try (Reader reader = Files.newBufferedReader(pathTable, StandardCharsets.UTF_8))
+		{
+			properties.load(reader);
+		}
+
+		try
+		{
+			double[][] arrTransitions = new double[COLORS.length][];
+
+			for (TileColor color : COLORS)
+			{
+				arrTransitions[color.ordinal()] = parseDistribution(properties, TRANSITION_PREFIX + color);
+			}
+
+			return new DifficultyTable(parseDistribution(properties, DISTRIBUTION_KEYS[0]), parseDistribution(properties, DISTRIBUTION_KEYS[1]), arrTransitions);
+		}
+		catch (IllegalArgumentException e)
+		{
+			throw new IOException(pathTable + " is not a difficulty table: " + e.getMessage(), e);
+		}
+	}
+
+
+	// Method to read the table file named by a system property (i.e. -Dtiles.table=tuned.table), or the default table if it isn't set
+	// A file that can't be read, or isn't a table, is reported and the default table is played instead
+	public static DifficultyTable fromProperty(String strKey)
+	{
+		String strFile = System.getProperty(strKey);
+
+		if (strFile == null)
+		{
+			return DEFAULT;
+		}
+
+		try
+		{
+			return load(Paths.get(strFile.trim()));
+		}
+		catch (IOException | InvalidPathException e)
+		{
+			System.out.println(strKey + "=" + strFile + " could not be loaded (" + e.getMessage() + "); using the default table.");
+			return DEFAULT;
+		}
+	}
+
+
+	// Method to write the table in binary, ENCODED_BYTES long: the easy probabilities, the hard ones, then each row of transitions
+	public void writeTo(ByteBuffer buffer)
+	{
+		putDistribution(buffer, arrEasyInitial);
+		putDistribution(buffer, arrHardInitial);
+
+		for (double[] arrRow : arrHardTransitions)
+		{
+			putDistribution(buffer, arrRow);
+		}
+	}
+
+
+	// Method to read a table written by writeTo(), leaving the buffer just past it
+	// Throws an IllegalArgumentException if the probabilities don't make a table, the same as the constructor
+	public static DifficultyTable readFrom(ByteBuffer buffer) throws IllegalArgumentException
+	{
+		double[] arrEasy = getDistribution(buffer);
+		double[] arrHard = getDistribution(buffer);
+		double[][] arrTransitions = new double[COLORS.length][];
+
+		for (int i = 0; i < COLORS.length; i++)
+		{
+			arrTransitions[i] = getDistribution(buffer);
+		}
+
+		return new DifficultyTable(arrEasy, arrHard, arrTransitions);
+	}
+
+
+	// Method to write one distribution's probabilities in binary
+	private static void putDistribution(ByteBuffer buffer, double[] arrProbabilities)
+	{
+		for (double dProbability : arrProbabilities)
+		{
+			buffer.putDouble(dProbability);
+		}
+	}
+
+
+	// Method to read one distribution's probabilities in binary, one per color
+	private static double[] getDistribution(ByteBuffer buffer)
+	{
+		double[] arrProbabilities = new double[COLORS.length];
+
+		for (int i = 0; i < COLORS.length; i++)
+		{
+			arrProbabilities[i] = buffer.getDouble();
+		}
+
+		return arrProbabilities;
+	}
+
+
+	// Method to read one line of probabilities from a table file, separated by spaces or commas
+	private static double[] parseDistribution(Properties properties, String strKey) throws IllegalArgumentException
+	{
+		String strValue = properties.getProperty(strKey);
+
+		if (strValue == null)
+		{
+			throw new IllegalArgumentException("there is no " + strKey + " line.");
+		}
+
+		String[] arrValues = strValue.trim().split("[\\s,]+");
+		double[] arrProbabilities = new double[arrValues.length];
+
+		for (int i = 0; i < arrValues.length; i++)
+		{
+			arrProbabilities[i] = Double.parseDouble(arrValues[i]);
+		}
+
+		return arrProbabilities;
+	}
+
+
+	// Method to check that an array has one probability per color and adds up to 1, returning a copy of it
+	private static double[] checkDistribution(double[] arrProbabilities) throws IllegalArgumentException
+	{
+		if (arrProbabilities.length != COLORS.length)
+		{
+			throw new IllegalArgumentException("There must be one probability per tile color.");
+		}
+
+		double dSum = 0;
+
+		for (double dProbability : arrProbabilities)
+		{
+			if (dProbability < 0)
+			{
+				throw new IllegalArgumentException("Probabilities cannot be negative.");
+			}
+
+			dSum += dProbability;
+		}
+
+		if (Math.abs(dSum - 1.0) > 1e-6)
+		{
+			throw new IllegalArgumentException("Probabilities must add up to 1, not " + dSum + ".");
+		}
+
+		return arrProbabilities.clone();
+	}
+
+
+	// Method to pick the color of an easy tile
+	// dRand is a random number between 0.0 (inclusive) and 1.0 (exclusive), as with all of the sample methods
+	public TileColor sampleEasyInitial(double dRand)
+	{
+		return COLORS[aliasEasyInitial.sample(dRand)];
+	}
+
+
+	// Method to pick the color of an initial hard tile
+	public TileColor sampleHardInitial(double dRand)
+	{
+		return COLORS[aliasHardInitial.sample(dRand)];
+	}
+
+
+	// Method to pick the new color of a hard tile that currently has the given color
+	public TileColor sampleHardTransition(TileColor colorOld, double dRand)
+	{
+		return COLORS[arrAliasTransitions[colorOld.ordinal()].sample(dRand)];
+	}
+
+
+	// Getter for a copy of the easy probabilities
+	public double[] getEasyInitial()
+	{
+		return arrEasyInitial.clone();
+	}
+
+
+	// Getter for a copy of the initial hard probabilities
+	public double[] getHardInitial()
+	{
+		return arrHardInitial.clone();
+	}
+
+
+	// Getter for a copy of the hard transition probabilities
+	public double[][] getHardTransitions()
+	{
+		double[][] arrCopy = new double[arrHardTransitions.length][];
+
+		for (int i = 0; i < arrHardTransitions.length; i++)
+		{
+			arrCopy[i] = arrHardTransitions[i].clone();
+		}
+
+		return arrCopy;
+	}
+
+
+	@Override
+	// Method to print the table the way load() reads it
+	public String toString()
+	{
+		StringBuilder sbTable = new StringBuilder();
+		appendDistribution(sbTable, DISTRIBUTION_KEYS[0], arrEasyInitial);
+		appendDistribution(sbTable, DISTRIBUTION_KEYS[1], arrHardInitial);
+
+		for (TileColor color : COLORS)
+		{
+			appendDistribution(sbTable, TRANSITION_PREFIX + color, arrHardTransitions[color.ordinal()]);
+		}
+
+		return sbTable.toString();
+	}
+
+
+	// Method to print one line of probabilities
+	private static void appendDistribution(StringBuilder sbTable, String strKey, double[] arrProbabilities)
+	{
+		sbTable.append(strKey).append(" =");
+
+		for (double dProbability : arrProbabilities)
+		{
+			sbTable.append(' ').append(dProbability);
+		}
+
+		sbTable.append(System.lineSeparator());
+	}
+
+
+	// A distribution compiled for sampling with Vose's alias method
+	// Each of the n columns is split between its own color, with the chance arrThreshold[column], and one other color, its alias;
+	// a random number picks a column (its whole part, times n) and which side of the split to take (what is left over)
+	private static class AliasTable
+	{
+		private final double[] arrThreshold;
+		private final int[] arrAlias;
+
+		public AliasTable(double[] arrProbabilities)
+		{
+			int iColumns = arrProbabilities.length;
+			arrThreshold = new double[iColumns];
+			arrAlias = new int[iColumns];
+
+			// Scale so the average column is 1, then sort the columns into the ones under and over it
+			double[] arrScaled = new double[iColumns];
+			int[] arrSmall = new int[iColumns];
+			int[] arrLarge = new int[iColumns];
+			int iSmall = 0;
+			int iLarge = 0;
+
+			for (int i = 0; i < iColumns; i++)
+			{
+				arrScaled[i] = arrProbabilities[i] * iColumns;
+
+				if (arrScaled[i] < 1)
+				{
+					arrSmall[iSmall++] = i;
+				}
+				else
+				{
+					arrLarge[iLarge++] = i;
+				}
+			}
+
+			// Fill each column under 1 up to 1 with part of a column over it
+			while (iSmall > 0 && iLarge > 0)
+			{
+				int iLess = arrSmall[--iSmall];
+				int iMore = arrLarge[--iLarge];
+
+				arrThreshold[iLess] = arrScaled[iLess];
+				arrAlias[iLess] = iMore;
+				arrScaled[iMore] = (arrScaled[iMore] + arrScaled[iLess]) - 1;
+
+				if (arrScaled[iMore] < 1)
+				{
+					arrSmall[iSmall++] = iMore;
+				}
+				else
+				{
+					arrLarge[iLarge++] = iMore;
+				}
+			}
+
+			// Whatever is left is 1, give or take rounding; those columns are always their own color
+			while (iLarge > 0)
+			{
+				int iColumn = arrLarge[--iLarge];
+				arrThreshold[iColumn] = 1;
+				arrAlias[iColumn] = iColumn;
+			}
+
+			while (iSmall > 0)
+			{
+				int iColumn = arrSmall[--iSmall];
+				arrThreshold[iColumn] = 1;
+				arrAlias[iColumn] = iColumn;
+			}
+		}
+
+		// Pick an index from a random number between 0.0 (inclusive) and 1.0 (exclusive)
+		public int sample(double dRand)
+		{
+			double dScaled = dRand * arrThreshold.length;
+			int iColumn = Math.min((int) dScaled, arrThreshold.length - 1);
+
+			return dScaled - iColumn < arrThreshold[iColumn] ? iColumn : arrAlias[iColumn];
+		}
+	}
+
+
+}
\ No newline at end of file
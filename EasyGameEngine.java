@@ -0,0 +1,195 @@
+/*
+ * Class: EasyGameEngine
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GameEngine
+ *     GameClock
+ *     DifficultyTable
+ *     GameRandom
+ *     ReplayRecorder
+ *
+ * Called by classes:
+ *     EasyGameMode
+ *     MonteCarloSimulator
+ *
+ * Description:
+ *     This class holds the rules of the easy, 5x5 grid rounds. A round is complete once every
+ *     white tile is clicked, and easy mode is complete after five rounds. A black tile or
+ *     running out of time is a failure. The rounds can be played on any grid size from 3x3 up.
+ *
+ *     Run on its own, it populates thousands of grids of every size from 3x3 to 64x64 and checks
+ *     that each one has at least one white and one black tile.
+ *
+ * Attrtibutes:
+ *     public static final int EASY_GRID_SIZE - The length and width of the grid, unless told otherwise
+ *     public static final double EASY_START_TIME - The start time of every 5x5 round
+ *     public static final int EASY_ROUNDS_MAX - The amount of rounds in the easy mode
+ *
+ *     All other attributes are inherited from the parent class.
+ *
+ * Interesting Methods:
+ *     randomlyPopulateGrid() - Randomly populates the grid, guaranteeing one white and one black tile
+ *     nextRound() - Resets the clock and populates a new grid once a round is complete
+ *
+ */
+
+
+public class EasyGameEngine extends GameEngine
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The easy grid size, start time and the number of rounds before the hard game mode starts
+	// I wanted 5 seconds initially, but my parents wanted 10 lol
+	public static final int EASY_GRID_SIZE = 5;
+	public static final double EASY_START_TIME = 10.0;
+	public static final int EASY_ROUNDS_MAX = 5;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the clock shared with the on-screen Timer (or a clock of its own when headless)
+	public EasyGameEngine(GameClock clock)
+	{
+		super(EASY_GRID_SIZE, clock);
+	}
+
+
+	// Constructor, also taking in the color probabilities to play with
+	public EasyGameEngine(GameClock clock, DifficultyTable table)
+	{
+		super(EASY_GRID_SIZE, clock, table);
+	}
+
+
+	// Constructor, also taking in the random numbers to play with
+	public EasyGameEngine(GameClock clock, DifficultyTable table, GameRandom random)
+	{
+		this(EASY_GRID_SIZE, clock, table, random);
+	}
+
+
+	// Constructor, also taking in the grid size to play on, 3 or more
+	public EasyGameEngine(int iGridSize, GameClock clock, DifficultyTable table, GameRandom random) throws IllegalArgumentException
+	{
+		super(checkGridSize(iGridSize), clock, table, random);
+	}
+
+
+	@Override
+	// Method to randomly populate the grid with tile colors
+	// The percentages are intentionally specific, and not 1/4 for each; refer to DifficultyTable
+	public void randomlyPopulateGrid()
+	{
+		resetGrid();
+
+		for (int iCell = 0; iCell < grid.getCellCount(); iCell++)
+		{
+			setTileColor(iCell, table.sampleEasyInitial(random.nextDouble()));
+		}
+
+		// Manual overrides in the very unlikely cases that no white tiles spawn, no black tiles spawn, or both
+		// Just give the grid one white tile, right in the center
+		if (grid.countTiles(TileColor.White) == 0)
+		{
+			setTileColor(getCellIndex(iGridSize / 2, iGridSize / 2), TileColor.White);
+		}
+
+		// And one black tile, in the first cell from the upper left corner that isn't white
+		// Writing over a white could take away the only one, and a round with no white tiles can never be completed
+		if (grid.countTiles(TileColor.Black) == 0)
+		{
+			setTileColor(findFirstNonWhiteCell(), TileColor.Black);
+		}
+	}
+
+
+	// Method to find the first cell, column by column from the upper left corner, that isn't white
+	// If every cell is white, the upper left one is given back; there are at least 8 other whites then
+	private int findFirstNonWhiteCell()
+	{
+		for (int iCell = 0; iCell < grid.getCellCount(); iCell++)
+		{
+			if (grid.getTileColor(iCell) != TileColor.White)
+			{
+				return iCell;
+			}
+		}
+
+		return 0;
+	}
+
+
+	@Override
+	// White tile rule: count it, disable it and check for round completion
+	protected void whiteTileClick(int iCell)
+	{
+		super.whiteTileClick(iCell);
+
+		// If there are no white tiles left that have not been clicked, the round is over
+		// If five rounds have passed, easy mode is over; always check this first, otherwise an extra round will begin
+		if (grid.countEnabledTiles(TileColor.White) == 0)
+		{
+			if (iRounds >= EASY_ROUNDS_MAX)
+			{
+				state = EngineState.EasyModeComplete;
+			}
+			else
+			{
+				state = EngineState.RoundComplete;
+			}
+		}
+	}
+
+
+	// Method to begin the next round once the current one is complete
+	public void nextRound()
+	{
+		iRounds++;
+		clock.reset(EASY_START_TIME);
+
+		if (recorder != null)
+		{
+			recorder.recordRoundStart();
+		}
+
+		randomlyPopulateGrid();
+	}
+
+
+	// The population check: populates grids of every size from 3x3 up, checking for at least one white and one black tile each time
+	// Every size gets the same number of cells populated, so the small grids, where a missing color is likeliest, get millions of grids
+	// Arguments (all optional): cells populated per size, seed
+	public static void main(String[] args)
+	{
+		long lCells = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+		GameRandom random = args.length > 1 ? new GameRandom(Long.parseLong(args[1])) : new GameRandom();
+
+		for (int iGridSize = MIN_GRID_SIZE; iGridSize <= 64; iGridSize++)
+		{
+			EasyGameEngine engine = new EasyGameEngine(iGridSize, new GameClock(EASY_START_TIME), DifficultyTable.DEFAULT, random);
+			long lGrids = Math.max(1, lCells / engine.getCellCount());
+
+			for (long i = 0; i < lGrids; i++)
+			{
+				engine.randomlyPopulateGrid();
+
+				if (engine.grid.countTiles(TileColor.White) < 1 || engine.grid.countTiles(TileColor.Black) < 1)
+				{
+					System.out.println("Grid " + (i + 1) + " of " + iGridSize + "x" + iGridSize + " has " + engine.grid.countTiles(TileColor.White)
+							+ " white and " + engine.grid.countTiles(TileColor.Black) + " black tiles, seed " + random.getSeed() + ".");
+					System.exit(1);
+				}
+			}
+		}
+
+		System.out.println("Every grid had a white and a black tile, seed " + random.getSeed() + ".");
+	}
+
+
+}
\ No newline at end of file
@@ -5,35 +5,39 @@
  * 
  * Classes called:
  *     GameMode
+ *     EasyGameEngine
+ *     GameRandom
+ *     DifficultyTable
  *     MenuFX
  *     GameFX
- *     Tile
+ *     SaveUserInfo
+ *     GridRenderer
  *     Timer
+ *     GameEvent
  * 
  * Called by classes:
  *     GameFX
  * 
  * Description:
- *     This class performs the logic and realtime computation behind the easy, 5x5 grid rounds.
- *     It repeats its duties for five rounds before being cut off in GameFX. 
+ *     This class displays the easy, 5x5 grid rounds, whose rules are kept in EasyGameEngine.
+ *     It repeats its duties for five rounds before being cut off in GameFX. The rounds can be
+ *     played on a grid of any size from 3x3 up; GameFX hands over the size. 
  * 
  * Attrtibutes:
- *     private int iEasyGridSize - Used to define the length and width of the 5x5 array (grid)
- *     public static final double EASY_START_TIME - Used to set the start time of the 5x5 rounds
- *     private int iEasyRoundsMax - Used to set the amount of rounds in the easy mode
- *     private Tile[][] arrTilesEasy- The array of tile objects that the user interacts with   
+ *     private EasyGameEngine engineEasy - The engine behind the rounds (the same object as engine)
  *     
- *     All other attributes are inherited or modified from the parent class, i.e. iNumberOfWhiteTiles, 
- *     iNumberOfWhiteTilesClicked, iNumberOfBlackTiles, iRounds etc.
+ *     All other attributes are inherited from the parent class. The grid size, start time, 
+ *     number of rounds and counters are kept in the engine.
  * 
  * Interesting Methods:
- *     randomlyPopulateGrid() - Randomly populates the Tile array with tiles
- *     registerTileClick(Tile) - Called when a tile is clicked and handles each color as needed
+ *     randomlyPopulateGrid() - Randomly populates the engine's grid and displays it
+ *     displayGrid() - Has the renderer show the engine's grid, on the same 25 tiles every round
+ *     whiteTileClick(int) - Method run when a white tile is clicked
  *     checkRoundCompletion() - Called when a white tile is clicked to check for round completion                     
  *     checkEasyModeCompletion() - Called when the rounds counter hits the fifth, and all white tiles 
  *     	                           are clicked... handles beating easy mode
- *     blackTileClick(Tile) - Method run when a black tile is clicked
- *     checkTimerEnd() - Called continuously as the end condition for the timeline in
+ *     blackTileClick(int) - Method run when a black tile is clicked
+ *     checkTimerEnd() - Called continuously as the end condition for the game loop in
  *                       gameLoop(); checks for running out of time
  *                       
  */
@@ -43,9 +47,6 @@
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
-import javafx.scene.control.Button;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.GridPane;
 
 
 public class EasyGameMode extends GameMode
@@ -54,25 +55,8 @@ public class EasyGameMode extends GameMode
 	/* ----- ATTRIBUTES ----- */
 	/* ---------------------- */
 	
-	// Set the easy grid size, start time and the number of rounds before the hard game mode starts
-	// Notice that the start time is a constant
-	// I wanted 5 seconds initially, but my parents wanted 10 lol
-	private int iEasyGridSize = 5;
-	public static final double EASY_START_TIME = 10.0;
-	private int iEasyRoundsMax = 5;
-	
-	// Initialize the array of tiles
-	private Tile[][] arrTilesEasy = new Tile[iEasyGridSize][iEasyGridSize];
-	
-	// Set the counter variables needed to record and compare player progress
-	// The two white tile counters are intentionally offset by 1, because if they are both 
-	// the same value at the beginning, then the round is instantly won
-	// The black tiles counter is to account for the case that no black tiles are created
-	// Start counting the rounds at 1, to make the logic prettier
-	private int iNumberOfWhiteTiles = 1;
-	protected int iNumberOfWhiteTilesClicked = 0;
-	private int iNumberOfBlackTiles = 0;
-	private int iRounds = 1;
+	// The engine behind the rounds, kept with its own type to reach nextRound()
+	private EasyGameEngine engineEasy;
 
 	
 	/* -------------------------------- */
@@ -80,109 +64,64 @@ public class EasyGameMode extends GameMode
 	/* -------------------------------- */
 	
 	// Constructor used in GameFX
-	// Takes in an instance of GameFX, its GridPane, as well as the created Timer object with the specified start time
-	public EasyGameMode(GameFX gameFX, GridPane gpGame, Timer timerClock)
+	// Takes in an instance of GameFX, the renderer for its grid, as well as the created Timer object with the specified start time
+	public EasyGameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock)
+	{
+		this(gameFX, renderer, timerClock, new GameRandom());
+	}
+	
+	
+	// Constructor, also taking in the random numbers the rounds are populated with
+	public EasyGameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock, GameRandom random)
 	{
-		// Inheritance from the parent class, GameMode
-		super(gameFX, gpGame, timerClock);
+		this(gameFX, renderer, timerClock, EasyGameEngine.EASY_GRID_SIZE, random);
+	}
+	
+	
+	// Constructor, also taking in the size of the grid to play on, 3 or more; the rounds are played with the default difficulty table
+	public EasyGameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock, int iGridSize, GameRandom random)
+	{
+		this(gameFX, renderer, timerClock, iGridSize, DifficultyTable.DEFAULT, random);
+	}
+	
+	
+	// Constructor, also taking in the difficulty table to play with
+	// GameFX hands each game mode its own random numbers, split off of the game session's, and the table set on the command line
+	public EasyGameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock, int iGridSize, DifficultyTable table, GameRandom random)
+	{
+		// Inheritance from the parent class, GameMode, handing it an engine that shares the timer's clock
+		super(gameFX, renderer, timerClock, new EasyGameEngine(iGridSize, timerClock.getClock(), table, random));
+		engineEasy = (EasyGameEngine) engine;
 	}
 
 	
 	@Override
-	// Method to randomly populate the array with colored tile objects
-	// The if statements are intentionally specific, and not 1/4 for each
-	// Approximates 11 white tiles, 9 black, 3 green and 2 red
+	// Method to randomly populate the engine's grid with colors, then display it
+	// The engine guarantees at least one white and one black tile
 	public void randomlyPopulateGrid() throws ArrayIndexOutOfBoundsException, OutOfMemoryError
-	{		
-		// Clear the game grid each time it is re-populated, so it is fresh
-		// Otherwise, we get overlapping tiles
-		gpGame.getChildren().clear();
+	{
+		// Timed for Java Flight Recorder, if a recording is running
+		GridPopulationEvent event = new GridPopulationEvent();
+		event.start();
+		
+		engine.randomlyPopulateGrid();
+		displayGrid();
 		
+		event.mode = "Easy";
+		event.gridSize = engine.getGridSize();
+		event.round = engine.getRounds();
+		event.finish();
+	}
+	
+	
+	// Method to have the renderer show the engine's grid
+	// The tiles are created in the first round; every round after, they are re-skinned in place
+	public void displayGrid()
+	{		
 		// Begin try catch block
 		try
 		{
-			for(int i = 0; i < arrTilesEasy.length; i++) 
-			{
-				for(int j = 0; j < arrTilesEasy.length; j++) 
-				{
-					// RNG for tile selection
-					double dRand = Math.random();
-					
-					// Create and adjust ImageView object to be used by created tiles
-					ImageView imgvwTileImg = new ImageView();
-					imgvwTileImg.setFitWidth(100);
-					imgvwTileImg.setFitHeight(100);
-		
-					if (dRand <= .44) 
-					{
-						// Assign the white tile image to the ImageView
-						imgvwTileImg.setImage(Tile.IMG_WHITE_TILE);
-						
-						// Assign a white tile to the array index (uses image constant from Tile.java)	
-						arrTilesEasy[i][j] = new Tile(TileColor.White, new Button(null, imgvwTileImg));
-						
-						// Add to number of white tiles counter
-						iNumberOfWhiteTiles++;
-					}
-					
-					else if (dRand <= .80) 
-					{
-						// Assign the black tile image to the ImageView
-						imgvwTileImg.setImage(Tile.IMG_BLACK_TILE);
-						
-						// Assign a black tile to the array index (uses image constant from Tile.java)	
-						arrTilesEasy[i][j] = new Tile(TileColor.Black, new Button(null, imgvwTileImg));
-					}
-					
-					else if (dRand <= .92) 
-					{
-						// Assign the green tile image to the ImageView
-						imgvwTileImg.setImage(Tile.IMG_GREEN_TILE);
-
-						// Assign a green tile to the array index (uses image constant from Tile.java)
-						arrTilesEasy[i][j] = new Tile(TileColor.Green, new Button(null, imgvwTileImg));
-					}
-					
-					else
-					{
-						// Assign the red tile image to the ImageView
-						imgvwTileImg.setImage(Tile.IMG_RED_TILE);
-						
-						// Assign a red tile to the array index	(uses image constant from Tile.java)
-						arrTilesEasy[i][j] = new Tile(TileColor.Red, new Button(null, imgvwTileImg));
-					}
-					
-					// Run through the array and add the created tile to the gridpane
-					// Talks to GameFX through the constructor
-					gpGame.add(arrTilesEasy[i][j].getTileButton(), i, j);
-					
-					// Register tile clicks
-					registerTileClick(arrTilesEasy[i][j]);
-				}
-			}	
-			
-			// The next two if statements are manual overrides in the very unlikely cases that either:
-			// no white tiles spawn, no black tiles spawn, or both
-			// Handles this case(s) by simply adding one tile type if needed
-			if (iNumberOfWhiteTiles == 0) 
-			{
-				// Create a new imageview and assign it the white tile image constant from Tile.java
-				ImageView imgvwNoWhiteTiles = new ImageView();
-				imgvwNoWhiteTiles.setImage(Tile.IMG_WHITE_TILE);
-				
-				// Just give the grid one white tile, right in the center
-				arrTilesEasy[2][2] = new Tile(TileColor.White, new Button(null, imgvwNoWhiteTiles));
-			}
-			
-			if (iNumberOfBlackTiles == 0)
-			{
-				// Create a new imageview and assign it the black tile image constant from Tile.java
-				ImageView imgvwNoBlackTiles = new ImageView();
-				imgvwNoBlackTiles.setImage(Tile.IMG_BLACK_TILE);
-				
-				// Just give the grid one black tile, in the upper left corner
-				arrTilesEasy[0][0] = new Tile(TileColor.Black, new Button(null, imgvwNoBlackTiles));
-			}
+			renderer.showGrid();
 		}
 		
 		// Catch array index exception if necessary- although it will never occur, unless someone changes the code
@@ -192,7 +131,7 @@ public class EasyGameMode extends GameMode
 			System.out.println("Array has been referenced out-of-bounds. Check this method's encompassing loop.");
 			
 			// Return to main menu
-			MenuFX.menuFXinstance.getStage().getScene().setRoot(MenuFX.menuFXinstance.getMenuVBox());
+			MenuFX.menuFXinstance.returnToMenu();
 		}
 		
 		// Catch out of memory error, which may occur on computer's with low memory, as tile population occurs
@@ -202,106 +141,69 @@ public class EasyGameMode extends GameMode
 			System.out.println("You're out of memory! Clean up your poor computer!");
 			
 			// Clear the game grid of all tile objects
-			gpGame.getChildren().clear();
+			renderer.dispose();
 			
 			// Return to main menu
-			MenuFX.menuFXinstance.getStage().getScene().setRoot(MenuFX.menuFXinstance.getMenuVBox());
+			MenuFX.menuFXinstance.returnToMenu();
 		}
 	}
 	
 	
 	@Override
-	// Method called through randomlyPopulateGrid that handles a click on whatever tile color is clicked
-	public void registerTileClick(Tile tile) 
+	// Method run when a white tile is clicked
+	// Green and red tiles are handled the same as in GameMode: the tile is disabled, and the engine updates the timer clock
+	public void whiteTileClick(int iCell) 
 	{
-		// If the tile clicked is white, handle accordingly
-		if (tile.getTileColor() == TileColor.White) 
-		{	
-			tile.getTileButton().setOnAction(e -> 
-			{
-				// Add 1 to the number of white tiles clicked
-				iNumberOfWhiteTilesClicked++;
-				
-				// Disable the button both visually and functionally 
-				tile.getTileButton().setDisable(true);
-				
-				// TODO USED FOR TESTING
-				// Console check for white tiles clicked
-				//System.out.println(iNumberOfWhiteTilesClicked);
-				
-				// Method call to check for round completion
-				// Refer to the method called for further detail
-				checkRoundCompletion();
-			});	
-		}
+		// Let the engine add 1 to the number of white tiles clicked
+		engine.click(iCell);
 		
-		// If the tile clicked is black, handle accordingly (insta-fail)
-		// Call to method blackTileClick(), which informs the user and returns to the main menu
-		if (tile.getTileColor() == TileColor.Black) 
-		{
-			tile.getTileButton().setOnAction(e -> blackTileClick(tile));
-		}
+		// Show the tile as clicked, which disables it both visually and functionally 
+		renderer.showCell(iCell);
 		
-		// If the tile clicked is green, disable the tile and update the timer clock
-		if (tile.getTileColor() == TileColor.Green) 
-		{
-			// If the tile clicked is green, disable the tile and update the timer clock
-			tile.getTileButton().setOnAction(e -> 
-			{
-				tile.getTileButton().setDisable(true);
-				timerClock.setTimer(timerClock.getCurrentTime() + .5);
-			});			
-		}
-
-		// If the tile clicked is red, disable the tile and update the timer clock
-		if (tile.getTileColor() == TileColor.Red) 
-		{
-			tile.getTileButton().setOnAction(e -> 
-			{
-				// Disable tile and update the timer
-				tile.getTileButton().setDisable(true);
-				timerClock.setTimer(timerClock.getCurrentTime() - .5);
-			});	
-		}
+		// TODO USED FOR TESTING
+		// Console check for white tiles clicked
+		//System.out.println(engine.getNumberOfWhiteTilesClicked());
+		
+		// Method call to check for round completion
+		// Refer to the method called for further detail
+		checkRoundCompletion();
 	}
 	
 
-	// Method to check for round completion by comparing the total number of white tiles in a grid to those clicked
+	// Method to check for round completion, which the engine decides by comparing the white tiles in a grid to those clicked
 	// Called every time a white tile is clicked
 	public void checkRoundCompletion() 
 	{
-		// If the number of white tiles clicked = the number of white tiles in the grid on a given round, handle it accordingly
-		if (iNumberOfWhiteTilesClicked == (iNumberOfWhiteTiles - 1)) 
+		// If five rounds have passed and all whites are clicked, call method to handle easy mode being completed
+		if (engine.getState() == EngineState.EasyModeComplete)
 		{
-			// If five rounds have passed and all whites are clicked, call method to handle easy mode being completed
-			// Always check this first, though- very important, otherwise an extra round will begin
-			if (iRounds >= iEasyRoundsMax)
-			{
-				checkEasyModeCompletion();
-			}
+			checkEasyModeCompletion();
+		}
+		
+		// This block is only called if it isn't the fifth round
+		else if (engine.getState() == EngineState.RoundComplete) 
+		{
+			// Pause the timer clock and alert the user of easy mode completion
+			timerClock.pause();
+			Alert allWhiteTilesClickedAlert = new Alert(AlertType.INFORMATION, "All white tiles clicked- round complete.");
+			allWhiteTilesClickedAlert.setTitle("Next round incoming!");
+			allWhiteTilesClickedAlert.setHeaderText(null);
+			allWhiteTilesClickedAlert.setGraphic(null);
+			allWhiteTilesClickedAlert.showAndWait();
 			
-			// This block is only called if it isn't the fifth round
-			else
-			{
-				// Stop the timer clock's timeline and alert the user of easy mode completion
-				timerClock.getTimeline().stop();
-				Alert allWhiteTilesClickedAlert = new Alert(AlertType.INFORMATION, "All white tiles clicked- round complete.");
-				allWhiteTilesClickedAlert.setTitle("Next round incoming!");
-				allWhiteTilesClickedAlert.setHeaderText(null);
-				allWhiteTilesClickedAlert.setGraphic(null);
-				allWhiteTilesClickedAlert.showAndWait();
-				
-				// Reset the number of white tiles and those clicked
-				iNumberOfWhiteTiles = 1;
-				iNumberOfWhiteTilesClicked = 0;
-				// Populate again, reset start time and resume the timer clock
-				randomlyPopulateGrid();
-				timerClock.setTimer(EASY_START_TIME);
-				timerClock.getTimeline().play();
-				
-				// Add 1 to rounds counter
-				iRounds++;
-			}
+			// Let the engine add 1 to the rounds counter, reset the start time and populate again
+			// Then display the new grid and resume the timer clock; all of which is timed for Java Flight Recorder
+			RoundTransitionEvent event = new RoundTransitionEvent();
+			event.start();
+			event.round = engine.getRounds();
+			
+			engineEasy.nextRound();
+			displayGrid();
+			timerClock.play();
+			
+			event.mode = "Easy";
+			event.gridSize = engine.getGridSize();
+			event.finish();
 		}
 	}
 	
@@ -311,7 +213,7 @@ public class EasyGameMode extends GameMode
 	public void checkEasyModeCompletion()
 	{
 		// Pause the clock timer, then alert the user of easy game mode completion
-		timerClock.getTimeline().pause();
+		timerClock.pause();
 		Alert easyDoneAlert = new Alert(AlertType.INFORMATION, "You have now completed easy mode... prepare for a survival round. Go for as long as you can, or fail. "
 				+ "\n\nHint: Make sure to click your green tiles!");
 		easyDoneAlert.setTitle("Easy game mode completed!");
@@ -319,21 +221,29 @@ public class EasyGameMode extends GameMode
 		easyDoneAlert.setGraphic(null);
 		easyDoneAlert.showAndWait();
 		
-		// Clear the easy game mode's clock and gridpane, in preparation for the hard game mode
-		gpGame.getChildren().clear();
+		// Clear the easy game mode's clock and grid, in preparation for the hard game mode, which gets a renderer of its own
+		// The move to the hard mode is timed for Java Flight Recorder, the same as a round
+		RoundTransitionEvent event = new RoundTransitionEvent();
+		event.start();
+		event.round = engine.getRounds();
+		renderer.dispose();
 		timerClock.getRootPane().setVisible(false);
 		
-		// Stop the game's timeline
-		timelineGame.stop();
+		// Stop the game's loop
+		loopGame.stop();
 		
 		// Method call for GameFX to begin the HardGameMode
-		gameFX.startHardGameMode(gpGame);
+		gameFX.startHardGameMode();
+		
+		event.mode = "Hard";
+		event.gridSize = gameFX.getCurrentMode().getEngine().getGridSize();
+		event.finish();
 	}
 	
 
 	@Override
 	// Method run when a black tile is clicked; displays an alert to the user and returns to the main menu
-	public void blackTileClick(Tile tile) 
+	public void blackTileClick(int iCell) 
 	{
 		// Create alert
 		Alert blackTileClickedAlert = new Alert(AlertType.WARNING, "A black tile was clicked... better luck next time.");
@@ -341,33 +251,42 @@ public class EasyGameMode extends GameMode
 		blackTileClickedAlert.setHeaderText(null);
 		blackTileClickedAlert.setGraphic(null);
 		
-		// Disable the button
-		tile.getTileButton().setDisable(true);
+		// Let the engine record the failure, then show the tile as clicked
+		engine.click(iCell);
+		renderer.showCell(iCell);
+		
+		// Stop the game loop and pause the timer clock
+		loopGame.stop();
+		timerClock.pause();
 		
-		// Stop all timelines; the game loop and the timer clock loop
-		timelineGame.stop();
-		timerClock.getTimeline().stop();
+		// There is no score to save before the hard mode, but the game's replay is still kept
+		recordGameOver(UserFinishType.Fail_BlackTile);
+		SaveUserInfo.archiveReplay(UserFinishType.Fail_BlackTile, getRecorder());
 		
 		// Display failure alert
 		blackTileClickedAlert.showAndWait();
 		
 		// Return to main menu
-		MenuFX.menuFXinstance.getStage().getScene().setRoot(MenuFX.menuFXinstance.getMenuVBox());
+		MenuFX.menuFXinstance.returnToMenu();
 	}
 	
 	@Override
 	// Method run continuously to check for round failure via running out of time
 	public void checkTimerEnd()
 	{	
-		// If a round's timer ever hits 0.0, do things
-		// It is VERY important that we include <= 0.0, not just == 0.0, because of the game loop's
-		// 16 ms rate... it can jump under 0.0 and the condition never ring true
-		if (timerClock.getCurrentTime() <= 0.0)
+		// If a round's timer ever hits 0.0, the engine fails the round, so do things
+		// The engine checks <= 0.0, not just == 0.0, because of the game loop's 16 ms rate... 
+		// it can jump under 0.0 and the condition never ring true
+		if (engine.isPlaying() && engine.update() == EngineState.Fail_OutOfTime)
 		{
-			// Set the visible timer to .04, which displays 0.0 in the game, then stop all timelines
+			// Set the visible timer to .04, which displays 0.0 in the game, then stop the game loop and the timer clock
 			timerClock.setTimer(.04);
-			timelineGame.stop();
-			timerClock.getTimeline().stop();
+			loopGame.stop();
+			timerClock.pause();
+			
+			// There is no score to save before the hard mode, but the game's replay is still kept
+			recordGameOver(UserFinishType.Fail_OutOfTime);
+			SaveUserInfo.archiveReplay(UserFinishType.Fail_OutOfTime, getRecorder());
 			
 			// Crude and complex, but it works
 			Platform.runLater(new Runnable() 
@@ -383,7 +302,7 @@ public class EasyGameMode extends GameMode
 					outOfTimeAlert.showAndWait();
 					
 					// Return to main menu
-					MenuFX.menuFXinstance.getStage().getScene().setRoot(MenuFX.menuFXinstance.getMenuVBox());
+					MenuFX.menuFXinstance.returnToMenu();
 				}
 			});
 		}
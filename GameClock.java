@@ -0,0 +1,103 @@
+/*
+ * Class: GameClock
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     None
+ *
+ * Called by classes:
+ *     GameEngine
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     Timer
+ *
+ * Description:
+ *     This class is the time budget of a round, with no JavaFX in it whatsoever. The engine
+ *     adds and subtracts time from it through the tile rules, and whoever drives the game
+ *     (the Timer class on screen, or a simulation loop off screen) advances it.
+ *
+ * Attrtibutes:
+ *     private double dTimeRemaining - The time left on the clock, never below 0
+ *     private double dTimeElapsed - The total time the clock has been advanced by; used as
+ *                                   the time survived in the hard game mode
+ *
+ * Interesting Methods:
+ *     advance(double) - Moves the clock forward, clamping the remaining time to a concrete 0
+ *
+ */
+
+
+public class GameClock
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The time budget left in the round and the time that has passed since the clock started
+	private double dTimeRemaining;
+	private double dTimeElapsed;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the start time of the round
+	public GameClock(double dStartTime)
+	{
+		reset(dStartTime);
+	}
+
+
+	// Method to move the clock forward by the given number of seconds
+	public void advance(double dSeconds)
+	{
+		dTimeRemaining -= dSeconds;
+		dTimeElapsed += dSeconds;
+
+		// Same as the timer clock has always done- a concrete ZERO when the clock hits or skips over 0
+		if (dTimeRemaining <= 0)
+		{
+			dTimeRemaining = 0;
+		}
+	}
+
+
+	// Method to add (or, with a negative number, subtract) time; used with green and red tiles
+	public void addTime(double dSeconds)
+	{
+		dTimeRemaining += dSeconds;
+	}
+
+
+	// Method to restart the clock with a new start time, i.e. at the start of a new round
+	public void reset(double dStartTime)
+	{
+		dTimeRemaining = dStartTime;
+		dTimeElapsed = 0;
+	}
+
+
+	// Setter for the remaining time
+	public void setTimeRemaining(double dTime)
+	{
+		dTimeRemaining = dTime;
+	}
+
+
+	// Getter for the remaining time
+	public double getTimeRemaining()
+	{
+		return dTimeRemaining;
+	}
+
+
+	// Getter for the elapsed time
+	public double getTimeElapsed()
+	{
+		return dTimeElapsed;
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,400 @@
+/*
+ * Class: GameEngine
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GameClock
+ *     TileGrid
+ *     DifficultyTable
+ *     GameRandom
+ *     ReplayRecorder
+ *
+ * Called by classes:
+ *     GameMode
+ *     EasyGameEngine
+ *     HardGameEngine
+ *
+ * Description:
+ *     This class acts as the parent class for EasyGameEngine and HardGameEngine. It holds the
+ *     rules of the game- the grid of tile colors, what each color does when clicked, and when
+ *     a round is won or lost- without any JavaFX. The game mode classes are views over an
+ *     engine: they ask it what happened and then update buttons, alerts and timelines to match.
+ *     Since nothing here needs a screen, the engine can also be run as fast as the CPU allows.
+ *
+ *     Cells are stored in a packed TileGrid, indexed by (column * grid size + row), which is the
+ *     same column/row order the game modes have always used when adding tiles to the GridPane.
+ *
+ * Attrtibutes:
+ *     public static final double GREEN_TILE_BONUS - Time added to the clock by a green tile
+ *     public static final double RED_TILE_PENALTY - Time taken from the clock by a red tile
+ *     public static final int MIN_GRID_SIZE - The smallest grid the easy and hard modes can be played on
+ *     protected int iGridSize - The length and width of the grid
+ *     protected TileGrid grid - The color of every cell in the grid, and which have been clicked
+ *     protected GameClock clock - The time budget of the round
+ *     protected DifficultyTable table - The color probabilities used by the game modes
+ *     protected GameRandom random - Where every random decision comes from
+ *     protected ReplayRecorder recorder - Records the game being played, or null if it isn't being recorded
+ *     protected EngineState state - Where the game currently stands (playing, won, failed...)
+ *     protected int iNumberOfWhiteTilesClicked - The number of white tiles clicked by the user
+ *     protected int iRounds - The current round, starting at 1
+ *
+ * Interesting Methods:
+ *     randomlyPopulateGrid() - Randomly fills the grid with tile colors
+ *     click(int) - Applies the rules for a click on the given cell
+ *     update() - Checks the end conditions that depend on time passing
+ *     checkTimeConditions() - The end conditions themselves, for the subclasses to add to
+ *     advanceTime(double) - Moves the clock forward, then checks the end conditions
+ *
+ */
+
+
+public class GameEngine
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The time a green tile gives and a red tile takes, in seconds
+	public static final double GREEN_TILE_BONUS = .5;
+	public static final double RED_TILE_PENALTY = .5;
+
+	// The smallest grid the easy and hard modes can be played on; there is no largest, as every rule is per cell
+	public static final int MIN_GRID_SIZE = 3;
+
+	// The grid itself, and which cells have been clicked
+	protected int iGridSize;
+	protected TileGrid grid;
+
+	// The time budget, the color probabilities, the random numbers and the current state of the game
+	protected GameClock clock;
+	protected DifficultyTable table;
+	protected GameRandom random;
+	protected EngineState state = EngineState.Playing;
+
+	// The recorder of the game, if it is being recorded; refer to ReplayRecorder
+	protected ReplayRecorder recorder = null;
+
+	// Counter variables needed for any game mode
+	// The number of tiles of each color is kept live by the grid, so asking for it costs nothing
+	protected int iNumberOfWhiteTilesClicked;
+	protected int iRounds = 1;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the grid size and the clock that the rules add and subtract time from
+	public GameEngine(int iGridSize, GameClock clock)
+	{
+		this(iGridSize, clock, DifficultyTable.DEFAULT);
+	}
+
+
+	// Constructor, also taking in the color probabilities to play with
+	public GameEngine(int iGridSize, GameClock clock, DifficultyTable table)
+	{
+		this(iGridSize, clock, table, new GameRandom());
+	}
+
+
+	// Constructor, also taking in the random numbers to play with; the same seed plays out the same grids
+	public GameEngine(int iGridSize, GameClock clock, DifficultyTable table, GameRandom random)
+	{
+		this.iGridSize = iGridSize;
+		this.clock = clock;
+		this.table = table;
+		this.random = random;
+
+		grid = new TileGrid(iGridSize);
+	}
+
+
+	// Method to check a grid size the easy or hard mode is to be played on, returning it if it is big enough
+	public static int checkGridSize(int iGridSize) throws IllegalArgumentException
+	{
+		if (iGridSize < MIN_GRID_SIZE)
+		{
+			throw new IllegalArgumentException("A grid must be at least " + MIN_GRID_SIZE + "x" + MIN_GRID_SIZE + ", not " + iGridSize + "x" + iGridSize + ".");
+		}
+
+		return iGridSize;
+	}
+
+
+	// Generic method to randomly populate the grid, a quarter of each color
+	public void randomlyPopulateGrid()
+	{
+		resetGrid();
+
+		for (int iCell = 0; iCell < grid.getCellCount(); iCell++)
+		{
+			double dRand = random.nextDouble();
+
+			if (dRand <= .25)
+			{
+				setTileColor(iCell, TileColor.White);
+			}
+			else if (dRand <= .5)
+			{
+				setTileColor(iCell, TileColor.Black);
+			}
+			else if (dRand <= .75)
+			{
+				setTileColor(iCell, TileColor.Green);
+			}
+			else
+			{
+				setTileColor(iCell, TileColor.Red);
+			}
+		}
+	}
+
+
+	// Method to clear the counters and the clicked cells before the grid is populated again
+	protected void resetGrid()
+	{
+		iNumberOfWhiteTilesClicked = 0;
+		state = EngineState.Playing;
+		grid.clear();
+	}
+
+
+	// Method to change the color of a cell
+	protected void setTileColor(int iCell, TileColor color)
+	{
+		grid.setTileColor(iCell, color);
+	}
+
+
+	// Method to apply the rules for a click on the given cell
+	// Returns the color that was clicked, or null if the click was ignored (already clicked, or the game is not in play)
+	public TileColor click(int iCell)
+	{
+		if (state != EngineState.Playing || grid.isDisabled(iCell))
+		{
+			return null;
+		}
+
+		TileColor colorClicked = grid.getTileColor(iCell);
+
+		if (recorder != null)
+		{
+			recorder.recordClick(iCell, colorClicked, clock.getTimeElapsed());
+		}
+
+		if (colorClicked == TileColor.White)
+		{
+			whiteTileClick(iCell);
+		}
+		if (colorClicked == TileColor.Black)
+		{
+			blackTileClick(iCell);
+		}
+		if (colorClicked == TileColor.Green)
+		{
+			greenTileClick(iCell);
+		}
+		if (colorClicked == TileColor.Red)
+		{
+			redTileClick(iCell);
+		}
+
+		return colorClicked;
+	}
+
+
+	// Generic white tile rule: count it and disable it
+	protected void whiteTileClick(int iCell)
+	{
+		iNumberOfWhiteTilesClicked++;
+		grid.setDisabled(iCell, true);
+	}
+
+
+	// Generic black tile rule: instant failure
+	protected void blackTileClick(int iCell)
+	{
+		grid.setDisabled(iCell, true);
+		state = EngineState.Fail_BlackTile;
+	}
+
+
+	// Generic green tile rule: disable it and add time
+	protected void greenTileClick(int iCell)
+	{
+		grid.setDisabled(iCell, true);
+		clock.addTime(GREEN_TILE_BONUS);
+	}
+
+
+	// Generic red tile rule: disable it and take time away
+	protected void redTileClick(int iCell)
+	{
+		grid.setDisabled(iCell, true);
+		clock.addTime(-RED_TILE_PENALTY);
+	}
+
+
+	// Method to check the end conditions that depend on time passing, returning the resulting state
+	// Only a game in play can change state here, so a finished game stays finished
+	public EngineState update()
+	{
+		if (state == EngineState.Playing)
+		{
+			checkTimeConditions();
+
+			// The time the game ended at can't be worked out from the clicks, so it is recorded
+			if (state != EngineState.Playing && recorder != null)
+			{
+				recorder.recordTimeUp(state, clock.getTimeElapsed());
+			}
+		}
+
+		return state;
+	}
+
+
+	// Method to check the end conditions that depend on time passing, while the game is in play
+	// Running out of time is a failure
+	protected void checkTimeConditions()
+	{
+		if (clock.getTimeRemaining() <= 0.0)
+		{
+			state = EngineState.Fail_OutOfTime;
+		}
+	}
+
+
+	// Method to move the clock forward and check the end conditions; used when there is no Timer on screen
+	public EngineState advanceTime(double dSeconds)
+	{
+		if (state == EngineState.Playing)
+		{
+			clock.advance(dSeconds);
+		}
+
+		return update();
+	}
+
+
+	// Method to convert a column and row into a cell index
+	public int getCellIndex(int iColumn, int iRow)
+	{
+		return iColumn * iGridSize + iRow;
+	}
+
+
+	// Getter for the grid size
+	public int getGridSize()
+	{
+		return iGridSize;
+	}
+
+
+	// Getter for the number of cells in the grid
+	public int getCellCount()
+	{
+		return grid.getCellCount();
+	}
+
+
+	// Getter for a cell's color
+	public TileColor getTileColor(int iCell)
+	{
+		return grid.getTileColor(iCell);
+	}
+
+
+	// Getter for whether a cell has been clicked already
+	public boolean isTileDisabled(int iCell)
+	{
+		return grid.isDisabled(iCell);
+	}
+
+
+	// Getter for the packed grid
+	public TileGrid getGrid()
+	{
+		return grid;
+	}
+
+
+	// Getter for the clock
+	public GameClock getClock()
+	{
+		return clock;
+	}
+
+
+	// Getter for the random numbers
+	public GameRandom getRandom()
+	{
+		return random;
+	}
+
+
+	// Setter for the recorder of the game; from then on, every click and every end of the game is recorded
+	public void setRecorder(ReplayRecorder recorder)
+	{
+		this.recorder = recorder;
+	}
+
+
+	// Getter for the state
+	public EngineState getState()
+	{
+		return state;
+	}
+
+
+	// Whether or not the game is still in play
+	public boolean isPlaying()
+	{
+		return state == EngineState.Playing;
+	}
+
+
+	// Getter for the number of white tiles in the grid
+	public int getNumberOfWhiteTiles()
+	{
+		return grid.countTiles(TileColor.White);
+	}
+
+
+	// Getter for the number of white tiles clicked
+	public int getNumberOfWhiteTilesClicked()
+	{
+		return iNumberOfWhiteTilesClicked;
+	}
+
+
+	// Getter for the number of black tiles in the grid
+	public int getNumberOfBlackTiles()
+	{
+		return grid.countTiles(TileColor.Black);
+	}
+
+
+	// Getter for the current round
+	public int getRounds()
+	{
+		return iRounds;
+	}
+
+
+}
+
+
+// The enumeration used for where the game stands
+// RoundComplete and EasyModeComplete wait on the game mode to move things along (next round, or hard mode)
+enum EngineState
+{
+	Playing,
+	RoundComplete,
+	EasyModeComplete,
+	Won,
+	Fail_BlackTile,
+	Fail_OutOfTime
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+/*
+ * Class: GameEvent
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     None
+ *
+ * Called by classes:
+ *     EasyGameMode
+ *     HardGameMode
+ *     Timer
+ *     SaveUserInfo
+ *     ScoreWriter
+ *
+ * Description:
+ *     This class is the base of the game's Java Flight Recorder events, so that a session recorded
+ *     with -XX:StartFlightRecording (or from JDK Mission Control) shows what the game was doing
+ *     beside the GC pauses and stutters JFR already records: the grid being populated, a tile
+ *     being updated, a round ending, the timer ticking, a score being written and the game ending.
+ *     All of them are in the "Tiles" category, with the duration of what they time, and the bytes
+ *     the thread allocated doing it.
+ *
+ *     When no recording is running (or the events are turned off in its settings), start() and
+ *     finish() only check whether the event is enabled; JFR makes begin() and commit() do nothing,
+ *     and the event object itself is never kept past the method, so the JIT leaves it out.
+ *
+ * Attrtibutes:
+ *     private static final ThreadMXBean THREAD_BEAN - Reads the bytes the current thread has allocated, or null
+ *     long allocated - The bytes the thread allocated between start() and finish()
+ *     private transient long lAllocatedStart - The bytes the thread had allocated at start()
+ *
+ * Interesting Methods:
+ *     start() - Begins timing the event, and counting what is allocated
+ *     finish() - Ends timing the event, and commits it if the recording wants it
+ *
+ */
+
+
+// Imports
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+@Category("Tiles")
+@StackTrace(false)
+public abstract class GameEvent extends Event
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The bytes each thread has allocated, if the JVM keeps track of them
+	private static final ThreadMXBean THREAD_BEAN = getThreadBean();
+
+	// What was allocated while the event was timed; the start is transient, so it is not recorded
+	@Label("Allocated")
+	@Description("Bytes allocated by the thread during the event")
+	@DataAmount
+	long allocated;
+
+	private transient long lAllocatedStart;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Method to find the bean that reads each thread's allocated bytes, or null if the JVM cannot
+	private static ThreadMXBean getThreadBean()
+	{
+		ThreadMXBean bean = ManagementFactory.getPlatformMXBean(ThreadMXBean.class);
+
+		if (bean == null || !bean.isThreadAllocatedMemorySupported())
+		{
+			return null;
+		}
+
+		bean.setThreadAllocatedMemoryEnabled(true);
+		return bean;
+	}
+
+
+	// Method to begin timing the event; nothing but a check if it is not being recorded
+	public void start()
+	{
+		if (isEnabled() && THREAD_BEAN != null)
+		{
+			lAllocatedStart = THREAD_BEAN.getCurrentThreadAllocatedBytes();
+		}
+
+		begin();
+	}
+
+
+	// Method to end timing the event, then commit it along with the bytes allocated since start()
+	// The event is only committed if the recording wants it (it is enabled, and over its threshold)
+	public void finish()
+	{
+		end();
+
+		if (shouldCommit())
+		{
+			if (THREAD_BEAN != null)
+			{
+				allocated = THREAD_BEAN.getCurrentThreadAllocatedBytes() - lAllocatedStart;
+			}
+
+			commit();
+		}
+	}
+
+
+}
+
+
+// The event for a grid being populated and shown, at the start of each easy round and of the hard mode
+@Name("tiles.GridPopulation")
+@Label("Grid Population")
+class GridPopulationEvent extends GameEvent
+{
+	@Label("Mode")
+	String mode;
+
+	@Label("Grid Size")
+	int gridSize;
+
+	@Label("Round")
+	int round;
+}
+
+
+// The event for a tile being given a new color and re-skinned, by a click or the hard mode updating its grid
+@Name("tiles.TileUpdate")
+@Label("Tile Update")
+class TileUpdateEvent extends GameEvent
+{
+	@Label("Grid Size")
+	int gridSize;
+
+	@Label("Cell")
+	int cell;
+
+	@Label("Color")
+	String color;
+
+	@Label("Clicked")
+	boolean clicked;
+}
+
+
+// The event for the easy mode moving on to its next round, or on to the hard mode
+@Name("tiles.RoundTransition")
+@Label("Round Transition")
+class RoundTransitionEvent extends GameEvent
+{
+	@Label("Mode")
+	String mode;
+
+	@Label("Grid Size")
+	int gridSize;
+
+	@Label("Round Completed")
+	int round;
+}
+
+
+// The event for one tick of the timer clock, run by the game loop
+@Name("tiles.TimerTick")
+@Label("Timer Tick")
+class TimerTickEvent extends GameEvent
+{
+	@Label("Time Advanced")
+	@Timespan(Timespan.MILLISECONDS)
+	long advanced;
+
+	@Label("Time Remaining")
+	@Timespan(Timespan.MILLISECONDS)
+	long remaining;
+
+	@Label("Label Changed")
+	boolean labelChanged;
+}
+
+
+// The event for scores (and the replays with them) being written to disk
+@Name("tiles.ScoreWrite")
+@Label("Score Write")
+class ScoreWriteEvent extends GameEvent
+{
+	@Label("File")
+	String file;
+
+	@Label("Scores")
+	int scores;
+
+	@Label("Replays")
+	int replays;
+}
+
+
+// The event for a game ending, however it ended
+@Name("tiles.GameOver")
+@Label("Game Over")
+class GameOverEvent extends GameEvent
+{
+	@Label("Mode")
+	String mode;
+
+	@Label("Grid Size")
+	int gridSize;
+
+	@Label("Finish")
+	String finish;
+
+	@Label("White Tiles Clicked")
+	int whitesClicked;
+
+	@Label("Time Survived")
+	@Timespan(Timespan.MILLISECONDS)
+	long timeSurvived;
+}
\ No newline at end of file
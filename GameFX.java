@@ -7,21 +7,44 @@
  *     EasyGameMode
  *     HardGameMode
  *     Timer
+ *     GameRandom
+ *     DifficultyTable
+ *     ReplayRecorder
+ *     GameSession
+ *     GridRenderer
+ *     GridLayout
+ *     GameEngine
+ *     EasyGameEngine
+ *     HardGameEngine
  * 
  * Called by classes:
- *     MenuFX
+ *     GameSession
  *     GameMode
  *     EasyGameMode
  *     HardGameMode
  * 
  * Description:
  *     This class displays the game grids to the user. Ties in functionally with the 
- *     two game modes through the use of constructors.
+ *     two game modes through the use of constructors. It is created by a GameSession, which
+ *     the game modes hand their timelines and handlers to, so they are all let go of together.
+ *     
+ *     Each game mode's grid is shown by its own GridRenderer: tile buttons unless told otherwise,
+ *     or a single Canvas, i.e. with -Dtiles.renderer.hard=Canvas. Each can also be played on a
+ *     grid of any size from 3x3 up, i.e. with -Dtiles.grid.hard=50; the tiles are sized to fit
+ *     the window, and the grid is centered in it, by GridLayout.
  * 
  * Attrtibutes:
+ *     public static final int EASY_GRID_SIZE - The length and width of the easy game mode's grid
+ *     public static final int HARD_GRID_SIZE - The length and width of the hard game mode's grid
+ *     public static final RendererType EASY_RENDERER - How the easy game mode's grid is drawn
+ *     public static final RendererType HARD_RENDERER - How the hard game mode's grid is drawn
  *     private final Pane rootPane - This is used in order for the stage to be set by MenuFX;
- *                                   it also allows for the game's GridPane and the pane for 
+ *                                   it also allows for the game's grid and the pane for 
  *                                   the timer to be fit into itself
+ *     private final GameSession session - The session that owns the game's timelines and handlers
+ *     private final GameRandom randomSession - The random numbers of this game, split between the game modes
+ *     private final ReplayRecorder recorder - Records the game, to be archived along with its score once it is over
+ *     private GameMode modeCurrent - The game mode being played, easy then hard
  * 
  * Interesting Methods:
  *     startHardGameMode() - The method called from EasyGameMode, once over, to begin
@@ -32,13 +55,7 @@
 
 
 // Imports
-import javafx.geometry.Insets;
-import javafx.scene.Cursor;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
 
 
 public class GameFX 
@@ -47,91 +64,144 @@ public class GameFX
 	/* ----- ATTRIBUTES ----- */
 	/* ---------------------- */
 
+	// How each game mode's grid is drawn; tile buttons, unless set on the command line (i.e. -Dtiles.renderer.easy=Canvas)
+	public static final RendererType EASY_RENDERER = RendererType.fromProperty("tiles.renderer.easy");
+	public static final RendererType HARD_RENDERER = RendererType.fromProperty("tiles.renderer.hard");
+
+	// The size of each game mode's grid; 5x5 and 6x6, unless set on the command line (i.e. -Dtiles.grid.hard=50)
+	public static final int EASY_GRID_SIZE = getGridSize("tiles.grid.easy", EasyGameEngine.EASY_GRID_SIZE);
+	public static final int HARD_GRID_SIZE = getGridSize("tiles.grid.hard", HardGameEngine.HARD_GRID_SIZE);
+
+	// The color probabilities both game modes are played with; the default table, unless a table file is set (i.e. -Dtiles.table=tuned.table)
+	public static final DifficultyTable TABLE = DifficultyTable.fromProperty("tiles.table");
+
 	// The rootPane used to access GameFX's graphics from MenuFX
 	private final Pane rootPane;
 	
+	// The session the game is played in; refer to GameSession
+	private final GameSession session;
+	
+	// The random numbers of this whole game; each game mode gets its own, split off of this one in order
+	// Starting from the same seed, the same grids come up, as long as the clicks are the same
+	private final GameRandom randomSession;
+	
+	// Every game is recorded from its seed, and kept in the replay archive once it is over; refer to Replay and ReplayArchive
+	private final ReplayRecorder recorder;
+	
+	// The game mode on screen; the easy mode hands over to the hard mode partway through
+	private GameMode modeCurrent;
+	
 	
 	/* -------------------------------- */
 	/* ----- METHODS/CONSTRUCTORS ----- */
 	/* -------------------------------- */
 	
-	// GameFX's constructor; talks with the game mode classes and also with MainFX
-	public GameFX() 
+	// GameFX's constructor; talks with the game mode classes and also with MainFX, through the session it is played in
+	// Takes in the random numbers to play the game with, i.e. seeded to play a game again
+	public GameFX(GameSession session, GameRandom randomSession)
 	{
-		// Set the rootPane
+		// Set the rootPane, the session and the game's random numbers
 		rootPane = new Pane();
+		this.session = session;
+		this.randomSession = randomSession;
+		recorder = new ReplayRecorder(randomSession.getSeed(), TABLE);
 		
-		// Form the GridPane that the game is based off of
-		// Adjust the background, spacing between boxes, etc.
-		GridPane gpGameGrid = new GridPane();
-		gpGameGrid.setBackground(new Background(new BackgroundFill(Color.LIGHTGRAY, null, null)));
-		gpGameGrid.setHgap(5);
-		gpGameGrid.setVgap(5);
-		gpGameGrid.setPadding(new Insets(2, 2, 2, 2));
-		gpGameGrid.setCursor(Cursor.HAND);
+		// Form the grid that the game is based off of, with tiles sized to fit the window (100px each, up to 6x6)
+		GridRenderer rendererEasy = EASY_RENDERER.create(GridLayout.fit(EASY_GRID_SIZE));
 		
 		// Create a Timer object, set its start time and place it properly in the rootPane
 		// Pause it initially because it will start the round's time before the grid of tiles can be populated
-		Timer timerClockEasy = new Timer(EasyGameMode.EASY_START_TIME);
+		Timer timerClockEasy = new Timer(EasyGameEngine.EASY_START_TIME);
 		// Relocate the timer so it's roughly centered
 		timerClockEasy.getRootPane().relocate(MenuFX.WINDOW_WIDTH/2 - 38, 10);
 		// Pause the timer before the grid is displayed, otherwise the computation causes a small loss in the timer clock
-		timerClockEasy.getTimeline().pause();
+		timerClockEasy.pause();
 		
-		// Create new EasyGameMode object and pass it THIS GameFX instance, the game's grid pane, as well as the timer object created above
+		// Create new EasyGameMode object and pass it THIS GameFX instance, the game's grid, as well as the timer object created above
 		// This constructor is further defined in EasyGameMode, and its contents are heavily relied upon
-		EasyGameMode easyGameObject = new EasyGameMode(this, gpGameGrid, timerClockEasy);
+		EasyGameMode easyGameObject = new EasyGameMode(this, rendererEasy, timerClockEasy, EASY_GRID_SIZE, TABLE, randomSession.split());
+		modeCurrent = easyGameObject;
 		
-		// Relocate the gridpane in anticipation of the 5x5 grid game
-		// Half the window W or H minus the gridpane's W or H (100px/tile, plus the 2px padding on each side = 500 + 4)
-		// The Hgaps and Vgaps don't factor into the W or H
-		// Still not exact, there is some minor hard-coding adjustment made for it to be centered
-		gpGameGrid.relocate(MenuFX.WINDOW_WIDTH/2 - 510/2, MenuFX.WINDOW_HEIGHT/2 - 504/2);
+		// Start recording, before the first grid is populated
+		recorder.recordEasyStart(EASY_GRID_SIZE);
+		easyGameObject.getEngine().setRecorder(recorder);
 		
-		// Populate the 5x5 array, start the easy game mode timeline loop
+		// Center the grid in the window, below the timer; it is kept centered once its size is known
+		GridLayout.place(rendererEasy.getNode());
+		
+		// Populate the grid, start the easy game mode timeline loop
 		easyGameObject.randomlyPopulateGrid();
 		easyGameObject.gameLoop();
 
-		// Set the game's grid pane and the timer's VBox to the rootPane of GameFX
+		// Set the game's grid and the timer's VBox to the rootPane of GameFX
 		// Acts the same functionally as .addAll, except it CLEARS what is already there, and sets the new stuff
 		// This makes the game a little bit faster computationally
-		rootPane.getChildren().setAll(gpGameGrid, timerClockEasy.getRootPane());
+		rootPane.getChildren().setAll(rendererEasy.getNode(), timerClockEasy.getRootPane(), LatencyMonitor.getStatsLabel());
 
 		// Now play the timeline for the timer clock after all of the objects have been populated and added to the grid
 		// This minimizes the loss of time from the timer when a new round starts
 		// It is noticeably worse on computers with older hardware, so this is a very important step to a fair game
-		timerClockEasy.getTimeline().play();
+		timerClockEasy.play();
 	}
 	
 	
 	// Method to begin hard game mode; called in EasyGameMode
 	// Performs the same functions as with the easy game mode, but for the hard game mode
-	public void startHardGameMode(GridPane gpGameGrid)
+	public void startHardGameMode()
 	{
+		// Form a grid of its own for the hard game mode, also sized to fit the window
+		GridRenderer rendererHard = HARD_RENDERER.create(GridLayout.fit(HARD_GRID_SIZE));
+		
 		// Create a Timer object and set its start time, then center it
-		Timer timerClockHard = new Timer(HardGameMode.HARD_START_TIME);
+		Timer timerClockHard = new Timer(HardGameEngine.HARD_START_TIME);
 		timerClockHard.getRootPane().relocate(MenuFX.WINDOW_WIDTH/2 - 45, 0);
 		// Pause to allow population and reduce timer clock lag
-		timerClockHard.getTimeline().pause();
+		timerClockHard.pause();
 		
-		// Create a new HardGameMode object and pass it THIS GameFX instance, the game's grid pane, as well as the timer object created above
+		// Create a new HardGameMode object and pass it THIS GameFX instance, the game's grid, as well as the timer object created above
 		// This constructor's contents are heavily relied upon in HardGameMode
-		HardGameMode hardGameObject = new HardGameMode(this, gpGameGrid, timerClockHard);
+		HardGameMode hardGameObject = new HardGameMode(this, rendererHard, timerClockHard, HARD_GRID_SIZE, TABLE, randomSession.split());
+		modeCurrent = hardGameObject;
 		
-		// Properly position the 6x6 grid; same as the 5x5 grid, just 604 W and H (6 tiles, 100px each, plus 2px padding each side)
-		// The Hgaps and Vgaps don't factor into the W or H
-		// Not exact, minor adjustments made
-		gpGameGrid.relocate(MenuFX.WINDOW_WIDTH/2 - 616/2, MenuFX.WINDOW_HEIGHT/2 - 604/2);
+		// Keep recording, before the grid is populated
+		recorder.recordHardStart(HARD_GRID_SIZE);
+		hardGameObject.getEngine().setRecorder(recorder);
 		
-		// Populate the 6x6 array initially and start the hard game mode timeline loop
+		// Center the grid, the same as the easy game mode's
+		GridLayout.place(rendererHard.getNode());
+		
+		// Populate the grid initially and start the hard game mode timeline loop
 		hardGameObject.randomlyPopulateGrid();
 		hardGameObject.gameLoop();
 
-		// Set all elements of the 6x6 grid to the game's grid pane
-		rootPane.getChildren().setAll(gpGameGrid, timerClockHard.getRootPane());
+		// Set the grid and the timer's VBox to the rootPane
+		rootPane.getChildren().setAll(rendererHard.getNode(), timerClockHard.getRootPane(), LatencyMonitor.getStatsLabel());
 		
 		// Now, play the timeline for the timer clock
-		timerClockHard.getTimeline().play();
+		timerClockHard.play();
+	}
+	
+	
+	// Method to read a grid size from a system property, or the default if it isn't set
+	// A size that isn't a number, or is smaller than 3x3, is reported and the default is played instead
+	private static int getGridSize(String strKey, int iDefault)
+	{
+		String strSize = System.getProperty(strKey);
+		
+		if (strSize == null)
+		{
+			return iDefault;
+		}
+		
+		try
+		{
+			return GameEngine.checkGridSize(Integer.parseInt(strSize.trim()));
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.out.println(strKey + "=" + strSize + " is not a grid size that can be played; using " + iDefault + "x" + iDefault + ".");
+			return iDefault;
+		}
 	}
 	
 	
@@ -142,4 +212,25 @@ public class GameFX
 	}
 	
 	
+	// Getter for the session the game is played in
+	public GameSession getSession()
+	{
+		return session;
+	}
+	
+	
+	// Getter for the game mode being played
+	public GameMode getCurrentMode()
+	{
+		return modeCurrent;
+	}
+	
+	
+	// Getter for the recorder of the game; the game modes hand it over to be archived once the game is over
+	public ReplayRecorder getRecorder()
+	{
+		return recorder;
+	}
+	
+	
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Class: GameLoop
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     Timer
+ * 
+ * Called by classes:
+ *     GameMode
+ *     EasyGameMode
+ *     HardGameMode
+ * 
+ * Description:
+ *     This class is the one frame-driven loop of a game mode. It is an AnimationTimer, so it runs
+ *     on every JavaFX pulse (normally 60 times a second), and on each tick it advances the timer 
+ *     clock by the time that has actually passed, measured with System.nanoTime(), then runs the
+ *     game mode's checks in that same pulse.
+ *     
+ *     It replaces two 16 ms timelines: one that took 16 ms off the clock per tick, whether or not
+ *     16 ms had passed (so the clock ran slow whenever frames were dropped), and one that polled 
+ *     for the end of the round.
+ * 
+ * Attrtibutes:
+ *     private Timer timerClock - The timer clock to advance
+ *     private Runnable runGameChecks - The game mode's checks, run after the clock is advanced
+ *     private long lTickInterval - The least time between ticks, in nanoseconds; 0 ticks on every pulse
+ *     private long lLastPulse - The time of the last pulse, in nanoseconds, or -1 before the first
+ *     private long lUnprocessed - The time since the last tick, in nanoseconds
+ * 
+ * Interesting Methods:
+ *     handle(long) - Called on every pulse; ticks once enough time has passed
+ *     setTickRate(double) - Sets how many ticks there are per second, at most
+ * 
+ */
+
+
+// Imports
+import javafx.animation.AnimationTimer;
+
+
+public class GameLoop extends AnimationTimer
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	// What the loop drives
+	private Timer timerClock;
+	private Runnable runGameChecks;
+	
+	// The tick rate, and the time kept track of between pulses
+	private long lTickInterval = 0;
+	private long lLastPulse = -1;
+	private long lUnprocessed = 0;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// Constructor, taking in the timer clock, the game mode's checks and the most ticks to run per second (0 for every pulse)
+	public GameLoop(Timer timerClock, Runnable runGameChecks, double dTicksPerSecond)
+	{
+		this.timerClock = timerClock;
+		this.runGameChecks = runGameChecks;
+		setTickRate(dTicksPerSecond);
+	}
+	
+	
+	@Override
+	// Method called on every pulse, with the pulse's time in nanoseconds
+	// Ticks once at least the tick interval has passed, advancing the clock by all of the time since the last tick,
+	// so a slow or dropped frame makes the next tick bigger rather than losing time
+	public void handle(long lNow)
+	{
+		// Nothing has passed yet on the very first pulse
+		if (lLastPulse < 0)
+		{
+			lLastPulse = lNow;
+			return;
+		}
+		
+		lUnprocessed += lNow - lLastPulse;
+		lLastPulse = lNow;
+		
+		if (lUnprocessed < lTickInterval)
+		{
+			return;
+		}
+		
+		double dSeconds = lUnprocessed / 1e9;
+		lUnprocessed = 0;
+		
+		// Advance the clock (it ignores this while paused), then check on the game with the clock up to date
+		timerClock.timerLoop(dSeconds);
+		runGameChecks.run();
+	}
+	
+	
+	@Override
+	// Method to stop the loop; if it is started again, it starts counting from then
+	public void stop()
+	{
+		super.stop();
+		lLastPulse = -1;
+		lUnprocessed = 0;
+	}
+	
+	
+	// Setter for the most ticks per second; 0 (or less) ticks on every pulse
+	public void setTickRate(double dTicksPerSecond)
+	{
+		lTickInterval = dTicksPerSecond > 0 ? (long) (1e9 / dTicksPerSecond) : 0;
+	}
+	
+	
+}
\ No newline at end of file
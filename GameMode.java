@@ -5,8 +5,13 @@
  * 
  * Classes called:
  *     GameFX
- *     Tile
+ *     GameEngine
+ *     GameRandom
+ *     GridRenderer
  *     Timer
+ *     LatencyMonitor
+ *     GameEvent
+ *     GameSession
  * 
  * Called by classes:
  *     EasyGameMode
@@ -16,60 +21,63 @@
  *     This class acts as the parent class for EasyGameMode and HardGameMode. In it are the generic
  *     attributes and methods needed to complete the basic functions of each game mode. Almost 
  *     everything here will be overriden or not used in the game mode classes.
+ *     
+ *     The rules themselves live in a GameEngine; the game modes are views over it. A click is 
+ *     handed to the engine, and the grid, alerts and timelines are updated to match its state.
+ *     
+ *     The grid is put on screen by a GridRenderer (tile buttons or a single Canvas), which only
+ *     ever hands the game mode the cell of a click. The method for the cell's color is called
+ *     through a table indexed by TileColor. Nothing is registered or allocated when a tile 
+ *     changes color.
  * 
  * Attrtibutes:
- *     protected Tile[][] arrTiles - An array of tile objects that the user interacts with
- *     protected int iNumberOfWhiteTiles - The number of all the white tiles in a given grid
- *     protected int iNumberOfWhiteTilesClicked - The number of white tiles clicked by the user
- *                                                Used to check for completion
- *     protected int iNumberOfBlackTiles - Used to keep track of the number of black tiles
- *     protected int iRounds - Used to keep track of the number of rounds
- *     protected Timeline timelineGame - The game's timeline
- *     protected GridPane gpGame - Used for assigning the GridPane via the constructor used in GameFX
+ *     protected GridRenderer renderer - Puts the engine's grid on screen and reports the cell of each click
+ *     protected GameEngine engine - The game rules and grid state that the renderer displays
+ *     protected TileClickHandler[] arrClickHandlers - The click method for each tile color, by ordinal
+ *     public static final double TICK_RATE - The most game loop ticks per second; 0 ticks on every pulse
+ *     protected GameLoop loopGame - The game's loop, which advances the timer clock and runs checkTimerEnd()
  *     protected Timer timerClock - Used for assigning the start time to a Timer object from the 
  *                                  constructor used in GameFX       
  *     protected GameFX gameFX - Object used for assigning the GameFX object via the constructor
  *                               used in GameFX                             
  * 
  * Interesting Methods:
- *     gameLoop() - Uses a JavaFX timeline to loop indefinitely, called at a rate ~= 60fps
- *     randomlyPopulateGrid() - Randomly populates a Tile array with tiles
- *     registerTileClick(Tile) - Called when a tile is clicked and handles each color as needed
- *     blackTileClick(Tile) - Method run when a black tile is clicked
- *     checkTimerEnd() - Called continuously as the end condition for the timeline in
+ *     gameLoop() - Starts the game's loop, which runs on every JavaFX pulse (~= 60fps)
+ *     randomlyPopulateGrid() - Randomly populates the engine's grid and has the renderer show it
+ *     dispatchCellClick(int) - Calls the method for the color of the cell that was clicked
+ *     whiteTileClick(int) - Method run when a white tile is clicked
+ *     blackTileClick(int) - Method run when a black tile is clicked
+ *     timeTileClick(int) - Method run when a green or red tile is clicked
+ *     checkTimerEnd() - Called continuously as the end condition for the game loop in
  *                       startGameLoop(); checks for running out of time
  *                       
  */
 
 
-// Imports
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.scene.control.Button;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.GridPane;
-import javafx.util.Duration;
-
 public class GameMode {
 	
 	/* ---------------------- */
 	/* ----- ATTRIBUTES ----- */
 	/* ---------------------- */
 	
-	// Initialize a generic array of tiles
-	protected Tile[][] arrTiles = new Tile[1][1];
+	// The renderer that shows the grid, chosen by GameFX for each game mode
+	// The authoritative grid state is the engine's; the renderer only displays it
+	protected GridRenderer renderer = null;
+	
+	// The game rules and grid state; the counters needed for any game mode are kept here too
+	protected GameEngine engine = null;
 	
-	// Counter variables needed for any game mode
-	protected int iNumberOfWhiteTiles;
-	protected int iNumberOfWhiteTilesClicked;
-	protected int iNumberOfBlackTiles;
-	protected int iRounds;
+	// The method to run for a click on each tile color, indexed by TileColor ordinal; created once, with the game mode
+	protected TileClickHandler[] arrClickHandlers = new TileClickHandler[TileColor.values().length];
 	
-	// Attribute used for a game loop timeline
-	protected Timeline timelineGame = new Timeline();
+	// The most ticks the game loop runs per second; 0 runs it on every JavaFX pulse (~= 60fps)
+	// Lower it (i.e. to 30) to do less work per second on slow machines; the timer clock still keeps real time
+	public static final double TICK_RATE = 0;
+	
+	// Attribute used for the game loop, which drives both the timer clock and the game's checks
+	protected GameLoop loopGame = null;
 	
 	// Constructor reference variables
-	protected GridPane gpGame = null;
 	protected Timer timerClock = null;
 	protected GameFX gameFX = null;
 	
@@ -78,84 +86,76 @@ public class GameMode {
 	/* ----- METHODS/CONSTRUCTORS ----- */
 	/* -------------------------------- */
 	
-	// Set the constructor for use, taking in an instance of GameFX, its game gridpane, and a timer object
-	public GameMode(GameFX gameFX, GridPane gpGame, Timer timerClock)
+	// Set the constructor for use, taking in an instance of GameFX, the renderer for its grid, and a timer object
+	public GameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock)
+	{
+		this(gameFX, renderer, timerClock, new GameRandom());
+	}
+	
+	
+	// Constructor, also taking in the random numbers the grid is populated with
+	public GameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock, GameRandom random)
+	{
+		this(gameFX, renderer, timerClock, 1, random);
+	}
+	
+	
+	// Constructor, also taking in the size of the grid, i.e. to populate as many tiles as a headless engine of that size
+	public GameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock, int iGridSize, GameRandom random)
+	{
+		this(gameFX, renderer, timerClock, new GameEngine(iGridSize, timerClock.getClock(), DifficultyTable.DEFAULT, random));
+	}
+	
+	
+	// Constructor used by the game modes to hand over their own engine
+	// The engine shares the timer's clock, so the tile rules and the visible timer stay in step
+	protected GameMode(GameFX gameFX, GridRenderer renderer, Timer timerClock, GameEngine engine)
 	{
 		this.gameFX = gameFX;
-		this.gpGame = gpGame;
+		this.renderer = renderer;
 		this.timerClock = timerClock;
+		this.engine = engine;
+		
+		// One loop per game mode: advance the timer clock by the time that has actually passed, then check for the end of the round
+		loopGame = new GameLoop(timerClock, this::checkTimerEnd, TICK_RATE);
+		
+		// Fill the click table; the methods are looked up on the game mode itself, so the subclasses' versions are used
+		arrClickHandlers[TileColor.White.ordinal()] = this::whiteTileClick;
+		arrClickHandlers[TileColor.Black.ordinal()] = this::blackTileClick;
+		arrClickHandlers[TileColor.Green.ordinal()] = this::timeTileClick;
+		arrClickHandlers[TileColor.Red.ordinal()] = this::timeTileClick;
+		
+		// The renderer hands over the cell of every click on the grid
+		// The game's session disposes of the renderer (and stops the loop) once the game is over
+		renderer.attach(engine, this::dispatchCellClick);
+		GameSession session = getSession();
+		
+		if (session != null)
+		{
+			session.own(renderer);
+			session.own(loopGame);
+		}
 	}
 	
 	
-	// Generic method to instantiate a game's looping timeline and begin the game
+	// Generic method to start the game's loop and begin the game
+	// The loop runs on every JavaFX pulse, which is ~= 60fps; every tick, it subtracts the time that has passed from the
+	// timer clock (while it isn't paused), then calls checkTimerEnd(), which checks for the game mode running out of time
 	public void gameLoop()
 	{
-		// Set the game's timeline to be indefinite
-		timelineGame.setCycleCount(Timeline.INDEFINITE);
-		// Repeat the timeline cycle every 16ms, which equates to 1000ms / 16ms =~ 60fps
-		// Every time it's enabled, call checkTimerEnd(), which checks for the game mode running out of time
-		timelineGame.getKeyFrames().add(new KeyFrame(Duration.millis(16), e -> checkTimerEnd()));
-		timelineGame.play(); 
+		loopGame.start();
 	}
 	
 	
-	// Generic method to randomly populate an array with colored tile objects
+	// Generic method to randomly populate the engine's grid and display it with tile objects
 	public void randomlyPopulateGrid() throws ArrayIndexOutOfBoundsException, OutOfMemoryError
 	{
 		// Begin try catch block
 		try
 		{
-			for(int i = 0; i < arrTiles.length; i++) 
-			{
-				for(int j = 0; j < arrTiles.length; j++) 
-				{
-					// RNG for tile selection
-					double dRand = Math.random();
-					
-					// Create and adjust ImageView object to be used by created tiles
-					ImageView view = new ImageView();
-	
-					if (dRand <= .25) 
-					{
-						// // Assign the white tile image to the ImageView
-						view.setImage(Tile.IMG_WHITE_TILE);
-						
-						// Assign a white tile to the array index	
-						arrTiles[i][j] = new Tile(TileColor.White, new Button(null, view));
-					}
-					
-					else if (dRand <= .5) 
-					{
-						// Assign the black tile image to the ImageView and adjust its color
-						view.setImage(Tile.IMG_BLACK_TILE);
-						// Assign a black tile to the array index	
-						arrTiles[i][j] = new Tile(TileColor.Black, new Button(null, view));
-					}
-					
-					else if (dRand <= .75) 
-					{
-						// // Assign the green tile image to the ImageView
-						view.setImage(Tile.IMG_GREEN_TILE);
-						// Assign a green tile to the array index	
-						arrTiles[i][j] = new Tile(TileColor.Green, new Button(null, view));
-					}
-					
-					else 
-					{
-						// // Assign the red tile image to the ImageView
-						view.setImage(Tile.IMG_RED_TILE);
-						// Assign a red tile to the array index	
-						arrTiles[i][j] = new Tile(TileColor.Red, new Button(null, view));
-					}
-				
-					// Run through the array and add the created tile to the gridpane
-					// Talks to GameFX through the constructor
-					gpGame.add(arrTiles[i][j].getTileButton(), i, j);
-					
-					// Register tile clicks
-					registerTileClick(arrTiles[i][j]);
-				}
-			}
+			// Let the engine pick the colors, then show them
+			engine.randomlyPopulateGrid();
+			renderer.showGrid();
 		}
 		
 		// Catch exception if necessary- although it will never occur
@@ -175,69 +175,104 @@ public class GameMode {
 	}
 	
 	
-	// Generic method called through randomlyPopulateGrid that handles a click on whatever tile color is clicked
-	public void registerTileClick(Tile tile) 
+	// Method run by the renderer for every click on the grid, with the cell that was clicked
+	// Calls the method for the color the engine has for the cell
+	public void dispatchCellClick(int iCell)
 	{
-		// If the tile clicked is white, handle accordingly
-		if (tile.getTileColor() == TileColor.White) 
-		{	
-			tile.getTileButton().setOnAction(e -> 
-			{
-				// Add 1 to the number of white tiles clicked
-				iNumberOfWhiteTilesClicked++;
-				
-				// Disable the button both visually and functionally (extremely important)
-				// This prevents an already clicked tile being able to be clicked again
-				tile.getTileButton().setDisable(true);
-				
-				// Console check for white tiles clicked
-				System.out.println(iNumberOfWhiteTilesClicked);
-
-			});	
-		}
+		LatencyMonitor.markHandlerEntry();
 		
-		// If the tile clicked is black, handle accordingly
-		if (tile.getTileColor() == TileColor.Black) 
-		{
-			tile.getTileButton().setOnAction(e -> 
-			{
-				blackTileClick(tile);
-			});
-		}
+		byte bColor = engine.getGrid().getColorOrdinal(iCell);
 		
-		// If the tile clicked is green, disable the tile and update the timer clock
-		if (tile.getTileColor() == TileColor.Green) 
+		if (bColor == TileGrid.NO_COLOR)
 		{
-			// If the tile clicked is green, disable the tile and update the timer clock
-			tile.getTileButton().setOnAction(e -> 
-			{
-				tile.getTileButton().setDisable(true);
-				timerClock.setTimer(timerClock.getCurrentTime() + .5);
-			});			
+			return;
 		}
-
-		// If the tile clicked is red, disable the tile and update the timer clock
-		if (tile.getTileColor() == TileColor.Red) 
+		
+		arrClickHandlers[bColor].tileClicked(iCell);
+	}
+	
+	
+	// Generic method run when a white tile is clicked
+	// Every click is handed to the engine, which applies the rules; the tile is then shown to match
+	public void whiteTileClick(int iCell)
+	{
+		// Add 1 to the number of white tiles clicked
+		engine.click(iCell);
+		
+		// Show the tile as clicked, which disables it both visually and functionally (extremely important)
+		// This prevents an already clicked tile being able to be clicked again
+		renderer.showCell(iCell);
+		
+		// Console check for white tiles clicked
+		System.out.println(engine.getNumberOfWhiteTilesClicked());
+	}
+	
+	
+	// Generic method run when a green or red tile is clicked; disable the tile and update the timer clock
+	// The engine adds or subtracts the time on the clock it shares with the timer
+	public void timeTileClick(int iCell)
+	{
+		engine.click(iCell);
+		renderer.showCell(iCell);
+	}
+	
+	
+	// Getter for the renderer showing the grid
+	public GridRenderer getRenderer()
+	{
+		return renderer;
+	}
+	
+	
+	// Getter for the engine behind the game mode
+	public GameEngine getEngine()
+	{
+		return engine;
+	}
+	
+	
+	// Getter for the recorder of the game being played, or null if there is no GameFX (and so no recording)
+	protected ReplayRecorder getRecorder()
+	{
+		return gameFX == null ? null : gameFX.getRecorder();
+	}
+	
+	
+	// Getter for the session the game is played in, or null if there is no GameFX (i.e. in the benchmarks)
+	protected GameSession getSession()
+	{
+		return gameFX == null ? null : gameFX.getSession();
+	}
+	
+	
+	// Method to record the end of the game for Java Flight Recorder, if a recording is running; refer to GameEvent
+	// The game is over the instant this is called, so the event has no duration of its own
+	protected void recordGameOver(UserFinishType finishType)
+	{
+		GameOverEvent event = new GameOverEvent();
+		
+		if (event.isEnabled())
 		{
-			tile.getTileButton().setOnAction(e -> 
-			{
-				// Disable tile and update the timer
-				tile.getTileButton().setDisable(true);
-				timerClock.setTimer(timerClock.getCurrentTime() - .5);
-			});	
+			event.mode = getClass().getSimpleName();
+			event.gridSize = engine.getGridSize();
+			event.finish = finishType.name();
+			event.whitesClicked = engine.getNumberOfWhiteTilesClicked();
+			event.timeSurvived = (long) (engine.getClock().getTimeElapsed() * 1000);
+			event.commit();
 		}
 	}
-
+	
 	
 	// Generic method run on a black tile click to execute the steps needed because of user failure
-	public void blackTileClick(Tile tile)
+	public void blackTileClick(int iCell)
 	{
-		// Disable the button
-		tile.getTileButton().setDisable(true);
+		// Let the engine record the failure, then show the tile as clicked
+		engine.click(iCell);
+		renderer.showCell(iCell);
 		
-		// Stop all timelines; the game loop and the timer clock loop
-		timelineGame.stop();
-		timerClock.getTimeline().stop();
+		// Stop the game loop and pause the timer clock
+		loopGame.stop();
+		timerClock.pause();
 		
 		// Display failure
 		System.out.println("Black tile clicked!");
@@ -247,14 +282,14 @@ public class GameMode {
 	// Generic method run continuously in any game mode to check for round failure via running out of time
 	public void checkTimerEnd()
 	{	
-		// If a round's timer ever hits 0.0, inform the user through an alert and return to the main menu
-		if (timerClock.getCurrentTime() <= 0.0)
+		// If a round's timer ever hits 0.0, the engine fails the round; inform the user and stop the clock
+		if (engine.isPlaying() && engine.update() == EngineState.Fail_OutOfTime)
 		{
 			// Set the visible timer to .04, which displays 0.0 in the game (because of rounding)
 			// Otherwise, the game does not respond very well
-			// Then, pause the timeline
+			// Then, pause the timer clock
 			timerClock.setTimer(.04);
-			timerClock.getTimeline().stop();
+			timerClock.pause();
 		
 			// Display failure
 			System.out.println("Out of time!");
@@ -262,4 +297,11 @@ public class GameMode {
 	}
 	
 	
+}
+
+
+// The method to run when a tile of a certain color is clicked; refer to GameMode.arrClickHandlers
+interface TileClickHandler
+{
+	void tileClicked(int iCell);
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Class: GameRandom
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     None
+ *
+ * Called by classes:
+ *     GameEngine
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     GameMode
+ *     EasyGameMode
+ *     HardGameMode
+ *     GameFX
+ *     MonteCarloSimulator
+ *
+ * Description:
+ *     This class is the source of every random decision in the game: the colors a grid is
+ *     populated with, the colors tiles change to and the cells hard mode updates. It used to be
+ *     Math.random(), which is one Random shared (and synchronized on) by the whole program and
+ *     can't be seeded. Now every game session, and every simulation worker, has one of these of
+ *     its own, built on a SplittableRandom with a seed that can be saved and played back.
+ *
+ *     It is not thread-safe; rather than sharing one, split() off another for each thread.
+ *
+ * Attrtibutes:
+ *     private final long lSeed - The seed the sequence started from
+ *     private final SplittableRandom random - The sequence itself
+ *
+ * Interesting Methods:
+ *     split() - Makes another GameRandom with a seed taken from this one, for a mode or a worker
+ *
+ */
+
+
+// Imports
+import java.util.SplittableRandom;
+
+
+public class GameRandom
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The seed, kept so the same game can be played again, and the numbers coming from it
+	private final long lSeed;
+	private final SplittableRandom random;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, picking a seed of its own; every game on screen starts this way
+	public GameRandom()
+	{
+		this(new SplittableRandom().nextLong());
+	}
+
+
+	// Constructor, taking in the seed, so the same numbers come out every time
+	public GameRandom(long lSeed)
+	{
+		this.lSeed = lSeed;
+		random = new SplittableRandom(lSeed);
+	}
+
+
+	// Method to make another GameRandom for a game mode or a worker thread, seeded from this one
+	// The split one has a seed of its own, so whatever it was used for can be played back on its own as well;
+	// splitting in the same order from the same seed always gives the same splits
+	public GameRandom split()
+	{
+		return new GameRandom(random.nextLong());
+	}
+
+
+	// Method to get a random number between 0.0 (inclusive) and 1.0 (exclusive)
+	public double nextDouble()
+	{
+		return random.nextDouble();
+	}
+
+
+	// Method to get a random whole number between 0 (inclusive) and iBound (exclusive)
+	public int nextInt(int iBound)
+	{
+		return random.nextInt(iBound);
+	}
+
+
+	// Getter for the seed
+	public long getSeed()
+	{
+		return lSeed;
+	}
+
+
+}
\ No newline at end of file
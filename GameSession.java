@@ -0,0 +1,308 @@
+/*
+ * Class: GameSession
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GameFX
+ *     GameRandom
+ *     GridRenderer
+ *     MenuFX
+ *
+ * Called by classes:
+ *     MenuFX
+ *     GameFX
+ *     GameMode
+ *     HardGameMode
+ *     SoakTest
+ *
+ * Description:
+ *     This class is one game, from the moment Start Game is clicked until it is back at the menu.
+ *     It owns everything the game leaves running or hooked up while it is played: the game modes'
+ *     loops and timelines, and its renderers, along with the fades and event handlers they run. When
+ *     the game ends (won or failed), or the game is quit by closing its window, the session is
+ *     disposed of: every animation is stopped, every renderer is disposed of, and the game's pane is
+ *     emptied, so nothing the game made is left on the JavaFX pulse or reachable from the scene.
+ *     Without it, each game left its pane and its mode objects hanging off of handlers and
+ *     stopped-but-registered animations, and a game left running for days grew until restarted.
+ *
+ *     Every game, and every animation a session is handed, is also kept track of through a weak
+ *     reference. Once it is over and disposed of properly, nothing holds on to it and it is garbage
+ *     collected; an animation still running is held by the JavaFX pulse, and a handler still
+ *     hooked up holds its game. So after a GC, the games and animations still in memory are the
+ *     ones left behind, and a long run can check that they always come back down to zero.
+ *     Everything happens on the JavaFX application thread.
+ *
+ *     Run on its own, it plays thousands of sessions back to back: each one is started in the
+ *     easy mode, switched over to the hard mode (with its own timelines and renderer) and given a
+ *     fade in each, then disposed of. It checks that the heap after a GC stays flat, and that no
+ *     game or animation is still in memory once they are all over. It needs a JavaFX platform;
+ *     on a machine with no display, run it under Monocle:
+ *     -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw
+ *
+ * Attrtibutes:
+ *     private static final List<WeakReference<GameFX>> listGameRefs - Every game started that may still be in memory
+ *     private static final List<WeakReference<Object>> listAnimationRefs - Every animation owned that may still be in memory
+ *     private final List<Animation> listAnimations - The timelines and transitions the session owns
+ *     private final List<AnimationTimer> listTimers - The game loops the session owns
+ *     private final List<Runnable> listRemovals - Disposes of each renderer, taking its handlers off of its nodes
+ *     private final GameFX gameFX - The game being played
+ *     private boolean bDisposed - Whether the session has been disposed of
+ *
+ * Interesting Methods:
+ *     own(Animation) / own(AnimationTimer) - Hands an animation to the session, to be stopped with it
+ *     own(GridRenderer) - Hands a renderer to the session, to be disposed of with it
+ *     dispose() - Stops, removes and empties everything the session owns
+ *     getLiveSessions() / getLiveAnimations() - The games and animations still in memory, after a GC
+ *
+ */
+
+
+// Imports
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+
+
+public class GameSession
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// Every game and animation, across every session; what has been garbage collected is cleared out as they are counted
+	private static final List<WeakReference<GameFX>> listGameRefs = new ArrayList<>();
+	private static final List<WeakReference<Object>> listAnimationRefs = new ArrayList<>();
+
+	// Everything the session has to stop or remove once it is over
+	private final List<Animation> listAnimations = new ArrayList<>();
+	private final List<AnimationTimer> listTimers = new ArrayList<>();
+	private final List<Runnable> listRemovals = new ArrayList<>();
+
+	// The game itself, and whether it is over
+	private final GameFX gameFX;
+	private boolean bDisposed = false;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor for a new game with new random numbers
+	public GameSession()
+	{
+		this(new GameRandom());
+	}
+
+
+	// Constructor taking in the random numbers to play the game with, i.e. seeded to play a game again
+	// The game starts right away; its pane is ready to be put in the scene once this returns
+	public GameSession(GameRandom randomSession)
+	{
+		gameFX = new GameFX(this, randomSession);
+		listGameRefs.add(new WeakReference<>(gameFX));
+	}
+
+
+	// Method to hand a timeline or transition to the session, which stops it once the session is over
+	public void own(Animation animation)
+	{
+		listAnimations.add(animation);
+		listAnimationRefs.add(new WeakReference<>(animation));
+	}
+
+
+	// Method to hand a game loop to the session, which stops it once the session is over
+	public void own(AnimationTimer timer)
+	{
+		listTimers.add(timer);
+		listAnimationRefs.add(new WeakReference<>(timer));
+	}
+
+
+	// Method to hand a grid's renderer to the session, which disposes of it (its handlers and any fade) once the session is over
+	public void own(GridRenderer renderer)
+	{
+		listRemovals.add(renderer::dispose);
+	}
+
+
+	// Method to end the session: stop every animation, dispose of every renderer and empty the game's pane
+	// Safe to call more than once, and from inside one of the session's own handlers or loops
+	public void dispose()
+	{
+		if (bDisposed)
+		{
+			return;
+		}
+
+		bDisposed = true;
+
+		for (Animation animation : listAnimations)
+		{
+			animation.stop();
+		}
+
+		for (AnimationTimer timer : listTimers)
+		{
+			timer.stop();
+		}
+
+		for (Runnable runRemoval : listRemovals)
+		{
+			runRemoval.run();
+		}
+
+		listAnimations.clear();
+		listTimers.clear();
+		listRemovals.clear();
+		gameFX.getRootPane().getChildren().clear();
+	}
+
+
+	// Getter for whether the session has been disposed of
+	public boolean isDisposed()
+	{
+		return bDisposed;
+	}
+
+
+	// Getter for the game being played
+	public GameFX getGameFX()
+	{
+		return gameFX;
+	}
+
+
+	// Getter for the game's pane, to put in the scene
+	public Pane getRootPane()
+	{
+		return gameFX.getRootPane();
+	}
+
+
+	// Method to count the games still in memory: the one being played, and any that were left behind once over
+	// Only exact right after a GC (i.e. getHeapAfterGC()); before one, games that are over may not have been collected yet
+	public static int getLiveSessions()
+	{
+		listGameRefs.removeIf(ref -> ref.get() == null);
+		return listGameRefs.size();
+	}
+
+
+	// Method to count the animations and game loops still in memory, owned by the game being played or left behind running
+	// A running animation is held by the JavaFX pulse, so it is never collected; only exact right after a GC, the same as above
+	public static int getLiveAnimations()
+	{
+		listAnimationRefs.removeIf(ref -> ref.get() == null);
+		return listAnimationRefs.size();
+	}
+
+
+	// Method to get the heap in use after a full GC, in bytes
+	public static long getHeapAfterGC()
+	{
+		System.gc();
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+
+	// The session leak check: plays thousands of sessions into the hard mode and disposes of them, then checks nothing was left behind
+	// Every so often the heap after a GC is sampled; the check fails if the last sample is well over the first,
+	// or if any game or animation is still in memory once they have all been disposed of
+	// Arguments (all optional): sessions, sessions between heap samples, the most the heap may grow in MB
+	public static void main(String[] args) throws Exception
+	{
+		int iSessions = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int iSampleEvery = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		long lMaxGrowth = (args.length > 2 ? Long.parseLong(args[2]) : 8) * 1024 * 1024;
+
+		CompletableFuture<Boolean> futurePassed = new CompletableFuture<>();
+
+		Platform.startup(() ->
+		{
+			try
+			{
+				futurePassed.complete(checkSessions(iSessions, iSampleEvery, lMaxGrowth));
+			}
+			catch (RuntimeException e)
+			{
+				futurePassed.completeExceptionally(e);
+			}
+		});
+
+		boolean bPassed = futurePassed.get();
+		System.out.println(bPassed ? "Nothing was left behind." : "Sessions are being left behind!");
+
+		Platform.exit();
+		System.exit(bPassed ? 0 : 1);
+	}
+
+
+	// Method run by the leak check on the JavaFX application thread, returning whether nothing was left behind
+	private static boolean checkSessions(int iSessions, int iSampleEvery, long lMaxGrowth)
+	{
+		// The sessions are shown in a scene, the same as from the menu, so their nodes get skins and CSS
+		Scene scene = new Scene(new Pane(), MenuFX.WINDOW_WIDTH, MenuFX.WINDOW_HEIGHT);
+		long lHeapFirst = -1;
+		long lHeapLast = -1;
+
+		for (int i = 1; i <= iSessions; i++)
+		{
+			playSession(scene, new GameSession(new GameRandom(i)));
+
+			if (i % iSampleEvery == 0)
+			{
+				lHeapLast = getHeapAfterGC();
+				lHeapFirst = lHeapFirst < 0 ? lHeapLast : lHeapFirst;
+				System.out.printf("%6d sessions: heap %.2f MB, %d games and %d animations still in memory%n",
+						i, lHeapLast / 1048576.0, getLiveSessions(), getLiveAnimations());
+			}
+		}
+
+		// Every session is over, so after a GC nothing of theirs should be left
+		lHeapLast = getHeapAfterGC();
+		int iLeftGames = getLiveSessions();
+		int iLeftAnimations = getLiveAnimations();
+		System.out.printf("All over: heap %.2f MB, %d games and %d animations still in memory%n", lHeapLast / 1048576.0, iLeftGames, iLeftAnimations);
+
+		return iLeftGames == 0 && iLeftAnimations == 0 && lHeapLast - lHeapFirst <= lMaxGrowth;
+	}
+
+
+	// Method to play one session of the leak check, the same way the game does, from the easy mode over to the hard mode
+	// Each mode is shown in the scene (so its nodes get skins and CSS) with a tile fading, then the session is disposed of
+	private static void playSession(Scene scene, GameSession session)
+	{
+		GameFX gameFX = session.getGameFX();
+		showMode(scene, gameFX);
+
+		// Switched over the same way EasyGameMode does once the easy mode is complete; this starts the hard mode's timelines
+		gameFX.startHardGameMode();
+		showMode(scene, gameFX);
+
+		scene.setRoot(new Pane());
+		session.dispose();
+	}
+
+
+	// Method to show the game's current mode in the scene and start a tile of it fading, the same as a click would
+	private static void showMode(Scene scene, GameFX gameFX)
+	{
+		scene.setRoot(gameFX.getRootPane());
+		gameFX.getCurrentMode().getRenderer().flashCell(0);
+		scene.getRoot().applyCss();
+		scene.getRoot().layout();
+	}
+
+
+}
\ No newline at end of file
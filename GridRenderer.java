@@ -0,0 +1,181 @@
+/*
+ * Interface: GridRenderer
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GameEngine
+ *     MenuFX
+ *
+ * Called by classes:
+ *     GameFX
+ *     GameMode
+ *     EasyGameMode
+ *     HardGameMode
+ *     GameSession
+ *     BotPlayer
+ *
+ * Description:
+ *     This interface is how a game mode puts its engine's grid on screen and hears about clicks
+ *     on it, without knowing what the grid is drawn with. The game mode only ever talks in cell
+ *     indexes: it asks for the whole grid or a single cell to be shown as the engine now has it
+ *     (its color, and whether it has been clicked), and is handed the cell of every click.
+ *
+ *     There are two renderers, picked per game mode through RendererType: ButtonGridRenderer,
+ *     a GridPane of tile buttons (the way the game always looked), and CanvasGridRenderer, which
+ *     draws the whole grid on one Canvas and works out the cell of a click from its coordinates,
+ *     for grids far too large to be made of controls. How big the tiles are, and where the grid
+ *     goes in the window, is worked out by GridLayout from the grid size and the window size.
+ *
+ * Interesting Methods:
+ *     attach(GameEngine, IntConsumer) - Hooks the renderer up to an engine and a click handler
+ *     showGrid() / showCell(int) - Shows the engine's grid, or one of its cells
+ *     flashCell(int) - Plays the fade a clicked tile gets
+ *     fireCell(int) - Clicks a cell from the code, the same as the user would
+ *
+ */
+
+
+// Imports
+import java.util.function.IntConsumer;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+
+public interface GridRenderer
+{
+	// Method to hook the renderer up to the engine whose grid it shows, and the handler every click's cell is handed to
+	// Called once, by the game mode, before anything is shown
+	void attach(GameEngine engine, IntConsumer handlerCellClick);
+
+
+	// Getter for the node the grid is shown in, to be placed in the scene
+	Node getNode();
+
+
+	// Getters for the size the grid is shown at, in pixels
+	double getWidth();
+	double getHeight();
+
+
+	// Method to show every cell of the engine's grid, i.e. once it has been populated
+	void showGrid();
+
+
+	// Method to show one cell the way the engine now has it: its color, and whether it has been clicked
+	void showCell(int iCell);
+
+
+	// Method to play the fade a tile gets when it is clicked and changes color
+	void flashCell(int iCell);
+
+
+	// Method to click a cell from the code (i.e. a bot), the same as the user would; a clicked cell ignores it
+	void fireCell(int iCell);
+
+
+	// Method to stop any animation, remove every handler and let go of every node; the renderer is not used again
+	void dispose();
+}
+
+
+// The enumeration used to pick how each game mode's grid is drawn
+enum RendererType
+{
+	Buttons,
+	Canvas;
+
+
+	// Method to create a renderer of this type, with the tile size and the gap between tiles of the given layout
+	public GridRenderer create(GridLayout layout)
+	{
+		return this == Canvas ? new CanvasGridRenderer(layout.getTileSize(), layout.getGap()) : new ButtonGridRenderer(layout.getTileSize(), layout.getGap());
+	}
+
+
+	// Method to read a renderer type from a system property (i.e. -Dtiles.renderer.hard=Canvas), or Buttons if it isn't set
+	public static RendererType fromProperty(String strKey)
+	{
+		String strType = System.getProperty(strKey);
+
+		for (RendererType type : values())
+		{
+			if (type.name().equalsIgnoreCase(strType))
+			{
+				return type;
+			}
+		}
+
+		return Buttons;
+	}
+}
+
+
+// The size of a grid's tiles and the gaps between them, worked out to fit the window, and the grid's place in it
+// Up to 6x6, the tiles are the 100px they have always been; past that, they shrink to fit, and so do the gaps
+final class GridLayout
+{
+	// The pixels around a grid, the most between its tiles, and the biggest a tile can be
+	public static final double PADDING = 2;
+	public static final double MAX_GAP = 5;
+	public static final double MAX_TILE_SIZE = 100;
+
+	// The room left around the grid: above it for the timer, and at the other edges of the window
+	public static final double TOP_MARGIN = 90;
+	public static final double MARGIN = 10;
+
+	private final double dTileSize;
+	private final double dGap;
+
+
+	private GridLayout(double dTileSize, double dGap)
+	{
+		this.dTileSize = dTileSize;
+		this.dGap = dGap;
+	}
+
+
+	// Method to work out the layout of a grid of the given size, as big as will fit in the window below the timer
+	// A gap is a tenth of a tile's share of the room, so a large grid is nearly all tiles; past 60 or so tiles
+	// across there is no room for gaps at all, and past 600 or so the tiles are 1px and the grid runs off the window
+	public static GridLayout fit(int iGridSize)
+	{
+		double dRoom = Math.min(MenuFX.WINDOW_WIDTH - 2 * MARGIN, MenuFX.WINDOW_HEIGHT - TOP_MARGIN - MARGIN) - 2 * PADDING;
+		double dGap = Math.min(MAX_GAP, Math.floor(dRoom / iGridSize / 10));
+		double dTileSize = Math.floor((dRoom - (iGridSize - 1) * dGap) / iGridSize);
+
+		return new GridLayout(Math.max(1, Math.min(MAX_TILE_SIZE, dTileSize)), dGap);
+	}
+
+
+	// Method to center a grid's node in the window, below the timer, keeping it centered whenever its size changes
+	// A canvas is already its full size; a gridpane of buttons only knows its size once it has been laid out
+	public static void place(Node nodeGrid)
+	{
+		nodeGrid.layoutBoundsProperty().addListener((obs, boundsOld, boundsNew) -> relocate(nodeGrid, boundsNew));
+		relocate(nodeGrid, nodeGrid.getLayoutBounds());
+	}
+
+
+	// Method to move a grid's node to the center of the window, but no higher than the timer's margin
+	private static void relocate(Node nodeGrid, Bounds bounds)
+	{
+		nodeGrid.relocate(Math.max(0, (MenuFX.WINDOW_WIDTH - bounds.getWidth()) / 2),
+				Math.max(TOP_MARGIN, (MenuFX.WINDOW_HEIGHT - bounds.getHeight()) / 2));
+	}
+
+
+	// Getter for the size of each tile, in pixels
+	public double getTileSize()
+	{
+		return dTileSize;
+	}
+
+
+	// Getter for the gap between tiles, in pixels
+	public double getGap()
+	{
+		return dGap;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+/*
+ * Class: HardGameEngine
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GameEngine
+ *     GameClock
+ *     DifficultyTable
+ *     GameRandom
+ *     ReplayRecorder
+ *
+ * Called by classes:
+ *     HardGameMode
+ *     MonteCarloSimulator
+ *
+ * Description:
+ *     This class holds the rules of the hard, survival 6x6 round. Clicked tiles are not disabled
+ *     here; they change color instead, and the grid also changes on its own over time. The user
+ *     fails by running out of time or clicking a black tile, and wins by surviving 30 seconds.
+ *
+ *     The round can be played on any grid size from 3x3 up. The grid changes the same share of
+ *     its tiles every second at any size, so a 50x50 grid changes about 139 at once, where the
+ *     6x6 grid changes 2; every update is per cell, so the work grows with the number of cells.
+ *
+ * Attrtibutes:
+ *     public static final int HARD_GRID_SIZE - The length and width of the grid, unless told otherwise
+ *     public static final double HARD_START_TIME - The start time of the 6x6 round
+ *     public static final double SURVIVAL_TIME - How long the user must survive to win
+ *     public static final int TILES_PER_UPDATE - How many tiles randomlyUpdateGrid() changes at once on the 6x6 grid
+ *     private final int iTilesPerUpdate - How many tiles randomlyUpdateGrid() changes at once on this grid
+ *
+ *     All other attributes are inherited from the parent class.
+ *
+ * Interesting Methods:
+ *     randomlyPopulateGrid() - Randomly populates the grid initially
+ *     randomlyUpdateTile(int) - Picks a new color for any cell, clicked or not
+ *     randomlyUpdateGrid(int[]) - Picks random cells and updates them
+ *     checkTimeConditions() - Checks for surviving long enough or running out of time
+ *
+ */
+
+
+public class HardGameEngine extends GameEngine
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// Set the grid size, the start time and the winning condition
+	public static final int HARD_GRID_SIZE = 6;
+	public static final double HARD_START_TIME = 12.0;
+	public static final double SURVIVAL_TIME = 30.0;
+
+	// Every time the 6x6 grid updates itself, update 2 tiles at once; other sizes update the same share of their tiles
+	public static final int TILES_PER_UPDATE = 2;
+	private final int iTilesPerUpdate;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the clock shared with the on-screen Timer (or a clock of its own when headless)
+	public HardGameEngine(GameClock clock)
+	{
+		this(clock, DifficultyTable.DEFAULT);
+	}
+
+
+	// Constructor, also taking in the color probabilities to play with
+	public HardGameEngine(GameClock clock, DifficultyTable table)
+	{
+		this(clock, table, new GameRandom());
+	}
+
+
+	// Constructor, also taking in the random numbers to play with
+	public HardGameEngine(GameClock clock, DifficultyTable table, GameRandom random)
+	{
+		this(HARD_GRID_SIZE, clock, table, random);
+	}
+
+
+	// Constructor, also taking in the grid size to play on, 3 or more
+	public HardGameEngine(int iGridSize, GameClock clock, DifficultyTable table, GameRandom random) throws IllegalArgumentException
+	{
+		super(checkGridSize(iGridSize), clock, table, random);
+
+		// Never fewer than on the 6x6 grid, so a small grid still changes
+		iTilesPerUpdate = Math.max(TILES_PER_UPDATE, Math.round((float) TILES_PER_UPDATE * iGridSize * iGridSize / (HARD_GRID_SIZE * HARD_GRID_SIZE)));
+	}
+
+
+	@Override
+	// Randomly populates the grid, just for the first instant
+	// Notice that, unlike easy game mode, the initial population is entirely random, with no hard-coded white or black tiles
+	public void randomlyPopulateGrid()
+	{
+		resetGrid();
+
+		for (int iCell = 0; iCell < grid.getCellCount(); iCell++)
+		{
+			setTileColor(iCell, table.sampleHardInitial(random.nextDouble()));
+		}
+	}
+
+
+	@Override
+	// White tile rule: count it, then the tile changes color
+	protected void whiteTileClick(int iCell)
+	{
+		iNumberOfWhiteTilesClicked++;
+		randomlyUpdateTile(iCell);
+	}
+
+
+	@Override
+	// Green tile rule: add time, then the tile changes color
+	protected void greenTileClick(int iCell)
+	{
+		clock.addTime(GREEN_TILE_BONUS);
+		randomlyUpdateTile(iCell);
+	}
+
+
+	@Override
+	// Red tile rule: take time away, then the tile changes color
+	protected void redTileClick(int iCell)
+	{
+		clock.addTime(-RED_TILE_PENALTY);
+		randomlyUpdateTile(iCell);
+	}
+
+
+	// Method to randomly update any cell, either clicked or unclicked, depending on the percentages for its current color
+	// Notice that black tiles are not excluded, even if they result in instant failure
+	// The percentages are meant to make the hard game mode challenging yet fun; refer to DifficultyTable
+	public void randomlyUpdateTile(int iCell)
+	{
+		setTileColor(iCell, table.sampleHardTransition(grid.getTileColor(iCell), random.nextDouble()));
+	}
+
+
+	// Method to randomly update the grid, called every second while the game is in play
+	// The updated cells are written into arrUpdatedCells (at least getTilesPerUpdate() long) so a view can redraw just those;
+	// returns how many were updated
+	public int randomlyUpdateGrid(int[] arrUpdatedCells)
+	{
+		// As long as the clock is not 0, keep performing this method's logic
+		if (state != EngineState.Playing || clock.getTimeRemaining() <= 0.0)
+		{
+			return 0;
+		}
+
+		// The cells picked come from the random numbers, so only when it happened needs recording
+		if (recorder != null)
+		{
+			recorder.recordGridUpdate(clock.getTimeElapsed());
+		}
+
+		for (int i = 0; i < iTilesPerUpdate; i++)
+		{
+			int iRandWidth = random.nextInt(iGridSize);
+			int iRandHeight = random.nextInt(iGridSize);
+
+			arrUpdatedCells[i] = getCellIndex(iRandWidth, iRandHeight);
+			randomlyUpdateTile(arrUpdatedCells[i]);
+		}
+
+		return iTilesPerUpdate;
+	}
+
+
+	// Getter for how many tiles randomlyUpdateGrid() changes at once, i.e. to size the array it fills
+	public int getTilesPerUpdate()
+	{
+		return iTilesPerUpdate;
+	}
+
+
+	@Override
+	// Method to check for surviving long enough (a win) or running out of time (a failure)
+	protected void checkTimeConditions()
+	{
+		if (clock.getTimeElapsed() >= SURVIVAL_TIME)
+		{
+			state = EngineState.Won;
+			return;
+		}
+
+		super.checkTimeConditions();
+	}
+
+
+	// Getter for the time survived so far
+	public double getTimeSurvived()
+	{
+		return clock.getTimeElapsed();
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+/*
+ * Class: LatencyHistogram
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     None
+ *
+ * Called by classes:
+ *     LatencyMonitor
+ *     SoakTest
+ *
+ * Description:
+ *     This class counts latencies, in nanoseconds, into buckets the same way an HDR histogram does:
+ *     every power of two is split into 32 equal buckets, so any latency from a nanosecond to
+ *     minutes is kept to within about 3% of its true value, in a fixed array of counts. Recording
+ *     a latency is a couple of shifts and an increment; nothing is allocated, so it can be done
+ *     on every click and every frame without the game noticing.
+ *
+ *     It is not thread-safe; LatencyMonitor only ever records on the JavaFX application thread.
+ *
+ * Attrtibutes:
+ *     private static final int SUB_BUCKET_BITS - The buckets per power of two, as a power of two
+ *     private static final int SUB_BUCKETS - The buckets per power of two
+ *     private final long[] arrCounts - The number of latencies in each bucket
+ *     private long lCount - The number of latencies recorded
+ *     private long lMin - The smallest latency recorded
+ *     private long lMax - The largest latency recorded
+ *     private long lSum - The sum of every latency recorded, for the mean
+ *
+ * Interesting Methods:
+ *     record(long) - Counts a latency
+ *     getValueAtPercentile(double) - The latency the given percentage of the recorded ones are at or under
+ *
+ */
+
+
+// Imports
+import java.util.Arrays;
+
+
+public class LatencyHistogram
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// 32 buckets per power of two, so a bucket is never wider than 1/32 of the values in it
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	// The counts, and a few numbers kept exactly
+	private final long[] arrCounts = new long[getBucketIndex(Long.MAX_VALUE) + 1];
+	private long lCount = 0;
+	private long lMin = Long.MAX_VALUE;
+	private long lMax = 0;
+	private long lSum = 0;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Method to count a latency, in nanoseconds; a negative one (which the clock should never give) is counted as 0
+	public void record(long lNanos)
+	{
+		lNanos = Math.max(0, lNanos);
+
+		arrCounts[getBucketIndex(lNanos)]++;
+		lCount++;
+		lSum += lNanos;
+		lMin = Math.min(lMin, lNanos);
+		lMax = Math.max(lMax, lNanos);
+	}
+
+
+	// Method to find the bucket of a value: the values under 32 have one each, then every power of two is split into 32
+	private static int getBucketIndex(long lValue)
+	{
+		if (lValue < SUB_BUCKETS)
+		{
+			return (int) lValue;
+		}
+
+		int iPower = 63 - Long.numberOfLeadingZeros(lValue);
+		int iShift = iPower - SUB_BUCKET_BITS;
+
+		return SUB_BUCKETS + iShift * SUB_BUCKETS + (int) ((lValue >>> iShift) - SUB_BUCKETS);
+	}
+
+
+	// Method to get the highest value that falls in a bucket
+	private static long getBucketTop(int iBucket)
+	{
+		if (iBucket < SUB_BUCKETS)
+		{
+			return iBucket;
+		}
+
+		int iShift = (iBucket - SUB_BUCKETS) / SUB_BUCKETS;
+		long lBottom = (long) (SUB_BUCKETS + (iBucket - SUB_BUCKETS) % SUB_BUCKETS) << iShift;
+
+		return lBottom + (1L << iShift) - 1;
+	}
+
+
+	// Method to get the latency the given percentage (0 to 100) of the recorded ones are at or under, or 0 if there are none
+	// The answer is the top of its bucket, so it is never under the true value; it is never over the largest latency, either
+	public long getValueAtPercentile(double dPercentile)
+	{
+		if (lCount == 0)
+		{
+			return 0;
+		}
+
+		long lRank = Math.max(1, (long) Math.ceil(dPercentile / 100 * lCount));
+		long lSeen = 0;
+
+		for (int i = 0; i < arrCounts.length; i++)
+		{
+			lSeen += arrCounts[i];
+
+			if (lSeen >= lRank)
+			{
+				return Math.min(getBucketTop(i), lMax);
+			}
+		}
+
+		return lMax;
+	}
+
+
+	// Method to forget every latency recorded so far
+	public void reset()
+	{
+		Arrays.fill(arrCounts, 0);
+		lCount = 0;
+		lMin = Long.MAX_VALUE;
+		lMax = 0;
+		lSum = 0;
+	}
+
+
+	// Method to write out every bucket with anything in it, one per line: the top of the bucket in milliseconds, then its count
+	public void appendBuckets(StringBuilder sbOut)
+	{
+		for (int i = 0; i < arrCounts.length; i++)
+		{
+			if (arrCounts[i] > 0)
+			{
+				sbOut.append(String.format("    %.4f %d%n", getBucketTop(i) / 1e6, arrCounts[i]));
+			}
+		}
+	}
+
+
+	// Getter for the number of latencies recorded
+	public long getCount()
+	{
+		return lCount;
+	}
+
+
+	// Getter for the smallest latency recorded, or 0 if there are none
+	public long getMin()
+	{
+		return lCount == 0 ? 0 : lMin;
+	}
+
+
+	// Getter for the largest latency recorded
+	public long getMax()
+	{
+		return lMax;
+	}
+
+
+	// Getter for the mean of the latencies recorded, or 0 if there are none
+	public double getMean()
+	{
+		return lCount == 0 ? 0 : (double) lSum / lCount;
+	}
+
+
+	@Override
+	// Method to sum up the histogram in milliseconds: its count, then p50, p99, p99.9 and the largest
+	public String toString()
+	{
+		return String.format("n=%d p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms", lCount,
+				getValueAtPercentile(50) / 1e6, getValueAtPercentile(99) / 1e6, getValueAtPercentile(99.9) / 1e6, lMax / 1e6);
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,328 @@
+/*
+ * Class: LatencyMonitor
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     LatencyHistogram
+ *
+ * Called by classes:
+ *     MenuFX
+ *     GameFX
+ *     GameMode
+ *     HardGameMode
+ *     SoakTest
+ *
+ * Description:
+ *     This class measures how long the game takes to respond, from a click to the frame that
+ *     shows it. A click is timestamped when the scene first receives it (the mouse or touch being
+ *     released, which is what fires a button), again when the game's click handler is entered,
+ *     again at the start of the next pulse (through an AnimationTimer), and last once that pulse
+ *     has laid out the scene (through the scene's post-layout pulse listener), which is the last
+ *     point before JavaFX renders it. The hard mode grid updating itself is timestamped when it
+ *     changes the tiles and again once that is laid out. Every step goes into a LatencyHistogram,
+ *     as does the time between frames.
+ *
+ *     Everything happens on the JavaFX application thread. Until attach() is called, the marks
+ *     the game modes make do nothing but check a flag, and the AnimationTimer only runs while a
+ *     click or update is waiting for its pulse, so an idle menu is not made to draw frames.
+ *
+ *     F3 shows the p50, p99 and p99.9 of each step over the game, refreshed twice a second;
+ *     every histogram is dumped to latency.txt when the game exits.
+ *
+ * Attrtibutes:
+ *     public static final String LATENCY_FILE - The file the histograms are dumped to
+ *     private static final long STATS_REFRESH_NANOS - How often the stats on screen are refreshed
+ *     private static final long MAX_FRAME_NANOS - The longest gap between pulses counted as a frame
+ *     private static final LatencyHistogram[] arrHistograms - One histogram per LatencyMetric
+ *     private static boolean bAttached - Whether a scene is being measured
+ *     private static long lInputNanos - When the pending click was received, or 0
+ *     private static long lHandlerNanos - When the pending click reached the game's handler, or 0
+ *     private static long lUpdateNanos - When the pending grid update changed the tiles, or 0
+ *     private static long lLastLayoutNanos - When the last pulse was laid out
+ *     private static long lLastRefreshNanos - When the stats on screen were last refreshed
+ *     private static AnimationTimer timerPulse - Timestamps the start of the pulse after a click
+ *     private static Label labelStats - The stats on screen
+ *
+ * Interesting Methods:
+ *     attach(Scene) - Starts measuring the given scene
+ *     markHandlerEntry() - Called by the game's click handler
+ *     markSceneUpdate() - Called once the hard mode grid has changed its tiles
+ *     dump(Path) - Writes every histogram to a file
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.TouchEvent;
+import javafx.scene.paint.Color;
+
+
+public class LatencyMonitor
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// Where the histograms go when the game exits
+	public static final String LATENCY_FILE = "latency.txt";
+
+	// The stats on screen are refreshed twice a second; gaps between pulses of over a second are the game sitting idle, not frames
+	private static final long STATS_REFRESH_NANOS = 500_000_000L;
+	private static final long MAX_FRAME_NANOS = 1_000_000_000L;
+
+	// One histogram per step
+	private static final LatencyHistogram[] arrHistograms = new LatencyHistogram[LatencyMetric.values().length];
+
+	// What is waiting on the next pulse; 0 is nothing
+	private static boolean bAttached = false;
+	private static long lInputNanos = 0;
+	private static long lHandlerNanos = 0;
+	private static long lUpdateNanos = 0;
+	private static long lLastLayoutNanos = 0;
+	private static long lLastRefreshNanos = 0;
+
+	// Started after a click, and stopped once the pulse it is waiting on has come
+	private static AnimationTimer timerPulse = null;
+
+	// The stats, shown over the game with F3
+	private static Label labelStats = null;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Create the histograms up front, so recording never allocates
+	static
+	{
+		for (int i = 0; i < arrHistograms.length; i++)
+		{
+			arrHistograms[i] = new LatencyHistogram();
+		}
+	}
+
+
+	// Method to start measuring a scene: its clicks and touches, and the end of every pulse's layout
+	// The scene lasts as long as the window, so nothing is ever detached
+	public static void attach(Scene scene)
+	{
+		scene.addEventFilter(MouseEvent.MOUSE_RELEASED, e -> markInput());
+		scene.addEventFilter(TouchEvent.TOUCH_RELEASED, e -> markInput());
+		scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> toggleStats(e));
+		scene.addPostLayoutPulseListener(LatencyMonitor::markLayout);
+
+		timerPulse = new AnimationTimer()
+		{
+			@Override
+			public void handle(long lNow)
+			{
+				markPulse();
+			}
+		};
+
+		bAttached = true;
+	}
+
+
+	// Method run as the scene receives a click or touch; the first one waiting on a pulse is the one timed
+	private static void markInput()
+	{
+		if (lInputNanos == 0)
+		{
+			lInputNanos = System.nanoTime();
+			timerPulse.start();
+		}
+	}
+
+
+	// Method run as the game's click handler is entered
+	// A click fired by the code (i.e. a bot, through GridRenderer.fireCell()) has no input before it, so only the steps after this one are timed
+	public static void markHandlerEntry()
+	{
+		if (!bAttached || lHandlerNanos != 0)
+		{
+			return;
+		}
+
+		lHandlerNanos = System.nanoTime();
+
+		if (lInputNanos != 0)
+		{
+			arrHistograms[LatencyMetric.InputToHandler.ordinal()].record(lHandlerNanos - lInputNanos);
+		}
+
+		timerPulse.start();
+	}
+
+
+	// Method run once the hard mode grid has changed its tiles in the scene graph
+	public static void markSceneUpdate()
+	{
+		if (bAttached && lUpdateNanos == 0)
+		{
+			lUpdateNanos = System.nanoTime();
+		}
+	}
+
+
+	// Method run at the start of the pulse after a click, by the AnimationTimer, which is then stopped until the next click
+	private static void markPulse()
+	{
+		long lNow = System.nanoTime();
+
+		if (lHandlerNanos != 0)
+		{
+			arrHistograms[LatencyMetric.HandlerToPulse.ordinal()].record(lNow - lHandlerNanos);
+		}
+
+		timerPulse.stop();
+	}
+
+
+	// Method run once a pulse has laid out the scene, right before it is rendered
+	// Everything waiting on it is timed and cleared, and the time since the last pulse is counted as a frame
+	private static void markLayout()
+	{
+		long lNow = System.nanoTime();
+
+		if (lInputNanos != 0)
+		{
+			arrHistograms[LatencyMetric.InputToLayout.ordinal()].record(lNow - lInputNanos);
+			lInputNanos = 0;
+		}
+
+		if (lHandlerNanos != 0)
+		{
+			arrHistograms[LatencyMetric.HandlerToLayout.ordinal()].record(lNow - lHandlerNanos);
+			lHandlerNanos = 0;
+		}
+
+		if (lUpdateNanos != 0)
+		{
+			arrHistograms[LatencyMetric.UpdateToLayout.ordinal()].record(lNow - lUpdateNanos);
+			lUpdateNanos = 0;
+		}
+
+		if (lLastLayoutNanos != 0 && lNow - lLastLayoutNanos < MAX_FRAME_NANOS)
+		{
+			arrHistograms[LatencyMetric.FrameTime.ordinal()].record(lNow - lLastLayoutNanos);
+		}
+
+		lLastLayoutNanos = lNow;
+
+		// Changing the label makes another pulse, so it is only done every so often, and only while it is showing
+		if (labelStats != null && labelStats.isVisible() && lNow - lLastRefreshNanos > STATS_REFRESH_NANOS)
+		{
+			labelStats.setText(getSummary());
+			lLastRefreshNanos = lNow;
+		}
+	}
+
+
+	// Method to show or hide the stats on F3
+	private static void toggleStats(KeyEvent e)
+	{
+		if (e.getCode() == KeyCode.F3)
+		{
+			getStatsLabel().setVisible(!getStatsLabel().isVisible());
+			lLastRefreshNanos = 0;
+		}
+	}
+
+
+	// Getter for the label the stats are shown in, creating it the first time
+	// GameFX puts it over the game; it is hidden until F3 is pressed, and never takes a click
+	public static Label getStatsLabel()
+	{
+		if (labelStats == null)
+		{
+			labelStats = new Label();
+			labelStats.setVisible(false);
+			labelStats.setMouseTransparent(true);
+			labelStats.setTextFill(Color.WHITE);
+			labelStats.setStyle("-fx-background-color: rgba(0, 0, 0, .6); -fx-font-family: monospace; -fx-font-size: 0.9em; -fx-padding: 4");
+			labelStats.relocate(5, 5);
+		}
+
+		return labelStats;
+	}
+
+
+	// Method to sum up every histogram, one line each
+	public static String getSummary()
+	{
+		StringBuilder sbSummary = new StringBuilder();
+
+		for (LatencyMetric metric : LatencyMetric.values())
+		{
+			sbSummary.append(String.format("%-18s %s%n", metric.getLabel(), arrHistograms[metric.ordinal()]));
+		}
+
+		return sbSummary.toString().trim();
+	}
+
+
+	// Method to write every histogram to a file: the summary, then each histogram's buckets
+	public static void dump(Path pathDump) throws IOException
+	{
+		StringBuilder sbDump = new StringBuilder(getSummary()).append(System.lineSeparator());
+
+		for (LatencyMetric metric : LatencyMetric.values())
+		{
+			sbDump.append(System.lineSeparator()).append(metric.getLabel()).append(" (bucket top in ms, count)").append(System.lineSeparator());
+			arrHistograms[metric.ordinal()].appendBuckets(sbDump);
+		}
+
+		Files.write(pathDump, sbDump.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+
+	// Getter for a step's histogram
+	public static LatencyHistogram getHistogram(LatencyMetric metric)
+	{
+		return arrHistograms[metric.ordinal()];
+	}
+
+
+}
+
+
+// The enumeration used for the steps LatencyMonitor times, each with its own histogram
+enum LatencyMetric
+{
+	InputToHandler("input -> handler"),
+	HandlerToPulse("handler -> pulse"),
+	HandlerToLayout("handler -> layout"),
+	InputToLayout("input -> layout"),
+	UpdateToLayout("update -> layout"),
+	FrameTime("frame time");
+
+
+	// The label shown on screen and in the dump
+	private final String strLabel;
+
+
+	private LatencyMetric(String strLabel)
+	{
+		this.strLabel = strLabel;
+	}
+
+
+	// Getter for the label
+	public String getLabel()
+	{
+		return strLabel;
+	}
+}
\ No newline at end of file
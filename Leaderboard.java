@@ -0,0 +1,360 @@
+/*
+ * Class: Leaderboard
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     ScoreRecord
+ *     ScoreLog
+ * 
+ * Called by classes:
+ *     SaveUserInfo
+ *     MenuFX
+ *     ReplayArchive
+ * 
+ * Description:
+ *     This class keeps the best scores in the score log: the top K by time survived, the top K by 
+ *     white tiles clicked, and every player's own best of each. The top K are kept in bounded 
+ *     heaps (the worst of the K on top, to be pushed out by anything better), so a new score costs
+ *     O(log K), and nothing is ever sorted but the K scores being shown.
+ * 
+ *     The leaderboard remembers how many records of the log it has seen, and is saved to a small
+ *     snapshot file beside the log. When the game starts, the snapshot is loaded and only the
+ *     records appended since it was saved are read from the log, instead of the whole history.
+ *     The snapshot also keeps a CRC32 checksum of the last record it has seen, so a snapshot that
+ *     does not belong to the log beside it (one replaced or rewritten since) is not trusted.
+ * 
+ *     Scores are ranked by time survived, then by whites clicked, then the earlier score first;
+ *     or, for the whites clicked board, by whites clicked, then time survived, then the earlier.
+ * 
+ * Attrtibutes:
+ *     public static final String SNAPSHOT_SUFFIX - Added to the log's name for the snapshot file
+ *     public static final Comparator<ScoreRecord> BY_TIME - Ranks scores by time survived, best first
+ *     public static final Comparator<ScoreRecord> BY_WHITES - Ranks scores by whites clicked, best first
+ *     private static final int SNAPSHOT_MAGIC - The first 4 bytes of a snapshot file
+ *     private final int iTopK - How many scores each top list holds
+ *     private final PriorityQueue<ScoreRecord> heapTopByTime - The top K by time, worst on top
+ *     private final PriorityQueue<ScoreRecord> heapTopByWhites - The top K by whites, worst on top
+ *     private final Map<String, ScoreRecord> mapBestByTime - Each player's best by time, by name
+ *     private final Map<String, ScoreRecord> mapBestByWhites - Each player's best by whites, by name
+ *     private int iRecordsSeen - How many records of the log have been added
+ *     private int iLastSeenCrc - The checksum of the last record of the log added, or 0 if none has been
+ * 
+ * Interesting Methods:
+ *     add(ScoreRecord) - Adds a score, keeping only the top K and each player's best
+ *     catchUp(ScoreLog) - Adds every record appended to the log since the last catch up
+ *     load(String, ScoreLog) - Loads the snapshot beside a log (or starts empty), then catches up
+ *     save(String) - Saves the snapshot beside a log
+ * 
+ */
+
+
+// Imports
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.zip.CRC32;
+
+
+public class Leaderboard
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	// The snapshot is named after the log, i.e. scores.dat and scores.dat.top
+	public static final String SNAPSHOT_SUFFIX = ".top";
+	
+	// The two rankings, best first; ties go to the earlier score
+	public static final Comparator<ScoreRecord> BY_TIME = Comparator.comparingDouble(ScoreRecord::getTimeSurvived).reversed()
+			.thenComparing(Comparator.comparingInt(ScoreRecord::getWhitesClicked).reversed())
+			.thenComparingLong(ScoreRecord::getTimestamp);
+	public static final Comparator<ScoreRecord> BY_WHITES = Comparator.comparingInt(ScoreRecord::getWhitesClicked).reversed()
+			.thenComparing(Comparator.comparingDouble(ScoreRecord::getTimeSurvived).reversed())
+			.thenComparingLong(ScoreRecord::getTimestamp);
+	
+	// "TST2", the first 4 bytes of a snapshot
+	// Snapshots from before the last record's checksum was kept began with "TSTP", so they are rebuilt from the log
+	private static final int SNAPSHOT_MAGIC = 0x54535432;
+	
+	// The top K of each ranking, with the worst of them on top of the heap
+	private final int iTopK;
+	private final PriorityQueue<ScoreRecord> heapTopByTime;
+	private final PriorityQueue<ScoreRecord> heapTopByWhites;
+	
+	// Each player's best of each ranking
+	private final Map<String, ScoreRecord> mapBestByTime = new HashMap<>();
+	private final Map<String, ScoreRecord> mapBestByWhites = new HashMap<>();
+	
+	// How far into the log the leaderboard is, and the checksum of the last record it added from there
+	private int iRecordsSeen = 0;
+	private int iLastSeenCrc = 0;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// Constructor, taking in how many scores each top list holds
+	public Leaderboard(int iTopK) throws IllegalArgumentException
+	{
+		if (iTopK < 1)
+		{
+			throw new IllegalArgumentException("A leaderboard must hold at least one score.");
+		}
+		
+		this.iTopK = iTopK;
+		heapTopByTime = new PriorityQueue<>(iTopK + 1, BY_TIME.reversed());
+		heapTopByWhites = new PriorityQueue<>(iTopK + 1, BY_WHITES.reversed());
+	}
+	
+	
+	// Method to load the leaderboard for a log: the snapshot beside it, if it has one that fits the log, then any records after it
+	// If there is no snapshot, or it is from a different (or shortened) log, the leaderboard is built from the whole log
+	// A snapshot fits the log if the log has at least as many records, and its record at the snapshot's last one has the same checksum
+	public static Leaderboard load(String strLogFileName, ScoreLog log, int iTopK) throws IOException
+	{
+		Leaderboard leaderboard = new Leaderboard(iTopK);
+		
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(strLogFileName + SNAPSHOT_SUFFIX)))))
+		{
+			leaderboard.readSnapshot(in);
+			
+			if (leaderboard.iRecordsSeen > log.size() 
+					|| (leaderboard.iRecordsSeen > 0 && getRecordCrc(log.read(leaderboard.iRecordsSeen - 1)) != leaderboard.iLastSeenCrc))
+			{
+				leaderboard = new Leaderboard(iTopK);
+			}
+		}
+		catch (NoSuchFileException e)
+		{
+			// No snapshot yet; build it from the whole log
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			// A damaged snapshot; it is only a cache, so start over and build it from the whole log
+			leaderboard = new Leaderboard(iTopK);
+		}
+		
+		leaderboard.catchUp(log);
+		return leaderboard;
+	}
+	
+	
+	// Method to add every record appended to the log since the last catch up, returning how many were added
+	public synchronized int catchUp(ScoreLog log) throws IOException
+	{
+		int iAdded = 0;
+		
+		while (iRecordsSeen < log.size())
+		{
+			ScoreRecord record = log.read(iRecordsSeen);
+			add(record);
+			iRecordsSeen++;
+			iLastSeenCrc = getRecordCrc(record);
+			iAdded++;
+		}
+		
+		return iAdded;
+	}
+	
+	
+	// Method to add a score to the leaderboard, keeping only the top K and each player's best
+	// Does not count as a record seen in the log; scores from the log are added through catchUp()
+	public synchronized void add(ScoreRecord record)
+	{
+		offer(heapTopByTime, BY_TIME, record);
+		offer(heapTopByWhites, BY_WHITES, record);
+		
+		String strPlayer = getPlayerKey(record.getName());
+		mapBestByTime.merge(strPlayer, record, (recordOld, recordNew) -> BY_TIME.compare(recordNew, recordOld) < 0 ? recordNew : recordOld);
+		mapBestByWhites.merge(strPlayer, record, (recordOld, recordNew) -> BY_WHITES.compare(recordNew, recordOld) < 0 ? recordNew : recordOld);
+	}
+	
+	
+	// Method to offer a score to a bounded heap; once the heap is full, it only gets in by beating the worst score there
+	private void offer(PriorityQueue<ScoreRecord> heap, Comparator<ScoreRecord> ranking, ScoreRecord record)
+	{
+		if (heap.size() < iTopK)
+		{
+			heap.add(record);
+		}
+		else if (ranking.compare(record, heap.peek()) < 0)
+		{
+			heap.poll();
+			heap.add(record);
+		}
+	}
+	
+	
+	// Method to turn a name into the key a player's best scores are kept under; names are matched ignoring case and spaces around them
+	static String getPlayerKey(String strName)
+	{
+		return strName.trim().toLowerCase();
+	}
+	
+	
+	// Getter for the top K by time survived, best first
+	public synchronized List<ScoreRecord> getTopByTime()
+	{
+		return sorted(heapTopByTime, BY_TIME);
+	}
+	
+	
+	// Getter for the top K by white tiles clicked, best first
+	public synchronized List<ScoreRecord> getTopByWhites()
+	{
+		return sorted(heapTopByWhites, BY_WHITES);
+	}
+	
+	
+	// Getter for a player's best score by time survived, or null if they have none
+	public synchronized ScoreRecord getPlayerBestByTime(String strName)
+	{
+		return mapBestByTime.get(getPlayerKey(strName));
+	}
+	
+	
+	// Getter for a player's best score by white tiles clicked, or null if they have none
+	public synchronized ScoreRecord getPlayerBestByWhites(String strName)
+	{
+		return mapBestByWhites.get(getPlayerKey(strName));
+	}
+	
+	
+	// Getter for how many records of the log have been added
+	public synchronized int getRecordsSeen()
+	{
+		return iRecordsSeen;
+	}
+	
+	
+	// Method to work out the CRC32 checksum of a score's encoding, which is how a snapshot recognizes the log it was saved from
+	private static int getRecordCrc(ScoreRecord record)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(record.getEncodedLength());
+		record.writeTo(buffer);
+		
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, buffer.capacity());
+		return (int) crc.getValue();
+	}
+	
+	
+	// Method to copy and sort a collection of scores; only ever called on the K scores of a top list
+	private static List<ScoreRecord> sorted(Collection<ScoreRecord> collection, Comparator<ScoreRecord> ranking)
+	{
+		List<ScoreRecord> list = new ArrayList<>(collection);
+		list.sort(ranking);
+		return list;
+	}
+	
+	
+	// Method to save the snapshot beside a log
+	// Written to a temporary file first and then moved over the old one, so a crash never leaves half a snapshot
+	public synchronized void save(String strLogFileName) throws IOException
+	{
+		Path pathSnapshot = Paths.get(strLogFileName + SNAPSHOT_SUFFIX);
+		Path pathTemp = Paths.get(strLogFileName + SNAPSHOT_SUFFIX + ".tmp");
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(pathTemp))))
+		{
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(iRecordsSeen);
+			out.writeInt(iLastSeenCrc);
+			writeRecords(out, heapTopByTime);
+			writeRecords(out, heapTopByWhites);
+			writeRecords(out, mapBestByTime.values());
+			writeRecords(out, mapBestByWhites.values());
+		}
+		
+		Files.move(pathTemp, pathSnapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	
+	// Method to read a snapshot saved by save()
+	// Every score in it is added again, so a snapshot saved with a different K still works
+	private void readSnapshot(DataInputStream in) throws IOException, IllegalArgumentException
+	{
+		if (in.readInt() != SNAPSHOT_MAGIC)
+		{
+			throw new IOException("This is not a leaderboard snapshot.");
+		}
+		
+		int iSnapshotRecordsSeen = in.readInt();
+		int iSnapshotLastSeenCrc = in.readInt();
+		
+		for (ScoreRecord record : readRecords(in))
+		{
+			offer(heapTopByTime, BY_TIME, record);
+		}
+		
+		for (ScoreRecord record : readRecords(in))
+		{
+			offer(heapTopByWhites, BY_WHITES, record);
+		}
+		
+		for (ScoreRecord record : readRecords(in))
+		{
+			mapBestByTime.put(getPlayerKey(record.getName()), record);
+		}
+		
+		for (ScoreRecord record : readRecords(in))
+		{
+			mapBestByWhites.put(getPlayerKey(record.getName()), record);
+		}
+		
+		iRecordsSeen = iSnapshotRecordsSeen;
+		iLastSeenCrc = iSnapshotLastSeenCrc;
+	}
+	
+	
+	// Method to write a count, then every score, each preceded by its length
+	private static void writeRecords(DataOutputStream out, Collection<ScoreRecord> collection) throws IOException
+	{
+		out.writeInt(collection.size());
+		
+		for (ScoreRecord record : collection)
+		{
+			ByteBuffer buffer = ByteBuffer.allocate(record.getEncodedLength());
+			record.writeTo(buffer);
+			
+			out.writeShort(buffer.capacity());
+			out.write(buffer.array());
+		}
+	}
+	
+	
+	// Method to read scores written by writeRecords()
+	private static List<ScoreRecord> readRecords(DataInputStream in) throws IOException, IllegalArgumentException
+	{
+		int iCount = in.readInt();
+		List<ScoreRecord> list = new ArrayList<>();
+		
+		for (int i = 0; i < iCount; i++)
+		{
+			byte[] arrBytes = new byte[in.readUnsignedShort()];
+			in.readFully(arrBytes);
+			list.add(ScoreRecord.readFrom(ByteBuffer.wrap(arrBytes)));
+		}
+		
+		return list;
+	}
+	
+	
+}
\ No newline at end of file
@@ -0,0 +1,536 @@
+/*
+ * Class: LegacyScoreImporter
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     ScoreLog
+ *     ScoreRecord
+ *     Leaderboard
+ *
+ * Called by classes:
+ *     None (run on its own, through main())
+ *
+ * Description:
+ *     This class imports a scores.txt, written by the game before it kept a score log, into a
+ *     score log. Every user-instance block in it looks like this, with a blank line or two in
+ *     between (and \r\n line endings, if it was written on Windows):
+ *
+ *         <-> ----- LOSER - OUT OF TIME ----- <->
+ *         NAME: Tyler Procko
+ *         WHITE TILES CLICKED: 15
+ *         TIME SURVIVED: 15.05 seconds
+ *         <-> ------------------------------- <->
+ *
+ *     These files can be hundreds of megabytes, so they are never read into memory whole. The
+ *     file is split into chunks of a few megabytes, which are read through a small buffer and
+ *     parsed byte by byte on the fork/join pool, a few chunks at a time. A chunk owns every block
+ *     whose header line starts inside of it, so a chunk skips ahead to its first header and reads
+ *     on past its end to finish its last block. The chunks' records are appended to the log in
+ *     the same order as the file, one group per chunk, so only the chunks in flight are ever
+ *     held in memory.
+ *
+ *     The old file has no dates, so every imported record is stamped 0. A block that can't be
+ *     made sense of is skipped and counted. Importing the same file twice imports its scores
+ *     twice, and it should not be run while the game is open, since the game writes to the same
+ *     score log.
+ *
+ * Attrtibutes:
+ *     public static final String LEGACY_SCORES_FILE - The file the game used to write
+ *     public static final int CHUNK_BYTES - The size of the chunks the file is split into
+ *     private static final int READ_BUFFER_BYTES - The size of each chunk's read buffer
+ *     private static final int MAX_LINE_BYTES - The most of a line that is kept; the rest is dropped
+ *     private static final byte[] HEADER_PREFIX - The start of a user-instance block header
+ *     private static final byte[] HEADER_SUFFIX - The end of a user-instance block header
+ *     private static final byte[] FOOTER_PREFIX - The start of a user-instance block footer
+ *     private static final byte[] NAME_PREFIX - The start of the name line
+ *     private static final byte[] WHITES_PREFIX - The start of the white tiles clicked line
+ *     private static final byte[] TIME_PREFIX - The start of the time survived line
+ *     private static final UserFinishType[] FINISH_TYPES - UserFinishType.values(), cached
+ *     private static final byte[][] FINISH_LABELS - The header label of each finish type
+ *     private Charset charset - The character set the names were written in
+ *     private ForkJoinPool pool - The pool the chunks are parsed on
+ *     private int iImported - The records imported by the last import
+ *     private int iSkipped - The blocks skipped by the last import
+ *
+ * Interesting Methods:
+ *     importScores(Path, ScoreLog) - Imports a whole file, in order, into a score log
+ *     parseChunk(FileChannel, long, long) - Parses the blocks whose headers start in one chunk
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+
+public class LegacyScoreImporter
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The file scores used to be written to
+	public static final String LEGACY_SCORES_FILE = "scores.txt";
+
+	// A chunk is 4 MB, read 64 KB at a time; no line the game wrote comes close to 4 KB
+	public static final int CHUNK_BYTES = 4 << 20;
+	private static final int READ_BUFFER_BYTES = 64 << 10;
+	private static final int MAX_LINE_BYTES = 4 << 10;
+
+	// The pieces of a user-instance block; the header and footer only differ at their tenth character
+	private static final byte[] HEADER_PREFIX = "<-> ----- ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] HEADER_SUFFIX = " ----- <->".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] FOOTER_PREFIX = "<-> ------".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NAME_PREFIX = "NAME: ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] WHITES_PREFIX = "WHITE TILES CLICKED: ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] TIME_PREFIX = "TIME SURVIVED: ".getBytes(StandardCharsets.US_ASCII);
+
+	// The finish types and their header labels, indexed by ordinal
+	private static final UserFinishType[] FINISH_TYPES = UserFinishType.values();
+	private static final byte[][] FINISH_LABELS = new byte[FINISH_TYPES.length][];
+
+	static
+	{
+		for (int i = 0; i < FINISH_TYPES.length; i++)
+		{
+			FINISH_LABELS[i] = FINISH_TYPES[i].getLabel().getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+
+	// How the file is read
+	private Charset charset;
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	// What the last import did
+	private int iImported = 0;
+	private int iSkipped = 0;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the character set the names were written in
+	// The game wrote scores.txt with a FileWriter, so that is the platform's default on the machine it ran on
+	public LegacyScoreImporter(Charset charset)
+	{
+		this.charset = charset;
+	}
+
+
+	// Method to import a whole file into a score log, returning how many records were imported
+	// A few chunks are parsed at once, and each is appended as soon as every chunk before it has been
+	// If it fails partway, the chunks appended so far stay in the log
+	public int importScores(Path pathLegacy, ScoreLog log) throws IOException
+	{
+		iImported = 0;
+		iSkipped = 0;
+
+		try (FileChannel channel = FileChannel.open(pathLegacy, StandardOpenOption.READ))
+		{
+			long lSize = channel.size();
+			long lNextChunk = 0;
+			int iInFlight = 2 * pool.getParallelism();
+			Deque<CompletableFuture<ChunkParser>> queueChunks = new ArrayDeque<>();
+
+			while (lNextChunk < lSize || !queueChunks.isEmpty())
+			{
+				// Keep a few chunks ahead of the one being appended
+				while (queueChunks.size() < iInFlight && lNextChunk < lSize)
+				{
+					long lStart = lNextChunk;
+					long lEnd = Math.min(lSize, lStart + CHUNK_BYTES);
+
+					queueChunks.add(CompletableFuture.supplyAsync(() -> parseChunk(channel, lStart, lEnd), pool));
+					lNextChunk = lEnd;
+				}
+
+				ChunkParser chunk = join(queueChunks.poll());
+
+				if (!chunk.listRecords.isEmpty())
+				{
+					log.appendAll(chunk.listRecords);
+				}
+
+				iImported += chunk.listRecords.size();
+				iSkipped += chunk.iSkipped;
+			}
+		}
+
+		return iImported;
+	}
+
+
+	// Method to wait on a chunk, turning a failed read back into its IOException
+	private static ChunkParser join(CompletableFuture<ChunkParser> future) throws IOException
+	{
+		try
+		{
+			return future.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+
+			throw e;
+		}
+	}
+
+
+	// Method to parse the blocks whose header lines start between lStart and lEnd
+	// Run on the pool; FileChannel's positional reads can be shared between threads
+	private ChunkParser parseChunk(FileChannel channel, long lStart, long lEnd)
+	{
+		ChunkParser chunk = new ChunkParser(lEnd);
+
+		try
+		{
+			chunk.parse(channel, lStart);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+
+		return chunk;
+	}
+
+
+	// Getter for how many records the last import imported
+	public int getImported()
+	{
+		return iImported;
+	}
+
+
+	// Getter for how many blocks the last import skipped
+	public int getSkipped()
+	{
+		return iSkipped;
+	}
+
+
+	// Method to check whether a line starts with the given bytes
+	private static boolean startsWith(byte[] arrLine, int iLength, byte[] arrPrefix)
+	{
+		if (iLength < arrPrefix.length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < arrPrefix.length; i++)
+		{
+			if (arrLine[i] != arrPrefix[i])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	// Method to read a whole number written in ASCII digits, or -1 if it isn't one (or is too long to be a score)
+	private static int parseWholeNumber(byte[] arrLine, int iFrom, int iTo)
+	{
+		if (iTo <= iFrom || iTo - iFrom > 9)
+		{
+			return -1;
+		}
+
+		int iValue = 0;
+
+		for (int i = iFrom; i < iTo; i++)
+		{
+			if (arrLine[i] < '0' || arrLine[i] > '9')
+			{
+				return -1;
+			}
+
+			iValue = iValue * 10 + (arrLine[i] - '0');
+		}
+
+		return iValue;
+	}
+
+
+	// Method to read the time survived, i.e. "15.05 seconds", or -1 if it isn't one
+	// The game wrote it with String.format(), so the decimal separator may be a comma, depending on where it was played
+	private static double parseTimeSurvived(byte[] arrLine, int iFrom, int iTo)
+	{
+		int iEnd = iFrom;
+
+		while (iEnd < iTo && arrLine[iEnd] != ' ')
+		{
+			iEnd++;
+		}
+
+		int iSeparator = iFrom;
+
+		while (iSeparator < iEnd && arrLine[iSeparator] != '.' && arrLine[iSeparator] != ',')
+		{
+			iSeparator++;
+		}
+
+		int iWhole = parseWholeNumber(arrLine, iFrom, iSeparator);
+
+		if (iWhole < 0)
+		{
+			return -1;
+		}
+
+		if (iSeparator == iEnd)
+		{
+			return iWhole;
+		}
+
+		int iFraction = parseWholeNumber(arrLine, iSeparator + 1, iEnd);
+
+		if (iFraction < 0)
+		{
+			return -1;
+		}
+
+		return iWhole + iFraction / Math.pow(10, iEnd - iSeparator - 1);
+	}
+
+
+	// Imports a scores.txt into a score log, then brings the log's leaderboard up to date
+	// Arguments (all optional): the scores.txt to import, the score log to import it into, the character set the names were written in
+	public static void main(String[] args) throws IOException
+	{
+		String strLegacyFile = args.length > 0 ? args[0] : LEGACY_SCORES_FILE;
+		String strLogFile = args.length > 1 ? args[1] : SaveUserInfo.SCORES_FILE;
+		Charset charset = args.length > 2 ? Charset.forName(args[2]) : Charset.defaultCharset();
+
+		LegacyScoreImporter importer = new LegacyScoreImporter(charset);
+		long lStart = System.nanoTime();
+
+		try (ScoreLog log = new ScoreLog(strLogFile))
+		{
+			importer.importScores(Paths.get(strLegacyFile), log);
+			Leaderboard.load(strLogFile, log, SaveUserInfo.LEADERBOARD_SIZE).save(strLogFile);
+		}
+
+		System.out.println("Imported " + importer.getImported() + " scores from " + strLegacyFile + " into " + strLogFile
+				+ " (" + importer.getSkipped() + " blocks skipped), " + (System.nanoTime() - lStart) / 1000000 + "ms");
+	}
+
+
+	// The parser of one chunk, and what it found there
+	// It reads a line at a time into a small array, and keeps the block it is in the middle of
+	private class ChunkParser
+	{
+		// The end of the chunk; a header starting at or after it belongs to the next chunk
+		private final long lEnd;
+
+		// The line being read, and where in the file it started
+		private final byte[] arrLine = new byte[MAX_LINE_BYTES];
+		private int iLineLength = 0;
+		private long lLineStart;
+
+		// The block being read
+		private boolean bInBlock = false;
+		private boolean bBroken;
+		private UserFinishType finishType;
+		private String strName;
+		private int iWhitesClicked;
+		private double dTimeSurvived;
+
+		// What the chunk found
+		private final List<ScoreRecord> listRecords = new ArrayList<>();
+		private int iSkipped = 0;
+		private boolean bDone = false;
+
+		public ChunkParser(long lEnd)
+		{
+			this.lEnd = lEnd;
+		}
+
+		// Method to read from the start of the chunk until its last block is finished
+		// Unless it is the first, the chunk starts one byte early, then drops everything up to the first line that starts inside it
+		public void parse(FileChannel channel, long lStart) throws IOException
+		{
+			ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+			byte[] arrBuffer = buffer.array();
+			long lPosition = lStart == 0 ? 0 : lStart - 1;
+			boolean bSkippingLine = lStart != 0;
+			lLineStart = lPosition;
+
+			while (!bDone)
+			{
+				buffer.clear();
+				int iRead = channel.read(buffer, lPosition);
+
+				if (iRead < 0)
+				{
+					break;
+				}
+
+				for (int i = 0; i < iRead && !bDone; i++)
+				{
+					byte b = arrBuffer[i];
+
+					if (b == '\n')
+					{
+						if (!bSkippingLine)
+						{
+							endLine();
+						}
+
+						bSkippingLine = false;
+						iLineLength = 0;
+						lLineStart = lPosition + i + 1;
+					}
+					else if (!bSkippingLine && iLineLength < arrLine.length)
+					{
+						arrLine[iLineLength++] = b;
+					}
+				}
+
+				lPosition += iRead;
+			}
+
+			// The end of the file; finish off a last line without a line ending, and the block it is in
+			if (!bDone)
+			{
+				if (!bSkippingLine && iLineLength > 0)
+				{
+					endLine();
+				}
+
+				if (!bDone)
+				{
+					endBlock();
+				}
+			}
+		}
+
+		// Method to make sense of the line just read
+		private void endLine()
+		{
+			int iLength = iLineLength;
+
+			if (iLength > 0 && arrLine[iLength - 1] == '\r')
+			{
+				iLength--;
+			}
+
+			if (startsWith(arrLine, iLength, HEADER_PREFIX))
+			{
+				// This block belongs to the next chunk, and so does everything after it
+				if (lLineStart >= lEnd)
+				{
+					bDone = true;
+					return;
+				}
+
+				endBlock();
+				startBlock(iLength);
+			}
+
+			// Anything before the first header is the end of the last chunk's block, or blank lines
+			else if (!bInBlock || iLength == 0)
+			{
+				return;
+			}
+			else if (startsWith(arrLine, iLength, FOOTER_PREFIX))
+			{
+				endBlock();
+			}
+			else if (startsWith(arrLine, iLength, NAME_PREFIX))
+			{
+				strName = new String(arrLine, NAME_PREFIX.length, iLength - NAME_PREFIX.length, charset);
+			}
+			else if (startsWith(arrLine, iLength, WHITES_PREFIX))
+			{
+				iWhitesClicked = parseWholeNumber(arrLine, WHITES_PREFIX.length, iLength);
+			}
+			else if (startsWith(arrLine, iLength, TIME_PREFIX))
+			{
+				dTimeSurvived = parseTimeSurvived(arrLine, TIME_PREFIX.length, iLength);
+			}
+			else
+			{
+				bBroken = true;
+			}
+		}
+
+		// Method to start a block from its header line, looking up its finish type by label
+		private void startBlock(int iLength)
+		{
+			bInBlock = true;
+			bBroken = false;
+			finishType = null;
+			strName = null;
+			iWhitesClicked = -1;
+			dTimeSurvived = -1;
+
+			int iLabelLength = iLength - HEADER_PREFIX.length - HEADER_SUFFIX.length;
+
+			for (int i = 0; i < FINISH_LABELS.length; i++)
+			{
+				byte[] arrLabel = FINISH_LABELS[i];
+
+				if (arrLabel.length != iLabelLength)
+				{
+					continue;
+				}
+
+				int j = 0;
+
+				while (j < iLabelLength && arrLine[HEADER_PREFIX.length + j] == arrLabel[j])
+				{
+					j++;
+				}
+
+				if (j == iLabelLength)
+				{
+					finishType = FINISH_TYPES[i];
+					return;
+				}
+			}
+		}
+
+		// Method to finish the block being read, keeping its record if every part of it made sense
+		// A block cut off before its footer is kept as long as the rest of it is there
+		private void endBlock()
+		{
+			if (!bInBlock)
+			{
+				return;
+			}
+
+			bInBlock = false;
+
+			if (bBroken || finishType == null || strName == null || iWhitesClicked < 0 || dTimeSurvived < 0)
+			{
+				iSkipped++;
+				return;
+			}
+
+			listRecords.add(new ScoreRecord(finishType, strName, iWhitesClicked, dTimeSurvived, 0));
+		}
+	}
+
+
+}
\ No newline at end of file
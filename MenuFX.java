@@ -6,14 +6,20 @@
  * Classes called:
  * 	   MenuFX
  *     GameFX
+ *     GameSession
+ *     GameRandom
+ *     LatencyMonitor
  * 
  * Called by classes:
  *     EasyGameMode
  *     HardGameMode 
+ *     GameSession
+ *     SaveUserInfo
+ *     SoakTest
  *
  * Description:
  *     This class is the beginning of the entire game; from here, users can start a new
- *     game, receive help or read the credits, toggle the music on/off and exit
+ *     game, receive help, see the leaderboard or read the credits, toggle the music on/off and exit
  *     the application. Most of the programming in this class is JavaFX-related,
  *     so nothing too interesting goes on, besides some ugly syntax and properties
  *     used to let the main menu be returned to from other classes (refer to the
@@ -26,11 +32,16 @@
  *     private Stage stage - Used for reference by other classes
  *     private VBox menuVBox menuVBox - Again, used for reference by other classes
  *                                      Acts as a rootPane  
+ *     private GameSession sessionCurrent - The game being played, or null while at the menu
  * 
  * Interesting Methods:
  *     helpButtonClick() - Handles the help button being clicked
+ *     leaderboardButtonClick() - Handles the leaderboard button being clicked, once the leaderboard is loaded
  *     musicButtonClick(ToggleButton) - Handles the music button being clicked
  *     creditsButtonClick() - Handles the credits button being clicked
+ *     startGame(GameRandom) - Starts a game session and shows it
+ *     returnToMenu() - Returns to the main menu from a game, disposing of its session
+ *     stop() - Dumps the latency histograms as the game exits
  *     
  * Notes:
  *     This class, and all of the classes in this project, follow a form of Hungarian 
@@ -42,6 +53,9 @@
 
 // Imports
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
 
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -81,6 +95,9 @@ public class MenuFX extends Application
 	private Stage stage = null;
 	private VBox vbMenu = null;
 	
+	// The game being played; it is disposed of as soon as the menu is returned to, however the game ended
+	private GameSession sessionCurrent = null;
+	
 	
 	/* -------------------------------- */
 	/* ----- METHODS/CONSTRUCTORS ----- */
@@ -117,9 +134,10 @@ public class MenuFX extends Application
 		VBox.setMargin(imgLogo, new Insets(10, 0, 140, 0));
 		
 		// Create buttons with titles
-		// START - HELP - MUSIC TOGGLE - CREDITS - EXIT
+		// START - HELP - LEADERBOARD - MUSIC TOGGLE - CREDITS - EXIT
 		Button btStart = new Button("Start Game");
 		Button btHelp = new Button("Help");
+		Button btLeaderboard = new Button("Leaderboard");
 		ToggleButton btMusic = new ToggleButton("Music On/Off");
 		Button btCredits = new Button("Credits");
 		Button btEnd = new Button("Exit Game");
@@ -133,6 +151,8 @@ public class MenuFX extends Application
 		btStart.setEffect(dropShadowButton);
 		btHelp.setStyle("-fx-font-family: \"Palatino Linotype\"; -fx-font-size: 1.15em");
 		btHelp.setEffect(dropShadowButton);
+		btLeaderboard.setStyle("-fx-font-family: \"Palatino Linotype\"; -fx-font-size: 1.15em");
+		btLeaderboard.setEffect(dropShadowButton);
 		btMusic.setStyle("-fx-font-family: \"Palatino Linotype\"; -fx-font-size: 1.15em");
 		btMusic.setEffect(dropShadowButton);
 		btCredits.setStyle("-fx-font-family: \"Palatino Linotype\"; -fx-font-size: 1.15em");
@@ -140,18 +160,17 @@ public class MenuFX extends Application
 		btEnd.setStyle("-fx-font-family: \"Palatino Linotype\"; -fx-font-size: 1.15em");
 		btEnd.setEffect(dropShadowButton);
 		
-		// Start GameFX on startButton click
+		// Start a game session (and its GameFX) on startButton click
 		// Get the scene of our primaryStage in MenuFx, then set the root of it as GameFX's rootPane, which happens
 		// to be the regular pane that the timer and game grid are both set in
-		btStart.setOnAction(e -> 
-		{
-			GameFX gameFXObject = new GameFX();
-			primaryStage.getScene().setRoot(gameFXObject.getRootPane());
-		});
+		btStart.setOnAction(e -> startGame(new GameRandom()));
 		
 		// Display help window through method on helpButton click
 		btHelp.setOnAction(e -> helpButtonClick());
 		
+		// Display leaderboard window through method on leaderboardButton click
+		btLeaderboard.setOnAction(e -> leaderboardButtonClick());
+		
 		// Toggle play/pause through method on musicButton click
 		btMusic.setOnAction(e -> musicButtonClick(btMusic, mediaPlayerMenu));
 		
@@ -162,12 +181,14 @@ public class MenuFX extends Application
 		btEnd.setOnAction(e -> Platform.exit());
 		
 		// Add all nodes to the vbox pane and center it (left -> right  =  top -> bottom) and center it to the stage
-		vbMenu.getChildren().addAll(imgLogo, btStart, btHelp, btMusic, btCredits, btEnd);
+		vbMenu.getChildren().addAll(imgLogo, btStart, btHelp, btLeaderboard, btMusic, btCredits, btEnd);
 		vbMenu.setAlignment(Pos.CENTER);
 
 		// Place pane into scene, then scene into stage and show it
 		// Set the title and make the window non-resizable, otherwise the proportions look terrible
 		Scene sceneMenu = new Scene(vbMenu, WINDOW_WIDTH, WINDOW_HEIGHT);
+		// The game is shown in the same scene, so this measures every click from here on; F3 shows the numbers
+		LatencyMonitor.attach(sceneMenu);
 	    primaryStage.setTitle("-tiles-"); 
 	 	primaryStage.setResizable(false);
 	    primaryStage.setScene(sceneMenu); 
@@ -193,6 +214,54 @@ public class MenuFX extends Application
 	}
 	
 	
+	// Displays leaderboard window on leaderboardButton click
+	// The leaderboard is loaded by the score writer's thread, so the window is shown once it is ready, back on this thread
+	private void leaderboardButtonClick()
+	{
+		SaveUserInfo.getLeaderboard().whenCompleteAsync((leaderboard, e) -> showLeaderboard(leaderboard), Platform::runLater);
+	}
+	
+	
+	// Method to show the leaderboard window, or say that the scores file can't be read if the leaderboard is null
+	private void showLeaderboard(Leaderboard leaderboard)
+	{
+		String strLeaderboard = "The scores file could not be read.";
+		
+		if (leaderboard != null)
+		{
+			strLeaderboard = "Longest survived:\n" + formatTopList(leaderboard.getTopByTime())
+					+ "\nMost white tiles clicked:\n" + formatTopList(leaderboard.getTopByWhites());
+		}
+		
+		// Create alert popup for the leaderboard button so player can see the best scores
+		Alert leaderboardAlert = new Alert(AlertType.INFORMATION, strLeaderboard);
+		leaderboardAlert.setTitle("Leaderboard");
+		leaderboardAlert.setHeaderText(null);
+		leaderboardAlert.setGraphic(null);
+		leaderboardAlert.showAndWait();
+	}
+	
+	
+	// Method to write out a top list, one numbered line per score
+	private String formatTopList(List<ScoreRecord> listTop)
+	{
+		if (listTop.isEmpty())
+		{
+			return "    No scores yet!\n";
+		}
+		
+		StringBuilder sbList = new StringBuilder();
+		
+		for (int i = 0; i < listTop.size(); i++)
+		{
+			ScoreRecord record = listTop.get(i);
+			sbList.append(String.format("    %d. %s - %.2f seconds, %d white tiles%n", i + 1, record.getName(), record.getTimeSurvived(), record.getWhitesClicked()));
+		}
+		
+		return sbList.toString();
+	}
+	
+	
 	// Toggles music play/pause on musicButton click
 	private void musicButtonClick(ToggleButton musicButton, MediaPlayer menuPlayer)
 	{
@@ -227,6 +296,51 @@ public class MenuFX extends Application
 	}
 	
 	
+	// Method to start a game session with the given random numbers and show it in place of the menu, returning the session
+	// Also used by SoakTest, to play games through the menu with a bot
+	public GameSession startGame(GameRandom randomSession)
+	{
+		sessionCurrent = new GameSession(randomSession);
+		stage.getScene().setRoot(sessionCurrent.getRootPane());
+		return sessionCurrent;
+	}
+	
+	
+	// Method to return to the main menu from a game, whether it was won, failed or quit
+	// The game's session is disposed of right after, so none of its timelines, handlers or nodes are left behind
+	public void returnToMenu()
+	{
+		stage.getScene().setRoot(vbMenu);
+		
+		if (sessionCurrent != null)
+		{
+			sessionCurrent.dispose();
+			sessionCurrent = null;
+		}
+	}
+	
+	
+	@Override
+	// Method run as the game exits; disposes of any game still being played, then saves the click latencies measured while it ran
+	public void stop()
+	{
+		if (sessionCurrent != null)
+		{
+			sessionCurrent.dispose();
+			sessionCurrent = null;
+		}
+		
+		try
+		{
+			LatencyMonitor.dump(Paths.get(LatencyMonitor.LATENCY_FILE));
+		}
+		catch (IOException e)
+		{
+			System.out.println("The latencies could not be saved to " + LatencyMonitor.LATENCY_FILE + ": " + e.getMessage());
+		}
+	}
+	
+	
 	// Getter for the menu's Stage
 	public Stage getStage()
 	{
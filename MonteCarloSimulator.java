@@ -0,0 +1,322 @@
+/*
+ * Class: MonteCarloSimulator
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     BotPlayer
+ *     DifficultyTable
+ *     GameRandom
+ *     SimulationResult
+ *
+ * Called by classes:
+ *     BotPlayer (its reaction-latency benchmark)
+ *
+ * Description:
+ *     This class plays the whole game- five easy rounds, then the survival round- over and over
+ *     with a BotPlayer instead of a user, across every core through fork/join. It is used to see
+ *     what a set of color probabilities (a DifficultyTable) actually does to the game: how often
+ *     it is won, how long the survival round lasts and how many white tiles a round has, instead
+ *     of tuning the numbers by feel.
+ *
+ *     The bot clicks once every "reaction time", picking its tile through a ClickPolicy, and can be
+ *     made to slip and to have its clicks land late; refer to BotPlayer. The hard mode grid updates
+ *     itself once every second of game time, the same as on screen.
+ *
+ *     Every task gets a GameRandom of its own, split off of the simulator's, so the workers never
+ *     share one. Since the games are always split up the same way, a simulator with the same seed
+ *     gives the same results, no matter which worker ends up playing which games.
+ *
+ * Attrtibutes:
+ *     private static final int GAMES_PER_TASK - How many games a fork/join task plays before it is split
+ *     private ClickPolicy policy - How the bot picks which tile to click
+ *     private double dReactionTime - The seconds between the bot's clicks
+ *     private double dAccuracy - The chance the bot clicks the tile it picked
+ *     private double dEngineLatency - The seconds between the bot clicking and the engine seeing the click
+ *     private GameRandom random - The random numbers every task's are split off of
+ *     private ForkJoinPool pool - The pool the games are played on
+ *
+ * Interesting Methods:
+ *     simulate(DifficultyTable, int) - Plays the given number of games with a table
+ *     simulateAll(List<DifficultyTable>, int) - Plays every table at once, for comparing variants
+ *     playGame(...) - Plays a single game from start to finish
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+
+public class MonteCarloSimulator
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// Below this many games, a task just plays them instead of splitting further
+	private static final int GAMES_PER_TASK = 1000;
+
+	// The bot's behavior
+	private ClickPolicy policy;
+	private double dReactionTime;
+	private double dAccuracy;
+	private double dEngineLatency;
+
+	// The random numbers, split up between the tasks
+	private GameRandom random;
+
+	// The fork/join pool, which has a thread for every core by default
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in how the bot picks its tiles and how long it waits between clicks
+	public MonteCarloSimulator(ClickPolicy policy, double dReactionTime)
+	{
+		this(policy, dReactionTime, new GameRandom());
+	}
+
+
+	// Constructor, also taking in the random numbers to play with, i.e. seeded to get the same results again
+	public MonteCarloSimulator(ClickPolicy policy, double dReactionTime, GameRandom random)
+	{
+		this(policy, dReactionTime, 1.0, 0.0, random);
+	}
+
+
+	// Constructor, also taking in how often the bot clicks the tile it picked, and how late its clicks land
+	public MonteCarloSimulator(ClickPolicy policy, double dReactionTime, double dAccuracy, double dEngineLatency, GameRandom random)
+	{
+		this.policy = policy;
+		this.dReactionTime = dReactionTime;
+		this.dAccuracy = dAccuracy;
+		this.dEngineLatency = dEngineLatency;
+		this.random = random;
+	}
+
+
+	// Method to play the given number of games with a table, split across every core
+	public SimulationResult simulate(DifficultyTable table, int iGames)
+	{
+		return pool.invoke(new SimulationTask(table, iGames, random.split()));
+	}
+
+
+	// Method to play every table at once, so that thousands of variants share the cores instead of taking turns
+	// The results come back in the same order as the tables
+	public List<SimulationResult> simulateAll(List<DifficultyTable> listTables, int iGamesPerTable)
+	{
+		List<ForkJoinTask<SimulationResult>> listTasks = new ArrayList<>();
+
+		for (DifficultyTable table : listTables)
+		{
+			listTasks.add(pool.submit(new SimulationTask(table, iGamesPerTable, random.split())));
+		}
+
+		List<SimulationResult> listResults = new ArrayList<>();
+
+		for (ForkJoinTask<SimulationResult> task : listTasks)
+		{
+			listResults.add(task.join());
+		}
+
+		return listResults;
+	}
+
+
+	// Method to play a single game from start to finish, adding its outcome to the result
+	// The engines and the bot all draw from the same random numbers, which belong to the calling thread
+	public void playGame(DifficultyTable table, GameRandom random, SimulationResult result)
+	{
+		new BotPlayer(policy, dReactionTime, dAccuracy, dEngineLatency, random).playGame(table, result);
+	}
+
+
+	// Method to make a random variant of a table, moving every probability by up to dSpread and re-normalizing
+	public static DifficultyTable createVariant(DifficultyTable table, double dSpread, GameRandom random)
+	{
+		double[][] arrTransitions = table.getHardTransitions();
+
+		for (int i = 0; i < arrTransitions.length; i++)
+		{
+			arrTransitions[i] = perturb(arrTransitions[i], dSpread, random);
+		}
+
+		return new DifficultyTable(perturb(table.getEasyInitial(), dSpread, random), perturb(table.getHardInitial(), dSpread, random), arrTransitions);
+	}
+
+
+	// Method to move every probability by up to dSpread, keeping them positive and adding up to 1
+	private static double[] perturb(double[] arrProbabilities, double dSpread, GameRandom random)
+	{
+		double dSum = 0;
+
+		for (int i = 0; i < arrProbabilities.length; i++)
+		{
+			arrProbabilities[i] = Math.max(.001, arrProbabilities[i] + (random.nextDouble() * 2 - 1) * dSpread);
+			dSum += arrProbabilities[i];
+		}
+
+		for (int i = 0; i < arrProbabilities.length; i++)
+		{
+			arrProbabilities[i] /= dSum;
+		}
+
+		return arrProbabilities;
+	}
+
+
+	// Runs the default table under every click policy, then a sweep of random variants
+	// Arguments (all optional): games per run, reaction time in seconds, number of variants, seed, a table file to start from
+	// The closest variant is printed as a table file, to be saved and tried out in turn
+	public static void main(String[] args) throws IOException
+	{
+		int iGames = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		double dReactionTime = args.length > 1 ? Double.parseDouble(args[1]) : .35;
+		int iVariants = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		GameRandom random = args.length > 3 ? new GameRandom(Long.parseLong(args[3])) : new GameRandom();
+		DifficultyTable table = args.length > 4 ? DifficultyTable.load(Paths.get(args[4])) : DifficultyTable.DEFAULT;
+
+		System.out.println("seed " + random.getSeed());
+
+		for (ClickPolicy policy : ClickPolicy.values())
+		{
+			long lStart = System.nanoTime();
+			SimulationResult result = new MonteCarloSimulator(policy, dReactionTime, random.split()).simulate(table, iGames);
+
+			System.out.println(policy + ", reaction time " + dReactionTime + "s, "
+					+ (System.nanoTime() - lStart) / 1000000 + "ms");
+			System.out.println(result);
+		}
+
+		// Sweep variants of the table with the greens first bot, and keep the one closest to a 50% win rate
+		List<DifficultyTable> listVariants = new ArrayList<>();
+
+		for (int i = 0; i < iVariants; i++)
+		{
+			listVariants.add(createVariant(table, .05, random));
+		}
+
+		long lStart = System.nanoTime();
+		List<SimulationResult> listResults = new MonteCarloSimulator(ClickPolicy.GreensFirst, dReactionTime, random.split()).simulateAll(listVariants, iGames / 100);
+
+		int iClosest = 0;
+
+		for (int i = 1; i < listResults.size(); i++)
+		{
+			if (Math.abs(listResults.get(i).getWinRate() - .5) < Math.abs(listResults.get(iClosest).getWinRate() - .5))
+			{
+				iClosest = i;
+			}
+		}
+
+		System.out.println(iVariants + " variants, " + (System.nanoTime() - lStart) / 1000000 + "ms; closest to a 50% win rate:");
+		System.out.println(listResults.get(iClosest));
+		System.out.print(listVariants.get(iClosest));
+	}
+
+
+	// The fork/join task; splits its games in half until there are few enough to just play
+	private class SimulationTask extends RecursiveTask<SimulationResult>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private DifficultyTable table;
+		private int iGames;
+		private GameRandom random;
+
+		public SimulationTask(DifficultyTable table, int iGames, GameRandom random)
+		{
+			this.table = table;
+			this.iGames = iGames;
+			this.random = random;
+		}
+
+		@Override
+		protected SimulationResult compute()
+		{
+			if (iGames <= GAMES_PER_TASK)
+			{
+				SimulationResult result = new SimulationResult();
+
+				for (int i = 0; i < iGames; i++)
+				{
+					playGame(table, random, result);
+				}
+
+				return result;
+			}
+
+			// Split in half; play one half here while the other half is picked up by another core
+			// Each half gets its own random numbers, split off in the same order every time
+			SimulationTask taskLeft = new SimulationTask(table, iGames / 2, random.split());
+			SimulationTask taskRight = new SimulationTask(table, iGames - iGames / 2, random.split());
+			taskLeft.fork();
+
+			SimulationResult result = taskRight.compute();
+			result.merge(taskLeft.join());
+
+			return result;
+		}
+	}
+
+
+}
+
+
+// The enumeration used for how the bot picks a tile to click
+// Tiles are picked at random among the ones the policy allows, and never clicked twice
+enum ClickPolicy
+{
+	WhitesOnly,
+	GreensFirst,
+	AvoidReds;
+
+
+	// Method to pick the cell to click in the grid, or -1 if the policy has nothing to click
+	public int pickCell(TileGrid grid, GameRandom random)
+	{
+		// Only ever click white tiles
+		if (this == WhitesOnly)
+		{
+			return pickRandomTile(grid, TileColor.White, random);
+		}
+
+		// Click every green tile there is for the extra time, then the white tiles
+		if (this == GreensFirst)
+		{
+			int iCell = pickRandomTile(grid, TileColor.Green, random);
+			return iCell >= 0 ? iCell : pickRandomTile(grid, TileColor.White, random);
+		}
+
+		// Click white and green tiles alike, but never a red (or, of course, a black)
+		int iWhites = grid.countEnabledTiles(TileColor.White);
+		int iGreens = grid.countEnabledTiles(TileColor.Green);
+
+		if (iWhites + iGreens == 0)
+		{
+			return -1;
+		}
+
+		int n = random.nextInt(iWhites + iGreens);
+		return n < iWhites ? grid.findNthTile(TileColor.White, n) : grid.findNthTile(TileColor.Green, n - iWhites);
+	}
+
+
+	// Method to pick a random unclicked tile of the given color, or -1 if there are none
+	private static int pickRandomTile(TileGrid grid, TileColor color, GameRandom random)
+	{
+		int iCount = grid.countEnabledTiles(color);
+		return iCount == 0 ? -1 : grid.findNthTile(color, random.nextInt(iCount));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+/*
+ * Class: Replay
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     DifficultyTable
+ *
+ * Called by classes:
+ *     ReplayRecorder
+ *     ReplayPlayer
+ *     ReplayArchive
+ *
+ * Description:
+ *     This class is a recorded game session, read back one event at a time. A session is the
+ *     seed of its GameRandom, followed by everything that happened in it: the easy and hard modes
+ *     starting (and the grid size each was played on), each new easy round, every click (the cell and the color it was), every time the
+ *     hard mode grid updated itself, and the clock running out (or the survival round being won).
+ *     With the seed, that is all it takes to play the exact same game again.
+ *
+ *     Every event after the header is a tag byte (the event type in the low 3 bits, and the color
+ *     or the end state above them), then its numbers as varints: 7 bits to a byte, low bits
+ *     first, with the top bit set on every byte but the last. Times are nanoseconds of game
+ *     time- the round's clock, which stops when the game is paused- and are written as the
+ *     difference from the last event's time, which starts over from 0 at every mode or round
+ *     start. A click is usually 5 or 6 bytes in all. A mode start is followed by its grid size;
+ *     version 2 replays, from before the grid size could be changed, have none, and were always
+ *     played on the default sizes.
+ *
+ *     After the seed, the header says which DifficultyTable the game was played with: a 0 byte
+ *     for the default table, or a 1 byte and then the table, in binary (refer to DifficultyTable).
+ *     Version 2 and 3 replays, from before the table could be changed, have no such byte, and
+ *     were always played with the default table.
+ *
+ * Attrtibutes:
+ *     public static final int MAGIC - The first 4 bytes of a replay
+ *     public static final byte VERSION - The version of the format, after the magic number
+ *     public static final byte VERSION_NO_TABLE - The last version without a difficulty table, which can still be read
+ *     public static final byte VERSION_NO_GRID_SIZE - The last version without grid sizes, which can still be read
+ *     public static final int HEADER_BYTES - The magic number, version and seed; the difficulty table comes after
+ *     private static final ReplayEventType[] EVENT_TYPES - ReplayEventType.values(), cached
+ *     private static final TileColor[] COLORS - TileColor.values(), cached
+ *     private static final EngineState[] STATES - EngineState.values(), cached
+ *     private final ByteBuffer bufReplay - The recorded bytes, and how far they have been read
+ *     private final byte bVersion - The version the replay was written with
+ *     private final long lSeed - The seed the session's GameRandom started from
+ *     private final DifficultyTable table - The color probabilities the session was played with
+ *     private ReplayEventType type - The type of the current event
+ *     private int iCell - The cell clicked, for a click
+ *     private TileColor color - The color clicked, for a click
+ *     private EngineState state - The state the game ended in, for the clock running out
+ *     private int iGridSize - The grid size, for a mode start, or 0 if the replay doesn't say
+ *     private long lNanos - The game time of the current event, since its mode or round started
+ *
+ * Interesting Methods:
+ *     next() - Reads the next event, returning false once there are none left
+ *     writeVarLong(ByteBuffer, long) - Writes a varint; used by ReplayRecorder
+ *     writeTable(ByteBuffer, DifficultyTable) - Writes the difficulty table into the header; used by ReplayRecorder
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+public class Replay
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// "TRPL", the version, then the seed
+	// The version goes up whenever the same seed would play out differently, i.e. version 2 picks colors with alias tables,
+	// or the format changes, i.e. version 3 adds the grid sizes, and version 4 the difficulty table
+	public static final int MAGIC = 0x5452504C;
+	public static final byte VERSION = 4;
+	public static final byte VERSION_NO_TABLE = 3;
+	public static final byte VERSION_NO_GRID_SIZE = 2;
+	public static final int HEADER_BYTES = 4 + 1 + 8;
+
+	// The enumerations, indexed by ordinal
+	private static final ReplayEventType[] EVENT_TYPES = ReplayEventType.values();
+	private static final TileColor[] COLORS = TileColor.values();
+	private static final EngineState[] STATES = EngineState.values();
+
+	// The replay itself
+	private final ByteBuffer bufReplay;
+	private final byte bVersion;
+	private final long lSeed;
+	private final DifficultyTable table;
+
+	// The current event
+	private ReplayEventType type;
+	private int iCell;
+	private TileColor color;
+	private EngineState state;
+	private int iGridSize;
+	private long lNanos;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the bytes of a replay and reading its header, difficulty table and all
+	// The bytes are not copied, so they should not be changed while the replay is read
+	public Replay(ByteBuffer bufReplay) throws IllegalArgumentException
+	{
+		this.bufReplay = bufReplay.duplicate();
+
+		if (this.bufReplay.remaining() < HEADER_BYTES || this.bufReplay.getInt() != MAGIC)
+		{
+			throw new IllegalArgumentException("Not a replay this game can play.");
+		}
+
+		bVersion = this.bufReplay.get();
+
+		if (bVersion != VERSION && bVersion != VERSION_NO_TABLE && bVersion != VERSION_NO_GRID_SIZE)
+		{
+			throw new IllegalArgumentException("Not a replay this game can play.");
+		}
+
+		lSeed = this.bufReplay.getLong();
+		table = bVersion == VERSION ? readTable(this.bufReplay) : DifficultyTable.DEFAULT;
+	}
+
+
+	// Method to read the difficulty table from a replay's header: a 0 byte for the default, or a 1 byte and the table
+	private static DifficultyTable readTable(ByteBuffer bufReplay) throws IllegalArgumentException
+	{
+		try
+		{
+			if (bufReplay.get() == 0)
+			{
+				return DifficultyTable.DEFAULT;
+			}
+
+			return DifficultyTable.readFrom(bufReplay);
+		}
+		catch (BufferUnderflowException e)
+		{
+			throw new IllegalArgumentException("Not a replay this game can play.");
+		}
+	}
+
+
+	// Method to write the difficulty table into a replay's header, the way readTable() reads it; used by ReplayRecorder
+	public static void writeTable(ByteBuffer bufReplay, DifficultyTable table)
+	{
+		if (table == DifficultyTable.DEFAULT)
+		{
+			bufReplay.put((byte) 0);
+			return;
+		}
+
+		bufReplay.put((byte) 1);
+		table.writeTo(bufReplay);
+	}
+
+
+	// Method to read a replay from a file
+	public static Replay load(Path pathReplay) throws IOException, IllegalArgumentException
+	{
+		return new Replay(ByteBuffer.wrap(Files.readAllBytes(pathReplay)));
+	}
+
+
+	// Method to read the next event, returning false once there are none left
+	// A replay cut short partway through an event ends before that event
+	public boolean next() throws IllegalArgumentException
+	{
+		if (!bufReplay.hasRemaining())
+		{
+			return false;
+		}
+
+		int iTag = bufReplay.get() & 0xFF;
+		int iType = iTag & 0x07;
+
+		if (iType >= EVENT_TYPES.length)
+		{
+			throw new IllegalArgumentException("Unknown replay event " + iType + ".");
+		}
+
+		type = EVENT_TYPES[iType];
+
+		try
+		{
+			if (type.startsSegment())
+			{
+				lNanos = 0;
+
+				// The rounds of the easy mode are all on the same grid, so only the mode starts have a grid size
+				if (type != ReplayEventType.RoundStart)
+				{
+					iGridSize = bVersion == VERSION_NO_GRID_SIZE ? 0 : (int) readVarLong(bufReplay);
+				}
+
+				return true;
+			}
+
+			if (type == ReplayEventType.Click)
+			{
+				color = COLORS[iTag >>> 3];
+				iCell = (int) readVarLong(bufReplay);
+			}
+			else if (type == ReplayEventType.TimeUp)
+			{
+				state = STATES[iTag >>> 3];
+			}
+
+			lNanos += readVarLong(bufReplay);
+			return true;
+		}
+		catch (ArrayIndexOutOfBoundsException | BufferUnderflowException e)
+		{
+			bufReplay.position(bufReplay.limit());
+			return false;
+		}
+	}
+
+
+	// Method to write a varint: 7 bits to a byte, low bits first, with the top bit set on all but the last byte
+	public static void writeVarLong(ByteBuffer buffer, long lValue)
+	{
+		while ((lValue & ~0x7FL) != 0)
+		{
+			buffer.put((byte) ((lValue & 0x7F) | 0x80));
+			lValue >>>= 7;
+		}
+
+		buffer.put((byte) lValue);
+	}
+
+
+	// Method to read a varint written by writeVarLong()
+	public static long readVarLong(ByteBuffer buffer)
+	{
+		long lValue = 0;
+		int iShift = 0;
+		byte b;
+
+		do
+		{
+			b = buffer.get();
+			lValue |= (long) (b & 0x7F) << iShift;
+			iShift += 7;
+		}
+		while ((b & 0x80) != 0 && iShift < 64);
+
+		return lValue;
+	}
+
+
+	// Getter for the seed
+	public long getSeed()
+	{
+		return lSeed;
+	}
+
+
+	// Getter for the difficulty table the session was played with
+	public DifficultyTable getTable()
+	{
+		return table;
+	}
+
+
+	// Getter for the current event's type
+	public ReplayEventType getType()
+	{
+		return type;
+	}
+
+
+	// Getter for the cell clicked, for a click
+	public int getCell()
+	{
+		return iCell;
+	}
+
+
+	// Getter for the color clicked, for a click
+	public TileColor getColor()
+	{
+		return color;
+	}
+
+
+	// Getter for the state the game ended in, for the clock running out
+	public EngineState getState()
+	{
+		return state;
+	}
+
+
+	// Getter for the grid size, for a mode start, or 0 if the replay doesn't say (the default size was played on)
+	public int getGridSize()
+	{
+		return iGridSize;
+	}
+
+
+	// Getter for the current event's game time, in nanoseconds since its mode or round started
+	public long getNanos()
+	{
+		return lNanos;
+	}
+
+
+	// Getter for the current event's game time, in seconds
+	public double getSeconds()
+	{
+		return lNanos / 1e9;
+	}
+
+
+}
+
+
+// The enumeration used for the events in a replay
+// Saved by ordinal in 3 bits, so new event types must only ever be added to the end, and there can be no more than 8
+enum ReplayEventType
+{
+	EasyStart,
+	HardStart,
+	RoundStart,
+	Click,
+	GridUpdate,
+	TimeUp;
+
+
+	// Whether the event starts the clock over, so the times after it are counted from 0
+	public boolean startsSegment()
+	{
+		return this == EasyStart || this == HardStart || this == RoundStart;
+	}
+}
\ No newline at end of file
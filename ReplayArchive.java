@@ -0,0 +1,570 @@
+/*
+ * Class: ReplayArchive
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     Replay
+ *     ScoreRecord
+ *     Leaderboard
+ *
+ * Called by classes:
+ *     ScoreWriter
+ *     SaveUserInfo
+ *     ReplayPlayer
+ *
+ * Description:
+ *     This class keeps every recorded game session in one folder, instead of a file per session.
+ *     Sessions are appended to segment files of up to 64 MB each, as the session's ScoreRecord
+ *     (refer to ScoreRecord for its binary form) followed by its replay. A directory index file
+ *     beside them has one fixed-size entry per session, saying which segment it is in and where,
+ *     along with its session id (the seed of its GameRandom), a hash of its player's name and its
+ *     score, so sessions can be found by any of those without touching the segments at all.
+ *
+ *     The segments are read through memory mappings. A replay is opened as a slice of its
+ *     segment's mapping, so nothing is copied or decoded until it is played; neither is anything
+ *     else in the segment. Opening the archive only reads the index.
+ *
+ *     Sessions are appended without waiting for the disk; commit() forces them there, segments
+ *     first and then the index, so a crash can only ever lose index entries, never leave one
+ *     pointing at a session that isn't there. Entries that point past the end of their segment
+ *     are dropped when the archive is opened.
+ *
+ *     An archive can also be opened read-only, i.e. by a viewer while the game's ScoreWriter has
+ *     the same folder open. Nothing is created, recovered or truncated then: the index is read as
+ *     it stands, entries past the end of their segment are only left out in memory, and sessions
+ *     appended by the writer but not yet committed are left alone. It can't be appended to.
+ *
+ * Attrtibutes:
+ *     public static final String INDEX_FILE - The name of the directory index in the archive's folder
+ *     public static final long SEGMENT_BYTES - The size a segment is allowed to grow to
+ *     private static final int MAGIC - The first 4 bytes of the index file
+ *     private static final int VERSION - The version of the format, after the magic number
+ *     private static final int HEADER_BYTES - The magic number and version
+ *     private static final int ENTRY_BYTES - The size of an index entry
+ *     private static final UserFinishType[] FINISH_TYPES - UserFinishType.values(), cached
+ *     private final Path pathDirectory - The archive's folder
+ *     private final boolean bReadOnly - Whether the archive was opened only to be read, leaving its files untouched
+ *     private FileChannel channelIndex - The directory index
+ *     private FileChannel channelSegment - The segment being appended to
+ *     private int iSegment - The number of the segment being appended to
+ *     private long lSegmentEnd - The end of the segment being appended to
+ *     private List<ArchiveEntry> listEntries - Every entry, in the order they were appended
+ *     private List<ArchiveEntry> listUncommitted - The entries appended since the last commit
+ *     private Map<Long, Integer> mapSessions - Entry numbers by session id
+ *     private Map<Long, List<Integer>> mapPlayers - Entry numbers by hash of player name
+ *     private List<MappedByteBuffer> listSegmentMaps - Each segment's mapping, once it has been read from
+ *
+ * Interesting Methods:
+ *     append(long, ScoreRecord, ByteBuffer) - Adds a session to the end of the archive
+ *     commit() - Forces everything appended so far to disk
+ *     openReplay(int) - Opens a session's replay, straight from its segment's mapping
+ *     findRun(ScoreRecord) - Finds the session a saved score came from, i.e. from the leaderboard
+ *     findTopByTime(int) - Finds the sessions that survived the longest, from the index alone
+ *
+ */
+
+
+// Imports
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+public class ReplayArchive implements Closeable
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The directory index, and how large the segments beside it get
+	public static final String INDEX_FILE = "archive.idx";
+	public static final long SEGMENT_BYTES = 64L << 20;
+
+	// "TRPA", then the format version
+	private static final int MAGIC = 0x54525041;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+
+	// Session id, player hash, timestamp, time survived (8 bytes each), whites clicked, segment, offset,
+	// record length, replay length (4 bytes each), finish type (1 byte), then 3 bytes to round it out
+	private static final int ENTRY_BYTES = 8 * 4 + 4 * 5 + 4;
+
+	// The finish types, indexed by ordinal
+	private static final UserFinishType[] FINISH_TYPES = UserFinishType.values();
+
+	// The files
+	private final Path pathDirectory;
+	private final boolean bReadOnly;
+	private FileChannel channelIndex;
+	private FileChannel channelSegment;
+	private int iSegment;
+	private long lSegmentEnd;
+
+	// The directory index, in memory, and the ways of looking into it
+	private List<ArchiveEntry> listEntries = new ArrayList<>();
+	private List<ArchiveEntry> listUncommitted = new ArrayList<>();
+	private Map<Long, Integer> mapSessions = new HashMap<>();
+	private Map<Long, List<Integer>> mapPlayers = new HashMap<>();
+
+	// The segments' mappings, by segment number; null until a segment is first read from
+	private List<MappedByteBuffer> listSegmentMaps = new ArrayList<>();
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, opening (or creating) the archive in the given folder to append to
+	// Only the directory index is read; the segments are mapped when a session in them is first opened
+	public ReplayArchive(String strDirectory) throws IOException
+	{
+		this(strDirectory, false);
+	}
+
+
+	// Constructor, opening the archive in the given folder either to append to or only to read
+	// Read-only, nothing is written: a folder with no index yet is an empty archive, and no segment is opened to append to
+	public ReplayArchive(String strDirectory, boolean bReadOnly) throws IOException
+	{
+		pathDirectory = Paths.get(strDirectory);
+		this.bReadOnly = bReadOnly;
+
+		Path pathIndex = pathDirectory.resolve(INDEX_FILE);
+
+		if (!bReadOnly)
+		{
+			Files.createDirectories(pathDirectory);
+			channelIndex = FileChannel.open(pathIndex, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+		else if (Files.exists(pathIndex))
+		{
+			channelIndex = FileChannel.open(pathIndex, StandardOpenOption.READ);
+		}
+
+		try
+		{
+			if (channelIndex != null)
+			{
+				readIndex();
+			}
+
+			if (!bReadOnly)
+			{
+				openSegment(iSegment, false);
+			}
+		}
+		catch (IOException e)
+		{
+			close();
+			throw e;
+		}
+	}
+
+
+	// Method to read the directory index into memory, dropping any entries at its end that point past the end of their segment
+	// Read-only, they are only dropped from memory; the index is cut down to match only when the archive is opened to append to
+	private void readIndex() throws IOException
+	{
+		if (channelIndex.size() < HEADER_BYTES)
+		{
+			// A new index is only written out when the archive is opened to append to; read-only, it is just empty
+			if (bReadOnly)
+			{
+				return;
+			}
+
+			ByteBuffer bufHeader = ByteBuffer.allocate(HEADER_BYTES);
+			bufHeader.putInt(MAGIC).putInt(VERSION).flip();
+
+			channelIndex.truncate(0);
+			ScoreLog.writeFully(channelIndex, bufHeader, 0);
+			channelIndex.force(true);
+			return;
+		}
+
+		int iEntries = (int) ((channelIndex.size() - HEADER_BYTES) / ENTRY_BYTES);
+		MappedByteBuffer bufIndex = channelIndex.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES + (long) iEntries * ENTRY_BYTES);
+
+		if (bufIndex.getInt() != MAGIC || bufIndex.getInt() != VERSION)
+		{
+			throw new IOException("This is not a replay archive, or it was written by a different version of the game.");
+		}
+
+		for (int i = 0; i < iEntries; i++)
+		{
+			listEntries.add(new ArchiveEntry(bufIndex));
+		}
+
+		// Walk back from the end over any entries whose sessions never made it to their segment
+		while (!listEntries.isEmpty())
+		{
+			ArchiveEntry entryLast = listEntries.get(listEntries.size() - 1);
+			Path pathSegment = getSegmentPath(entryLast.iSegment);
+
+			if (Files.exists(pathSegment) && Files.size(pathSegment) >= entryLast.getEnd())
+			{
+				iSegment = entryLast.iSegment;
+				lSegmentEnd = entryLast.getEnd();
+				break;
+			}
+
+			listEntries.remove(listEntries.size() - 1);
+		}
+
+		if (!bReadOnly)
+		{
+			channelIndex.truncate(HEADER_BYTES + (long) listEntries.size() * ENTRY_BYTES);
+		}
+
+		for (int i = 0; i < listEntries.size(); i++)
+		{
+			addToMaps(i, listEntries.get(i));
+		}
+	}
+
+
+	// Method to open a segment to append to; anything past the last indexed session in it is a half-written one
+	private void openSegment(int iNewSegment, boolean bNew) throws IOException
+	{
+		if (channelSegment != null)
+		{
+			channelSegment.force(false);
+			channelSegment.close();
+		}
+
+		iSegment = iNewSegment;
+		lSegmentEnd = bNew ? 0 : lSegmentEnd;
+
+		channelSegment = FileChannel.open(getSegmentPath(iSegment), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		channelSegment.truncate(lSegmentEnd);
+	}
+
+
+	// Method to get the file of a segment, by number
+	private Path getSegmentPath(int iSegmentNumber)
+	{
+		return pathDirectory.resolve(String.format("segment-%05d.seg", iSegmentNumber));
+	}
+
+
+	// Method to add a session to the end of the archive, returning its entry number
+	// The session's record comes first in the segment, and the replay right after; nothing is forced to disk until commit()
+	public synchronized int append(long lSessionId, ScoreRecord record, ByteBuffer bufReplay) throws IOException
+	{
+		if (bReadOnly)
+		{
+			throw new IOException("The replay archive was opened read-only.");
+		}
+
+		int iRecordLength = record.getEncodedLength();
+		int iReplayLength = bufReplay.remaining();
+
+		// A full segment is left as it is, and the next one is started
+		if (lSegmentEnd > 0 && lSegmentEnd + iRecordLength + iReplayLength > SEGMENT_BYTES)
+		{
+			openSegment(iSegment + 1, true);
+		}
+
+		ByteBuffer bufSession = ByteBuffer.allocate(iRecordLength + iReplayLength);
+		record.writeTo(bufSession);
+		bufSession.put(bufReplay.duplicate());
+		bufSession.flip();
+
+		ScoreLog.writeFully(channelSegment, bufSession, lSegmentEnd);
+
+		ArchiveEntry entry = new ArchiveEntry(lSessionId, getPlayerHash(record.getName()), record, iSegment, (int) lSegmentEnd, iRecordLength, iReplayLength);
+		lSegmentEnd += iRecordLength + iReplayLength;
+
+		listEntries.add(entry);
+		listUncommitted.add(entry);
+		addToMaps(listEntries.size() - 1, entry);
+
+		return listEntries.size() - 1;
+	}
+
+
+	// Method to force every session appended since the last commit to disk: the segment first, then their index entries
+	public synchronized void commit() throws IOException
+	{
+		if (listUncommitted.isEmpty())
+		{
+			return;
+		}
+
+		channelSegment.force(false);
+
+		ByteBuffer bufEntries = ByteBuffer.allocate(listUncommitted.size() * ENTRY_BYTES);
+
+		for (ArchiveEntry entry : listUncommitted)
+		{
+			entry.writeTo(bufEntries);
+		}
+
+		bufEntries.flip();
+
+		int iFirstUncommitted = listEntries.size() - listUncommitted.size();
+		ScoreLog.writeFully(channelIndex, bufEntries, HEADER_BYTES + (long) iFirstUncommitted * ENTRY_BYTES);
+		channelIndex.force(false);
+
+		listUncommitted.clear();
+	}
+
+
+	// Method to add an entry to the lookups by session id and player
+	private void addToMaps(int iEntry, ArchiveEntry entry)
+	{
+		mapSessions.put(entry.lSessionId, iEntry);
+		mapPlayers.computeIfAbsent(entry.lPlayerHash, lHash -> new ArrayList<>()).add(iEntry);
+	}
+
+
+	// Method to hash a player's name for the index, the same way the leaderboard tells players apart (64-bit FNV-1a)
+	// Different names can share a hash, so a match is always checked against the name in the session's record
+	private static long getPlayerHash(String strName)
+	{
+		long lHash = 0xcbf29ce484222325L;
+
+		for (byte b : Leaderboard.getPlayerKey(strName).getBytes(StandardCharsets.UTF_8))
+		{
+			lHash ^= b & 0xFF;
+			lHash *= 0x100000001b3L;
+		}
+
+		return lHash;
+	}
+
+
+	// Method to get a slice of a segment's mapping, mapping (or re-mapping, if the segment has grown since) as needed
+	// The slice shares the mapping's memory; nothing is copied
+	private ByteBuffer getSlice(int iSegmentNumber, int iOffset, int iLength) throws IOException
+	{
+		while (listSegmentMaps.size() <= iSegmentNumber)
+		{
+			listSegmentMaps.add(null);
+		}
+
+		MappedByteBuffer bufSegment = listSegmentMaps.get(iSegmentNumber);
+
+		if (bufSegment == null || bufSegment.capacity() < iOffset + iLength)
+		{
+			try (FileChannel channel = FileChannel.open(getSegmentPath(iSegmentNumber), StandardOpenOption.READ))
+			{
+				bufSegment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+
+			listSegmentMaps.set(iSegmentNumber, bufSegment);
+		}
+
+		return bufSegment.slice(iOffset, iLength);
+	}
+
+
+	// Method to open a session's replay, straight from its segment's mapping
+	public synchronized Replay openReplay(int iEntry) throws IOException, IllegalArgumentException
+	{
+		ArchiveEntry entry = listEntries.get(iEntry);
+		return new Replay(getSlice(entry.iSegment, entry.iOffset + entry.iRecordLength, entry.iReplayLength));
+	}
+
+
+	// Method to read a session's score record
+	public synchronized ScoreRecord getRecord(int iEntry) throws IOException, IllegalArgumentException
+	{
+		ArchiveEntry entry = listEntries.get(iEntry);
+		return ScoreRecord.readFrom(getSlice(entry.iSegment, entry.iOffset, entry.iRecordLength));
+	}
+
+
+	// Method to find a session by its id, returning its entry number or -1
+	public synchronized int findSession(long lSessionId)
+	{
+		return mapSessions.getOrDefault(lSessionId, -1);
+	}
+
+
+	// Method to find every session a player has played, oldest first
+	public synchronized List<Integer> findPlayer(String strName) throws IOException
+	{
+		List<Integer> listFound = new ArrayList<>();
+		String strPlayer = Leaderboard.getPlayerKey(strName);
+
+		for (int iEntry : mapPlayers.getOrDefault(getPlayerHash(strName), new ArrayList<>()))
+		{
+			if (Leaderboard.getPlayerKey(getRecord(iEntry).getName()).equals(strPlayer))
+			{
+				listFound.add(iEntry);
+			}
+		}
+
+		return listFound;
+	}
+
+
+	// Method to find the session a saved score came from, returning its entry number or -1
+	// The score log and the archive are handed the very same record, so everything in it matches exactly
+	public synchronized int findRun(ScoreRecord record) throws IOException
+	{
+		for (int iEntry : mapPlayers.getOrDefault(getPlayerHash(record.getName()), new ArrayList<>()))
+		{
+			ArchiveEntry entry = listEntries.get(iEntry);
+
+			if (entry.lTimestamp == record.getTimestamp() && entry.iWhitesClicked == record.getWhitesClicked()
+					&& entry.dTimeSurvived == record.getTimeSurvived() && entry.finishType == record.getFinishType()
+					&& getRecord(iEntry).getName().equals(record.getName()))
+			{
+				return iEntry;
+			}
+		}
+
+		return -1;
+	}
+
+
+	// Method to find the sessions that survived the longest, best first, ranked the same as the leaderboard
+	// Only the directory index is looked at
+	public synchronized List<Integer> findTopByTime(int iCount)
+	{
+		List<Integer> listRanked = new ArrayList<>(listEntries.size());
+
+		for (int i = 0; i < listEntries.size(); i++)
+		{
+			listRanked.add(i);
+		}
+
+		listRanked.sort(Comparator.comparingDouble((Integer i) -> listEntries.get(i).dTimeSurvived).reversed()
+				.thenComparing(Comparator.comparingInt((Integer i) -> listEntries.get(i).iWhitesClicked).reversed())
+				.thenComparingLong(i -> listEntries.get(i).lTimestamp));
+
+		return new ArrayList<>(listRanked.subList(0, Math.min(iCount, listRanked.size())));
+	}
+
+
+	// Getter for a session's id
+	public synchronized long getSessionId(int iEntry)
+	{
+		return listEntries.get(iEntry).lSessionId;
+	}
+
+
+	// Getter for the number of sessions in the archive
+	public synchronized int size()
+	{
+		return listEntries.size();
+	}
+
+
+	@Override
+	// Method to commit whatever is left, then close the files; the mappings stay readable until they are garbage collected
+	public synchronized void close() throws IOException
+	{
+		try
+		{
+			if (channelSegment != null && channelIndex != null && channelIndex.isOpen())
+			{
+				commit();
+			}
+		}
+		finally
+		{
+			if (channelSegment != null)
+			{
+				channelSegment.close();
+			}
+
+			if (channelIndex != null)
+			{
+				channelIndex.close();
+			}
+		}
+	}
+
+
+	// One entry of the directory index: a session, its score, and where it is
+	private static class ArchiveEntry
+	{
+		private final long lSessionId;
+		private final long lPlayerHash;
+		private final long lTimestamp;
+		private final double dTimeSurvived;
+		private final int iWhitesClicked;
+		private final int iSegment;
+		private final int iOffset;
+		private final int iRecordLength;
+		private final int iReplayLength;
+		private final UserFinishType finishType;
+
+		public ArchiveEntry(long lSessionId, long lPlayerHash, ScoreRecord record, int iSegment, int iOffset, int iRecordLength, int iReplayLength)
+		{
+			this.lSessionId = lSessionId;
+			this.lPlayerHash = lPlayerHash;
+			this.lTimestamp = record.getTimestamp();
+			this.dTimeSurvived = record.getTimeSurvived();
+			this.iWhitesClicked = record.getWhitesClicked();
+			this.iSegment = iSegment;
+			this.iOffset = iOffset;
+			this.iRecordLength = iRecordLength;
+			this.iReplayLength = iReplayLength;
+			this.finishType = record.getFinishType();
+		}
+
+		// Constructor reading an entry from the index, leaving the buffer at the start of the next one
+		public ArchiveEntry(ByteBuffer bufIndex) throws IOException
+		{
+			lSessionId = bufIndex.getLong();
+			lPlayerHash = bufIndex.getLong();
+			lTimestamp = bufIndex.getLong();
+			dTimeSurvived = bufIndex.getDouble();
+			iWhitesClicked = bufIndex.getInt();
+			iSegment = bufIndex.getInt();
+			iOffset = bufIndex.getInt();
+			iRecordLength = bufIndex.getInt();
+			iReplayLength = bufIndex.getInt();
+
+			int iFinishType = bufIndex.get();
+			bufIndex.position(bufIndex.position() + 3);
+
+			if (iFinishType < 0 || iFinishType >= FINISH_TYPES.length)
+			{
+				throw new IOException("The replay archive's index is damaged.");
+			}
+
+			finishType = FINISH_TYPES[iFinishType];
+		}
+
+		public void writeTo(ByteBuffer bufIndex)
+		{
+			bufIndex.putLong(lSessionId);
+			bufIndex.putLong(lPlayerHash);
+			bufIndex.putLong(lTimestamp);
+			bufIndex.putDouble(dTimeSurvived);
+			bufIndex.putInt(iWhitesClicked);
+			bufIndex.putInt(iSegment);
+			bufIndex.putInt(iOffset);
+			bufIndex.putInt(iRecordLength);
+			bufIndex.putInt(iReplayLength);
+			bufIndex.put((byte) finishType.ordinal());
+			bufIndex.position(bufIndex.position() + 3);
+		}
+
+		// Where the session ends in its segment
+		public long getEnd()
+		{
+			return (long) iOffset + iRecordLength + iReplayLength;
+		}
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,267 @@
+/*
+ * Class: ReplayPlayer
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     Replay
+ *     ReplayArchive
+ *     GameRandom
+ *     GameClock
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     DifficultyTable
+ *
+ * Called by classes:
+ *     None (run on its own, through main())
+ *
+ * Description:
+ *     This class plays a recorded game session again, through the same engines that EasyGameMode
+ *     and HardGameMode run on, in the same order GameFX creates them. Every random number comes
+ *     from the recorded seed, split the same way GameFX splits it, and every color is picked
+ *     from the recorded difficulty table, so the same grids come up; then every click, grid
+ *     update and end of the game is applied at the game time it happened.
+ *     Each click's color and the state the game ended in are checked against the recording, so a
+ *     replay that no longer plays out the same (i.e. after the rules or the probabilities have
+ *     changed) is caught at the first event that differs.
+ *
+ *     It plays either as fast as possible or at the speed the game was played at, waiting for
+ *     each event's game time to come around on the wall clock.
+ *
+ * Attrtibutes:
+ *     private boolean bRealTime - Whether to wait for each event, or play them all at once
+ *     private EasyGameEngine engineEasy - The easy mode's engine, once it has started
+ *     private HardGameEngine engineHard - The hard mode's engine, once it has started
+ *     private GameEngine engine - Whichever engine is being played
+ *     private int[] arrUpdatedCells - The cells picked by the last grid update
+ *     private int iEventsPlayed - The events played so far
+ *
+ * Interesting Methods:
+ *     play(Replay) - Plays a whole replay, returning the state the game ended in
+ *     advanceTo(double) - Moves the engine's clock up to an event's game time
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
+
+
+public class ReplayPlayer
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// How fast to play
+	private boolean bRealTime;
+
+	// The engines, created as the replay starts each mode
+	private EasyGameEngine engineEasy;
+	private HardGameEngine engineHard;
+	private GameEngine engine;
+	private int[] arrUpdatedCells;
+
+	// How far the replay has been played
+	private int iEventsPlayed;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in whether to play at the speed the game was played at, or as fast as possible
+	public ReplayPlayer(boolean bRealTime)
+	{
+		this.bRealTime = bRealTime;
+	}
+
+
+	// Method to play a whole replay, returning the state the game ended in (or null, if it never started)
+	// Throws an IllegalStateException at the first event that doesn't play out the same as it was recorded
+	public EngineState play(Replay replay) throws IllegalStateException
+	{
+		GameRandom randomSession = new GameRandom(replay.getSeed());
+		long lSegmentStart = System.nanoTime();
+
+		engineEasy = null;
+		engineHard = null;
+		engine = null;
+		iEventsPlayed = 0;
+
+		while (replay.next())
+		{
+			ReplayEventType type = replay.getType();
+
+			// The modes start with engines split off of the session's random numbers, in the same order as GameFX,
+			// on the grid size they were played on (the default, for a replay from before it could be changed),
+			// with the difficulty table the game was played with
+			if (type == ReplayEventType.EasyStart)
+			{
+				int iGridSize = replay.getGridSize() > 0 ? replay.getGridSize() : EasyGameEngine.EASY_GRID_SIZE;
+				engineEasy = new EasyGameEngine(iGridSize, new GameClock(EasyGameEngine.EASY_START_TIME), replay.getTable(), randomSession.split());
+				engine = engineEasy;
+				engine.randomlyPopulateGrid();
+			}
+			else if (type == ReplayEventType.HardStart)
+			{
+				int iGridSize = replay.getGridSize() > 0 ? replay.getGridSize() : HardGameEngine.HARD_GRID_SIZE;
+				engineHard = new HardGameEngine(iGridSize, new GameClock(HardGameEngine.HARD_START_TIME), replay.getTable(), randomSession.split());
+				arrUpdatedCells = new int[engineHard.getTilesPerUpdate()];
+				engine = engineHard;
+				engine.randomlyPopulateGrid();
+			}
+			else if (type == ReplayEventType.RoundStart)
+			{
+				checkInStep(engine == engineEasy && engineEasy.getState() == EngineState.RoundComplete, "a round started before the last one was complete");
+				engineEasy.nextRound();
+			}
+			else
+			{
+				checkInStep(engine != null, "the game was played before it started");
+
+				if (bRealTime)
+				{
+					waitUntil(lSegmentStart + replay.getNanos());
+				}
+
+				advanceTo(replay.getSeconds());
+
+				if (type == ReplayEventType.Click)
+				{
+					TileColor colorClicked = engine.click(replay.getCell());
+					checkInStep(colorClicked == replay.getColor(), "cell " + replay.getCell() + " was " + replay.getColor() + ", not " + colorClicked);
+				}
+				else if (type == ReplayEventType.GridUpdate)
+				{
+					checkInStep(engine == engineHard && engineHard.randomlyUpdateGrid(arrUpdatedCells) > 0, "the grid could not update itself");
+				}
+				else if (type == ReplayEventType.TimeUp)
+				{
+					checkInStep(engine.update() == replay.getState(), "the game ended " + replay.getState() + ", not " + engine.getState());
+				}
+			}
+
+			// The mode and round starts start the clock over
+			if (type.startsSegment())
+			{
+				lSegmentStart = System.nanoTime();
+			}
+
+			iEventsPlayed++;
+		}
+
+		return engine == null ? null : engine.getState();
+	}
+
+
+	// Method to move the engine's clock up to an event's game time, checking the end conditions on the way
+	// The recorded times are whole nanoseconds, so the clock can already be a hair past one; it is never moved back
+	private void advanceTo(double dSeconds)
+	{
+		double dAdvance = dSeconds - engine.getClock().getTimeElapsed();
+
+		if (dAdvance > 0)
+		{
+			engine.advanceTime(dAdvance);
+		}
+	}
+
+
+	// Method to wait for the wall clock to reach the given System.nanoTime()
+	private static void waitUntil(long lDeadline)
+	{
+		long lWait;
+
+		while ((lWait = lDeadline - System.nanoTime()) > 0)
+		{
+			LockSupport.parkNanos(lWait);
+		}
+	}
+
+
+	// Method to stop the replay if an event didn't play out the same as it was recorded
+	private void checkInStep(boolean bInStep, String strWhat) throws IllegalStateException
+	{
+		if (!bInStep)
+		{
+			throw new IllegalStateException("The replay is out of step at event " + iEventsPlayed + ": " + strWhat + ".");
+		}
+	}
+
+
+	// Getter for the events played so far
+	public int getEventsPlayed()
+	{
+		return iEventsPlayed;
+	}
+
+
+	// Getter for the engine being played, or null if the game never started
+	public GameEngine getEngine()
+	{
+		return engine;
+	}
+
+
+	// Getter for the white tiles clicked in the hard mode, the same as the score saves; 0 if it was never reached
+	public int getWhitesClicked()
+	{
+		return engineHard == null ? 0 : engineHard.getNumberOfWhiteTilesClicked();
+	}
+
+
+	// Getter for the time survived in the hard mode, the same as the score saves; 0 if it was never reached
+	public double getTimeSurvived()
+	{
+		return engineHard == null ? 0 : engineHard.getTimeSurvived();
+	}
+
+
+	// Plays a replay and prints out how the game ended
+	// Arguments: the replay file, then "real" to play it at the speed it was played at (optional)
+	// Or: the replay archive's folder and a session id, then "real" (optional)
+	public static void main(String[] args) throws IOException
+	{
+		Replay replay;
+		int iRealArg = 1;
+		
+		if (Files.isDirectory(Paths.get(args[0])))
+		{
+			// The replay is read straight from the archive's mapping, which stays readable once the archive is closed
+			// The archive is only read, so the game can keep appending to it (and nothing it hasn't committed yet is cut off)
+			try (ReplayArchive archive = new ReplayArchive(args[0], true))
+			{
+				int iEntry = archive.findSession(Long.parseLong(args[1]));
+				
+				if (iEntry < 0)
+				{
+					System.out.println("There is no session " + args[1] + " in " + args[0] + ".");
+					return;
+				}
+				
+				replay = archive.openReplay(iEntry);
+			}
+			
+			iRealArg = 2;
+		}
+		else
+		{
+			replay = Replay.load(Paths.get(args[0]));
+		}
+		
+		ReplayPlayer player = new ReplayPlayer(args.length > iRealArg && args[iRealArg].equalsIgnoreCase("real"));
+
+		long lStart = System.nanoTime();
+		EngineState state = player.play(replay);
+
+		System.out.println(args[0] + ": " + state + " after " + player.getEventsPlayed() + " events, "
+				+ player.getWhitesClicked() + " white tiles, " + String.format("%.2f", player.getTimeSurvived()) + "s survived, "
+				+ (System.nanoTime() - lStart) / 1000 + "us");
+	}
+
+
+}
\ No newline at end of file
@@ -0,0 +1,239 @@
+/*
+ * Class: ReplayRecorder
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     Replay
+ *     DifficultyTable
+ *
+ * Called by classes:
+ *     GameFX
+ *     GameEngine
+ *     EasyGameEngine
+ *     HardGameEngine
+ *
+ * Description:
+ *     This class records a game session as it is played, in the format Replay reads back. GameFX
+ *     starts one with the session's seed and the difficulty table it is played with, and hands it
+ *     to each game mode's engine, which records its own clicks, rounds, grid updates and end;
+ *     refer to Replay for the format. Once the game is over (a black tile, or the clock running
+ *     out or being survived), the game mode hands the replay to SaveUserInfo, which keeps it in
+ *     the replay archive along with the score.
+ *
+ *     A session is a few hundred events at most, so it is all kept in memory until then.
+ *
+ * Attrtibutes:
+ *     private static final int MAX_EVENT_BYTES - The most bytes a single event can take
+ *     private final long lSeed - The seed of the session's GameRandom, which is also its session id
+ *     private ByteBuffer bufReplay - The bytes recorded so far; grown as needed
+ *     private long lLastNanos - The game time of the last event, which the next one is written relative to
+ *     private boolean bFinished - Whether the game is over
+ *
+ * Interesting Methods:
+ *     recordClick(int, TileColor, double) - Records a click on a cell, and the color it was
+ *     recordTimeUp(EngineState, double) - Records the clock ending the game, which finishes the replay
+ *     getReplay() - Reads back what has been recorded so far
+ *
+ */
+
+
+// Imports
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+public class ReplayRecorder
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// A tag byte and two varints, at 10 bytes each at the very most
+	private static final int MAX_EVENT_BYTES = 1 + 10 + 10;
+
+	// The replay so far
+	private final long lSeed;
+	private ByteBuffer bufReplay = ByteBuffer.allocate(1024);
+	private long lLastNanos = 0;
+
+	// Whether the game is over
+	private boolean bFinished = false;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the seed of the session's GameRandom; the game is played with the default difficulty table
+	public ReplayRecorder(long lSeed)
+	{
+		this(lSeed, DifficultyTable.DEFAULT);
+	}
+
+
+	// Constructor, also taking in the difficulty table the game is played with, which is recorded so it plays back the same
+	public ReplayRecorder(long lSeed, DifficultyTable table)
+	{
+		this.lSeed = lSeed;
+
+		bufReplay.putInt(Replay.MAGIC);
+		bufReplay.put(Replay.VERSION);
+		bufReplay.putLong(lSeed);
+		Replay.writeTable(bufReplay, table);
+	}
+
+
+	// Method to record the easy mode starting on a grid of the given size; its first grid is populated right after
+	public void recordEasyStart(int iGridSize)
+	{
+		recordSegmentStart(ReplayEventType.EasyStart);
+		Replay.writeVarLong(bufReplay, iGridSize);
+	}
+
+
+	// Method to record the hard mode starting on a grid of the given size; its grid is populated right after
+	public void recordHardStart(int iGridSize)
+	{
+		recordSegmentStart(ReplayEventType.HardStart);
+		Replay.writeVarLong(bufReplay, iGridSize);
+	}
+
+
+	// Method to record the next easy round starting; its grid is populated right after
+	public void recordRoundStart()
+	{
+		recordSegmentStart(ReplayEventType.RoundStart);
+	}
+
+
+	// Method to record a click on a cell, the color it was, and the game time it happened at
+	// A black tile ends the game, so it also finishes the replay
+	public void recordClick(int iCell, TileColor color, double dSeconds)
+	{
+		ensureRoom();
+		bufReplay.put((byte) (ReplayEventType.Click.ordinal() | color.ordinal() << 3));
+		Replay.writeVarLong(bufReplay, iCell);
+		writeTime(dSeconds);
+
+		if (color == TileColor.Black)
+		{
+			finish();
+		}
+	}
+
+
+	// Method to record the hard mode grid updating itself at the given game time
+	public void recordGridUpdate(double dSeconds)
+	{
+		ensureRoom();
+		bufReplay.put((byte) ReplayEventType.GridUpdate.ordinal());
+		writeTime(dSeconds);
+	}
+
+
+	// Method to record the clock ending the game, either running out or being survived, which finishes the replay
+	public void recordTimeUp(EngineState state, double dSeconds)
+	{
+		ensureRoom();
+		bufReplay.put((byte) (ReplayEventType.TimeUp.ordinal() | state.ordinal() << 3));
+		writeTime(dSeconds);
+		finish();
+	}
+
+
+	// Method to record an event that starts the clock over
+	private void recordSegmentStart(ReplayEventType type)
+	{
+		ensureRoom();
+		bufReplay.put((byte) type.ordinal());
+		lLastNanos = 0;
+	}
+
+
+	// Method to write an event's game time, as the nanoseconds since the last event
+	// The clock only ever moves forward within a round, so the difference is never negative
+	private void writeTime(double dSeconds)
+	{
+		long lNanos = Math.round(dSeconds * 1e9);
+		Replay.writeVarLong(bufReplay, Math.max(0, lNanos - lLastNanos));
+		lLastNanos = Math.max(lLastNanos, lNanos);
+	}
+
+
+	// Method to double the buffer if the next event might not fit
+	private void ensureRoom()
+	{
+		if (bufReplay.remaining() < MAX_EVENT_BYTES)
+		{
+			ByteBuffer bufLarger = ByteBuffer.allocate(bufReplay.capacity() * 2);
+			bufReplay.flip();
+			bufLarger.put(bufReplay);
+			bufReplay = bufLarger;
+		}
+	}
+
+
+	// Method to mark the game as over; nothing more should be recorded after this
+	private void finish()
+	{
+		bFinished = true;
+	}
+
+
+	// Method to save what has been recorded so far to a file of its own, creating its folder if needed
+	// The game keeps its replays in the replay archive instead; this is for passing one replay around
+	public void save(Path path) throws IOException
+	{
+		if (path.getParent() != null)
+		{
+			Files.createDirectories(path.getParent());
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer bufBytes = getBytes();
+
+			while (bufBytes.hasRemaining())
+			{
+				channel.write(bufBytes);
+			}
+		}
+	}
+
+
+	// Getter for the bytes recorded so far, as a read-only view
+	public ByteBuffer getBytes()
+	{
+		ByteBuffer bufBytes = bufReplay.duplicate();
+		bufBytes.flip();
+		return bufBytes.asReadOnlyBuffer();
+	}
+
+
+	// Getter for what has been recorded so far, to be read back
+	public Replay getReplay()
+	{
+		return new Replay(getBytes());
+	}
+
+
+	// Getter for the seed of the session's GameRandom, which is also its session id in the replay archive
+	public long getSeed()
+	{
+		return lSeed;
+	}
+
+
+	// Getter for whether the game is over
+	public boolean isFinished()
+	{
+		return bFinished;
+	}
+
+
+}
\ No newline at end of file
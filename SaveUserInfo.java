@@ -8,34 +8,59 @@
  * Date(s): March - April 2017
  * 
  * Classes called:
- *     None
+ *     ScoreRecord
+ *     ScoreLog
+ *     ScoreWriter
+ *     Leaderboard
+ *     ReplayRecorder
+ *     ReplayArchive
+ *     GameEvent
  * 
  * Called by classes:
  *     HardGameMode
+ *     EasyGameMode
+ *     MenuFX
  * 
  * Description:
  *     This class writes the user's input name and final score to a file upon finishing, either
- *     winning or failing, HardGameMode.
+ *     winning or failing, HardGameMode. Scores are appended to a binary ScoreLog (scores.dat), 
+ *     which can be read back record by record, instead of the free-text scores.txt. Scores for
+ *     scores.dat are handed to a ScoreWriter, which writes them (and updates the leaderboard) on
+ *     a thread of its own, so the game never waits on the disk once the user has entered a name.
+ *     The replay of the game goes along with the score, into the replay archive (replays/);
+ *     games that end in the easy mode have no score, but their replays are archived all the same.
  * 
  * Attrtibutes:
- *     private String strUserFinishType - Used to save the relevant user finish type
+ *     public static final String SCORES_FILE - The score log the scores are appended to
+ *     public static final String REPLAY_ARCHIVE - The folder of the replay archive the games' replays are kept in
+ *     public static final int LEADERBOARD_SIZE - How many scores each of the leaderboard's top lists holds
+ *     private static ScoreWriter writerScores - The writer of the scores file, once it has been started
  *     private String strFinishInfo - Used to save relevant information on the user's finish type
  *     private UserFinishType finishType - Enumeration instance used to save the user's finish
  *     									   type passed in from HardGameMode
+ *     private ReplayRecorder recorder - The recording of the game the score was made in, or null
  * 
  * Interesting Methods:
- *     appendUserScore() - Appends user information to the scores.txt file
+ *     appendUserScore() - Asks for the user's name and queues user information to be saved to the score log
+ *     saveUserScore() - Queues one score record for the scores file; no JavaFX involved
+ *     writeUserScore() - Appends one score record to a score log and waits for it; no JavaFX involved
  *     displayTextFieldInput() - Returns a string of the user's input name
+ *     archiveReplay() - Queues the replay of a game that ended without a score
+ *     getLeaderboard() - Returns the leaderboard, once the score writer has loaded it
+ *     getReplayArchive() - Returns the replay archive, once the score writer has opened it
  * 
  */
 
 
 // Imports
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
@@ -52,15 +77,27 @@ public class SaveUserInfo
 	/* ----- ATTRIBUTES ----- */
 	/* ---------------------- */
 	
-	// String used to store the user's finish type, of which there are only three:
-	// Fail by running out of time, fail by clicking a black tile, and a win
-	private String strUserFinishType = new String();
+	// The score log the scores are saved to, relative to wherever the game is run from
+	// Its index is saved right beside it, as scores.dat.idx
+	public static final String SCORES_FILE = "scores.dat";
+	
+	// The replays of the games are kept in an archive of their own, beside the scores; refer to ReplayArchive
+	public static final String REPLAY_ARCHIVE = "replays";
+	
+	// The writer of the scores file, started the first time it is needed and closed when the program exits
+	// It loads the leaderboard and keeps it up to date, too
+	public static final int LEADERBOARD_SIZE = 10;
+	private static ScoreWriter writerScores = null;
 	
 	// String used to store the information related to the user's finish type
 	private String strFinishInfo = new String();
 	
-	// Finish type reference attribute used to locally store the user's finish type
+	// Finish type reference attribute used to locally store the user's finish type, of which there are only three:
+	// Fail by running out of time, fail by clicking a black tile, and a win
 	private UserFinishType finishType;
+	
+	// The recording of the game, handed in from HardGameMode to be archived along with the score
+	private ReplayRecorder recorder = null;
 
 	
 	/* -------------------------------- */
@@ -68,91 +105,163 @@ public class SaveUserInfo
 	/* -------------------------------- */
 	
 	// Method to begin writing user info to the file
+	// Only the name prompt happens here, on the JavaFX application thread; the write itself happens on the score writer's thread
+	// Once it is done, the result is reported back on the JavaFX application thread
 	public void appendUserScore(UserFinishType finishType, int iWhitesClicked, double dTimeSurvived) 
 	{
-		// Depending on what finishType is input as the parameter (during the method call in HardGameMode),
-		// change the value of the UserFinishType string to make sense to the user 
-		// The string chosen will be passed into the file write, and added as part of a user-instance header
-		// In each if block, set the local attribute for the user's finish type and update the string appropriately
-		if (finishType == UserFinishType.Fail_BlackTile)
+		// Set the finish type, ask for the user's name, then queue it all up for the scores file
+		setFinishType(finishType);
+		saveUserScore(displayTextFieldInput(), iWhitesClicked, dTimeSurvived)
+				.whenCompleteAsync((iRecord, e) -> reportUserScore(e), Platform::runLater);
+	}
+	
+	
+	// Method to tell the user whether their score was saved
+	// Called on the JavaFX application thread, once the score writer is done with the score
+	private void reportUserScore(Throwable e)
+	{
+		if (e == null)
 		{
-			this.finishType = finishType;
-			strUserFinishType = "LOSER - BLACK TILE";
+			System.out.println("Your score has been saved to " + SCORES_FILE + ".");
+			return;
 		}
 		
-		if (finishType == UserFinishType.Fail_OutOfTime)
+		// The same message as ever goes to the console; the user is told as well, since the score is now lost
+		System.out.println("An error occured during the file write. What on earth did you do?");
+		
+		Alert alertError = new Alert(AlertType.WARNING, "Your score could not be saved to " + SCORES_FILE + ".");
+		alertError.setTitle("-Game Over-");
+		alertError.setHeaderText(null);
+		alertError.show();
+	}
+	
+	
+	// Method to set the user's finish type
+	// The finish type is passed in from HardGameMode, and is saved as part of the user's score
+	public void setFinishType(UserFinishType finishType)
+	{
+		this.finishType = finishType;
+	}
+	
+	
+	// Method to set the recording of the game the score was made in, so its replay is archived along with it
+	public void setReplay(ReplayRecorder recorder)
+	{
+		this.recorder = recorder;
+	}
+	
+	
+	// Method to queue one score record for the scores file, using the finish type (and replay, if any) set beforehand
+	// Returns right away; the future is completed with the record's number once it is on disk
+	public CompletableFuture<Integer> saveUserScore(String strName, int iWhitesClicked, double dTimeSurvived)
+	{
+		// The user's name is passed in from the string the user inputs into a text field, through the method 
+		// displayTextFieldInput(); the number of white tiles clicked and the time survived are passed in from HardGameMode
+		ScoreRecord record = createRecord(strName, iWhitesClicked, dTimeSurvived);
+		
+		if (recorder == null)
 		{
-			this.finishType = finishType;
-			strUserFinishType = "LOSER - OUT OF TIME";
+			return getScoreWriter().submit(record);
 		}
 		
-		if (finishType == UserFinishType.Win)
+		return getScoreWriter().submit(record, recorder.getSeed(), recorder.getBytes());
+	}
+	
+	
+	// Method to queue the replay of a game that ended without a score, i.e. in the easy mode
+	// It is archived with an empty score, so it can still be found by its session id
+	public static void archiveReplay(UserFinishType finishType, ReplayRecorder recorder)
+	{
+		if (recorder == null)
 		{
-			this.finishType = finishType;
-			strUserFinishType = "WINNER";
+			return;
 		}
 		
-		// Create a BufferedWriter (much faster than FileWriter... line by line vs. character by character)
-		// Open (or create, if it doesn't already exist) the file, scores.txt, to save the user scores to
+		ScoreRecord record = new ScoreRecord(finishType, "", 0, 0, System.currentTimeMillis());
+		getScoreWriter().submitReplay(record, recorder.getSeed(), recorder.getBytes());
+	}
+	
+	
+	// Method to append one score record to the given score log and wait for it, using the finish type set beforehand
+	// Kept apart from the name prompt so the file write can be run (and measured) without JavaFX
+	// The scores file is only ever written by its score writer, so a score for it is queued there and waited on instead
+	public void writeUserScore(String strFileName, String strName, int iWhitesClicked, double dTimeSurvived)
+	{
+		// Open (or create, if it doesn't already exist) the score log, and append the record to its end
 		// This is known as a try-with-resources file write, which implements the exception handling needed
 		// for ANY file I/O, as well as opening and closing our file in the try's arguments
-		// Remove keyword 'true' in FileWriter's constructor to turn off append mode
-		try (BufferedWriter buffwrWriter = new BufferedWriter(new FileWriter("scores.txt", true))) 
+		// Printed out, a record still looks like the user-instance blocks scores.txt always had; refer to ScoreRecord
+		try 
 		{
-			// Skip two lines between each user-instance block
-			// Makes pretty blocks of text for each appending of user information
-			buffwrWriter.newLine();
-			buffwrWriter.newLine();
-			// Add in the user's finish type from updated string inside of a user-instance block header
-			buffwrWriter.write("<-> ----- " + strUserFinishType + " ----- <->");
-			buffwrWriter.newLine();
-			// The user's name is passed in from the string the user inputs into a text field, through
-			// the method displayTextFieldInput()
-			buffwrWriter.write("NAME: ");
-			buffwrWriter.write(displayTextFieldInput());
-			buffwrWriter.newLine();
-			// The number of white tiles clicked is passed in from HardGameMode
-			buffwrWriter.write("WHITE TILES CLICKED: ");
-			buffwrWriter.write("" + iWhitesClicked);
-			buffwrWriter.newLine();
-			// The time survived is passed in from HardGameMode
-			buffwrWriter.write("TIME SURVIVED: ");
-			buffwrWriter.write("" + String.format("%.2f", dTimeSurvived) + " seconds");
-			buffwrWriter.newLine();
-			// Begin writing a user-instance block footer
-			buffwrWriter.write("<-> ------");
-			
-			// For the length of the user finish type string passed to the user-instance block header,
-			// add in an equal amount of dashes to the user-instance block footer (so pretty!)
-			for (int i = 0; i < strUserFinishType.length(); i++)
+			if (strFileName.equals(SCORES_FILE))
 			{
-				buffwrWriter.write("-");
+				saveUserScore(strName, iWhitesClicked, dTimeSurvived).join();
+				return;
 			}
 			
-			// Finish writing a user-instance block footer
-			buffwrWriter.write("------ <->");
+			// Any other log is written right here, which is timed for Java Flight Recorder, if a recording is running
+			ScoreWriteEvent event = new ScoreWriteEvent();
+			event.start();
+			
+			try (ScoreLog log = new ScoreLog(strFileName)) 
+			{
+				log.append(createRecord(strName, iWhitesClicked, dTimeSurvived));
+			}
 			
-			// For example, a user-instance block in the file scores.txt may look like this:
-			// <-> ----- LOSER - OUT OF TIME ----- <->
-			// NAME: Tyler Procko
-			// WHITE TILES CLICKED: 15
-			// TIME SURVIVED: 15.051 seconds
-			// <-> ------------------------------- <->
-			// Where the finish type in the header varies and changes the footer's length
+			event.file = strFileName;
+			event.scores = 1;
+			event.finish();
 		} 
 		
 		// Catch exception if necessary and print an error message to the console
 		// There are no extensive measures to take if an IOException occurs- it never should
-		// If the file is deleted/moved when the BufferedWriter is open, then the exception WILL occur
-		// But, any good OS will prevent the user from doing so; an in-use alert will appear, blocking
-		// any moving/deletion while the file and its writer are in use
-		catch (IOException e) 
+		// If the file is deleted/moved when the log is open, or it isn't a score log, then the exception WILL occur
+		// A log left half-written by a crash is not a problem; it is fixed up the next time it is opened
+		catch (IOException | CompletionException e) 
 		{
 			System.out.println("An error occured during the file write. What on earth did you do?");
 		}
 	}
 	
 	
+	// Method to make a score record out of the user's score, stamped with the current time
+	private ScoreRecord createRecord(String strName, int iWhitesClicked, double dTimeSurvived)
+	{
+		return new ScoreRecord(finishType, strName, iWhitesClicked, dTimeSurvived, System.currentTimeMillis());
+	}
+	
+	
+	// Getter for the writer of the scores file, starting it the first time
+	// It is closed as the program exits, so that scores still in its queue are written first
+	public static synchronized ScoreWriter getScoreWriter()
+	{
+		if (writerScores == null)
+		{
+			ScoreWriter writer = new ScoreWriter(SCORES_FILE, LEADERBOARD_SIZE, REPLAY_ARCHIVE);
+			Runtime.getRuntime().addShutdownHook(new Thread(writer::close));
+			writerScores = writer;
+		}
+		
+		return writerScores;
+	}
+	
+	
+	// Getter for the leaderboard of the scores file
+	// It is loaded by the score writer, off of the JavaFX application thread, and kept up to date by it after that
+	public static CompletableFuture<Leaderboard> getLeaderboard()
+	{
+		return getScoreWriter().getLeaderboard();
+	}
+	
+	
+	// Getter for the replay archive the games' replays are kept in, or null if it could not be opened
+	// A leaderboard entry's run is found in it with findRun(), and opened straight from the archive's files with openReplay()
+	public static CompletableFuture<ReplayArchive> getReplayArchive()
+	{
+		return getScoreWriter().getArchive();
+	}
+	
+	
 	// Method to take in the user's name through a text field
 	// Does a little bit more than just returning a string, but the end goal of this method is to get the user's name
 	// Sometimes, because of the timelines' rates, finishing the 6x6 round, which calls this class that implements the 
@@ -230,7 +339,7 @@ public class SaveUserInfo
 			System.out.println("Illegal State Exception has been caught. The game will continue running normally.");
 			
 			// Return to main menu
-			MenuFX.menuFXinstance.getStage().getScene().setRoot(MenuFX.menuFXinstance.getMenuVBox());
+			MenuFX.menuFXinstance.returnToMenu();
 		}
 		
 		// Whatever is in the text field upon the stage closing is returned as a string
@@ -242,9 +351,27 @@ public class SaveUserInfo
 
 // Enumeration for user finish types
 // Used in HardGameMode to pass in the finish types, so the proper informational strings are displayed
+// Saved by ordinal in the score log, so new finish types must only ever be added to the end
 enum UserFinishType
 {
-	Fail_BlackTile,
-	Fail_OutOfTime,
-	Win
+	Fail_BlackTile("LOSER - BLACK TILE"),
+	Fail_OutOfTime("LOSER - OUT OF TIME"),
+	Win("WINNER");
+	
+	
+	// The label shown in a user-instance block header
+	private final String strLabel;
+	
+	
+	private UserFinishType(String strLabel)
+	{
+		this.strLabel = strLabel;
+	}
+	
+	
+	// Getter for the label
+	public String getLabel()
+	{
+		return strLabel;
+	}
 }
\ No newline at end of file
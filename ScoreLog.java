@@ -0,0 +1,349 @@
+/*
+ * Class: ScoreLog
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     ScoreRecord
+ * 
+ * Called by classes:
+ *     SaveUserInfo
+ *     ScoreWriter
+ *     Leaderboard
+ *     ReplayArchive
+ * 
+ * Description:
+ *     This class is the append-only file of saved scores, which replaces the free-text 
+ *     scores.txt. Records are kept in binary, one after the other, and are never changed once
+ *     written; a sidecar index file holds the position of every record, 8 bytes apiece, so the
+ *     n-th record can be read without reading anything before it.
+ * 
+ *     The data file starts with a short header (a magic number and a version). Every record in 
+ *     it is framed by its length before it and a CRC32 checksum of it after it. A record is 
+ *     written and forced to disk before its index entry is written, so after a crash the data
+ *     file is always right: opening the log drops any index entries past the last whole record,
+ *     re-indexes whole records the index missed, and cuts off a half-written record at the end.
+ * 
+ * Attrtibutes:
+ *     public static final String INDEX_SUFFIX - Added to the data file's name for the index file
+ *     private static final int MAGIC - The first 4 bytes of a score log
+ *     private static final int VERSION - The version of the format, after the magic number
+ *     private static final int HEADER_BYTES - The size of the header
+ *     private static final int FRAME_BYTES - The size of a record's length and checksum together
+ *     private static final int INDEX_ENTRY_BYTES - The size of an index entry
+ *     private FileChannel channelData - The data file
+ *     private FileChannel channelIndex - The index file
+ *     private long lDataEnd - Where the next record is written in the data file
+ *     private int iRecordCount - The number of records in the log
+ *     private ByteBuffer bufIndexEntry - Reused to write and read index entries
+ * 
+ * Interesting Methods:
+ *     append(ScoreRecord) - Writes a record to the end of the log, returning its number
+ *     appendAll(List<ScoreRecord>) - Writes any number of records with a single write and a single force
+ *     read(int) - Reads any record by its number
+ *     recover() - Brings the data and index files back in step when the log is opened
+ * 
+ */
+
+
+// Imports
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+
+public class ScoreLog implements Closeable
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	// The index file is named after the data file, i.e. scores.dat and scores.dat.idx
+	public static final String INDEX_SUFFIX = ".idx";
+	
+	// "TSCR", then the format version
+	private static final int MAGIC = 0x54534352;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	
+	// Every record has its length (4 bytes) before it and its checksum (4 bytes) after it
+	private static final int FRAME_BYTES = 8;
+	
+	// Every index entry is the position of a record in the data file
+	private static final int INDEX_ENTRY_BYTES = 8;
+	
+	// The two files
+	private FileChannel channelData;
+	private FileChannel channelIndex;
+	
+	// Where the log stands
+	private long lDataEnd;
+	private int iRecordCount;
+	private ByteBuffer bufIndexEntry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// Constructor, opening (or creating) the log with the given data file name, and its index file beside it
+	public ScoreLog(String strFileName) throws IOException
+	{
+		channelData = FileChannel.open(Paths.get(strFileName), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		channelIndex = FileChannel.open(Paths.get(strFileName + INDEX_SUFFIX), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		try
+		{
+			recover();
+		}
+		catch (IOException e)
+		{
+			close();
+			throw e;
+		}
+	}
+	
+	
+	// Method to bring the data and index files back in step, after a crash or otherwise
+	// Only the last indexed record and anything after it are looked at, so opening a large log is still quick
+	private void recover() throws IOException
+	{
+		// A new log, or one whose header never made it to disk: start it over
+		if (channelData.size() < HEADER_BYTES)
+		{
+			ByteBuffer bufHeader = ByteBuffer.allocate(HEADER_BYTES);
+			bufHeader.putInt(MAGIC).putInt(VERSION).flip();
+			
+			channelData.truncate(0);
+			writeFully(channelData, bufHeader, 0);
+			channelData.force(true);
+			channelIndex.truncate(0);
+			
+			lDataEnd = HEADER_BYTES;
+			iRecordCount = 0;
+			return;
+		}
+		
+		ByteBuffer bufHeader = readFully(channelData, 0, HEADER_BYTES);
+		
+		if (bufHeader.getInt() != MAGIC || bufHeader.getInt() != VERSION)
+		{
+			throw new IOException("This is not a score log, or it was written by a different version of the game.");
+		}
+		
+		// Trust the index up to the last entry that points at a whole record; any entries after it are dropped
+		iRecordCount = (int) (channelIndex.size() / INDEX_ENTRY_BYTES);
+		lDataEnd = HEADER_BYTES;
+		
+		while (iRecordCount > 0)
+		{
+			long lRecordEnd = findRecordEnd(readIndexEntry(iRecordCount - 1));
+			
+			if (lRecordEnd > 0)
+			{
+				lDataEnd = lRecordEnd;
+				break;
+			}
+			
+			iRecordCount--;
+		}
+		
+		channelIndex.truncate((long) iRecordCount * INDEX_ENTRY_BYTES);
+		
+		// Index any whole records written after that, which the index never got to
+		for (long lRecordEnd = findRecordEnd(lDataEnd); lRecordEnd > 0; lRecordEnd = findRecordEnd(lDataEnd))
+		{
+			writeIndexEntry(iRecordCount, lDataEnd);
+			iRecordCount++;
+			lDataEnd = lRecordEnd;
+		}
+		
+		// Whatever is left is a half-written record
+		channelData.truncate(lDataEnd);
+	}
+	
+	
+	// Method to check the record at the given position, returning where it ends, or -1 if it isn't a whole, undamaged record
+	private long findRecordEnd(long lPosition) throws IOException
+	{
+		long lSize = channelData.size();
+		
+		if (lPosition < HEADER_BYTES || lPosition + FRAME_BYTES > lSize)
+		{
+			return -1;
+		}
+		
+		int iLength = readFully(channelData, lPosition, 4).getInt();
+		
+		if (iLength < ScoreRecord.FIXED_BYTES || lPosition + FRAME_BYTES + iLength > lSize)
+		{
+			return -1;
+		}
+		
+		ByteBuffer bufRecord = readFully(channelData, lPosition + 4, iLength + 4);
+		CRC32 crc = new CRC32();
+		crc.update(bufRecord.array(), 0, iLength);
+		
+		if ((int) crc.getValue() != bufRecord.getInt(iLength))
+		{
+			return -1;
+		}
+		
+		return lPosition + FRAME_BYTES + iLength;
+	}
+	
+	
+	// Method to write a record to the end of the log, returning its number
+	// The record is on disk before this returns; the index entry is written after it, and can always be rebuilt
+	public int append(ScoreRecord record) throws IOException
+	{
+		return appendAll(Collections.singletonList(record));
+	}
+	
+	
+	// Method to write records to the end of the log as a group, returning the number of the first one
+	// They are written all at once and forced to disk once, so a group costs about the same as a single record
+	// Then their index entries are written, also all at once
+	public synchronized int appendAll(List<ScoreRecord> listRecords) throws IOException
+	{
+		int iBytes = 0;
+		
+		for (ScoreRecord record : listRecords)
+		{
+			iBytes += FRAME_BYTES + record.getEncodedLength();
+		}
+		
+		ByteBuffer bufRecords = ByteBuffer.allocate(iBytes);
+		ByteBuffer bufIndexEntries = ByteBuffer.allocate(listRecords.size() * INDEX_ENTRY_BYTES);
+		CRC32 crc = new CRC32();
+		
+		for (ScoreRecord record : listRecords)
+		{
+			int iStart = bufRecords.position();
+			int iLength = record.getEncodedLength();
+			
+			bufIndexEntries.putLong(lDataEnd + iStart);
+			bufRecords.putInt(iLength);
+			record.writeTo(bufRecords);
+			
+			crc.reset();
+			crc.update(bufRecords.array(), iStart + 4, iLength);
+			bufRecords.putInt((int) crc.getValue());
+		}
+		
+		bufRecords.flip();
+		bufIndexEntries.flip();
+		
+		writeFully(channelData, bufRecords, lDataEnd);
+		channelData.force(false);
+		
+		writeFully(channelIndex, bufIndexEntries, (long) iRecordCount * INDEX_ENTRY_BYTES);
+		lDataEnd += iBytes;
+		
+		int iFirstRecord = iRecordCount;
+		iRecordCount += listRecords.size();
+		
+		return iFirstRecord;
+	}
+	
+	
+	// Method to read any record by its number, starting at 0
+	public synchronized ScoreRecord read(int iRecord) throws IOException, IndexOutOfBoundsException
+	{
+		if (iRecord < 0 || iRecord >= iRecordCount)
+		{
+			throw new IndexOutOfBoundsException("There is no record " + iRecord + "; the log has " + iRecordCount + ".");
+		}
+		
+		long lPosition = readIndexEntry(iRecord);
+		int iLength = readFully(channelData, lPosition, 4).getInt();
+		
+		return ScoreRecord.readFrom(readFully(channelData, lPosition + 4, iLength));
+	}
+	
+	
+	// Getter for the number of records in the log
+	public synchronized int size()
+	{
+		return iRecordCount;
+	}
+	
+	
+	// Method to read the position of a record from the index
+	private long readIndexEntry(int iRecord) throws IOException
+	{
+		bufIndexEntry.clear();
+		
+		while (bufIndexEntry.hasRemaining())
+		{
+			if (channelIndex.read(bufIndexEntry, (long) iRecord * INDEX_ENTRY_BYTES + bufIndexEntry.position()) < 0)
+			{
+				throw new IOException("The score log's index ends early.");
+			}
+		}
+		
+		return bufIndexEntry.getLong(0);
+	}
+	
+	
+	// Method to write the position of a record to the index
+	private void writeIndexEntry(int iRecord, long lPosition) throws IOException
+	{
+		bufIndexEntry.clear();
+		bufIndexEntry.putLong(lPosition).flip();
+		writeFully(channelIndex, bufIndexEntry, (long) iRecord * INDEX_ENTRY_BYTES);
+	}
+	
+	
+	// Method to read the given number of bytes at a position, or fail if the file ends first
+	private static ByteBuffer readFully(FileChannel channel, long lPosition, int iBytes) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(iBytes);
+		
+		while (buffer.hasRemaining())
+		{
+			if (channel.read(buffer, lPosition + buffer.position()) < 0)
+			{
+				throw new IOException("The score log ends early.");
+			}
+		}
+		
+		buffer.flip();
+		return buffer;
+	}
+	
+	
+	// Method to write all of a buffer at a position
+	static void writeFully(FileChannel channel, ByteBuffer buffer, long lPosition) throws IOException
+	{
+		long lStart = lPosition - buffer.position();
+		
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer, lStart + buffer.position());
+		}
+	}
+	
+	
+	@Override
+	// Method to close both files
+	public synchronized void close() throws IOException
+	{
+		try
+		{
+			channelData.close();
+		}
+		finally
+		{
+			channelIndex.close();
+		}
+	}
+	
+	
+}
\ No newline at end of file
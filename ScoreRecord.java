@@ -0,0 +1,188 @@
+/*
+ * Class: ScoreRecord
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     None
+ * 
+ * Called by classes:
+ *     SaveUserInfo
+ *     ScoreLog
+ *     ReplayArchive
+ * 
+ * Description:
+ *     This class is one saved score: how the game ended, the user's name, the white tiles they
+ *     clicked, the time they survived in hard mode and when it was saved. It also knows how to
+ *     write itself to, and read itself back from, the binary form kept in the score log.
+ * 
+ *     In binary, a record is (in order): the finish type's ordinal (1 byte), the white tiles 
+ *     clicked (4 bytes), the time survived (8 bytes), the timestamp in milliseconds since the 
+ *     epoch (8 bytes), then the name as UTF-8, preceded by its length in bytes (2 bytes).
+ * 
+ * Attrtibutes:
+ *     public static final int MAX_NAME_LENGTH - The most characters of a name that are saved
+ *     public static final int FIXED_BYTES - The size of a record in binary, not counting the name
+ *     private static final UserFinishType[] FINISH_TYPES - UserFinishType.values(), cached
+ *     private final UserFinishType finishType - How the game ended
+ *     private final String strName - The user's name
+ *     private final int iWhitesClicked - The white tiles clicked
+ *     private final double dTimeSurvived - The time survived in hard mode, in seconds
+ *     private final long lTimestamp - When the score was saved, in milliseconds since the epoch
+ *     private final byte[] arrNameBytes - The name as UTF-8, encoded once
+ * 
+ * Interesting Methods:
+ *     writeTo(ByteBuffer) - Writes the record in binary
+ *     readFrom(ByteBuffer) - Reads a record back from binary
+ * 
+ */
+
+
+// Imports
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+public class ScoreRecord
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	// Names longer than this are cut short, which keeps their length in bytes well within 2 bytes
+	public static final int MAX_NAME_LENGTH = 256;
+	
+	// Finish type, whites clicked, time survived, timestamp and the name's length
+	public static final int FIXED_BYTES = 1 + 4 + 8 + 8 + 2;
+	
+	// The finish types, indexed by ordinal
+	private static final UserFinishType[] FINISH_TYPES = UserFinishType.values();
+	
+	// The score itself
+	private final UserFinishType finishType;
+	private final String strName;
+	private final int iWhitesClicked;
+	private final double dTimeSurvived;
+	private final long lTimestamp;
+	private final byte[] arrNameBytes;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// Constructor, taking in every part of the score; a null name is saved as an empty one
+	public ScoreRecord(UserFinishType finishType, String strName, int iWhitesClicked, double dTimeSurvived, long lTimestamp)
+	{
+		if (strName == null)
+		{
+			strName = "";
+		}
+		
+		if (strName.length() > MAX_NAME_LENGTH)
+		{
+			strName = strName.substring(0, MAX_NAME_LENGTH);
+		}
+		
+		this.finishType = finishType;
+		this.strName = strName;
+		this.iWhitesClicked = iWhitesClicked;
+		this.dTimeSurvived = dTimeSurvived;
+		this.lTimestamp = lTimestamp;
+		
+		arrNameBytes = strName.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	
+	// Method to write the record in binary, at the buffer's position
+	public void writeTo(ByteBuffer buffer)
+	{
+		buffer.put((byte) finishType.ordinal());
+		buffer.putInt(iWhitesClicked);
+		buffer.putDouble(dTimeSurvived);
+		buffer.putLong(lTimestamp);
+		buffer.putShort((short) arrNameBytes.length);
+		buffer.put(arrNameBytes);
+	}
+	
+	
+	// Method to read a record back from binary, at the buffer's position
+	public static ScoreRecord readFrom(ByteBuffer buffer) throws IllegalArgumentException
+	{
+		int iFinishType = buffer.get();
+		
+		if (iFinishType < 0 || iFinishType >= FINISH_TYPES.length)
+		{
+			throw new IllegalArgumentException("Unknown finish type " + iFinishType + ".");
+		}
+		
+		int iWhitesClicked = buffer.getInt();
+		double dTimeSurvived = buffer.getDouble();
+		long lTimestamp = buffer.getLong();
+		byte[] arrNameBytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(arrNameBytes);
+		
+		return new ScoreRecord(FINISH_TYPES[iFinishType], new String(arrNameBytes, StandardCharsets.UTF_8), iWhitesClicked, dTimeSurvived, lTimestamp);
+	}
+	
+	
+	// Getter for the size of this record in binary
+	public int getEncodedLength()
+	{
+		return FIXED_BYTES + arrNameBytes.length;
+	}
+	
+	
+	// Getter for the finish type
+	public UserFinishType getFinishType()
+	{
+		return finishType;
+	}
+	
+	
+	// Getter for the name
+	public String getName()
+	{
+		return strName;
+	}
+	
+	
+	// Getter for the white tiles clicked
+	public int getWhitesClicked()
+	{
+		return iWhitesClicked;
+	}
+	
+	
+	// Getter for the time survived
+	public double getTimeSurvived()
+	{
+		return dTimeSurvived;
+	}
+	
+	
+	// Getter for the timestamp
+	public long getTimestamp()
+	{
+		return lTimestamp;
+	}
+	
+	
+	@Override
+	// Method to print the record out the same way scores.txt always has
+	// <-> ----- LOSER - OUT OF TIME ----- <->
+	// NAME: Tyler Procko
+	// WHITE TILES CLICKED: 15
+	// TIME SURVIVED: 15.05 seconds
+	// <-> ------------------------------- <->
+	public String toString()
+	{
+		return "<-> ----- " + finishType.getLabel() + " ----- <->" + System.lineSeparator()
+				+ "NAME: " + strName + System.lineSeparator()
+				+ "WHITE TILES CLICKED: " + iWhitesClicked + System.lineSeparator()
+				+ "TIME SURVIVED: " + String.format("%.2f", dTimeSurvived) + " seconds" + System.lineSeparator()
+				+ "<-> ------" + "-".repeat(finishType.getLabel().length()) + "------ <->";
+	}
+	
+	
+}
\ No newline at end of file
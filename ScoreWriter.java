@@ -0,0 +1,434 @@
+/*
+ * Class: ScoreWriter
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     ScoreLog
+ *     ScoreRecord
+ *     Leaderboard
+ *     ReplayArchive
+ *     GameEvent
+ *
+ * Called by classes:
+ *     SaveUserInfo
+ *
+ * Description:
+ *     This class saves scores to a score log on a thread of its own, so that the JavaFX application
+ *     thread never waits on the disk at game over. Scores are queued up and handed back a future
+ *     right away; the writer thread takes whatever has queued up since its last write and appends
+ *     it all as one group, forced to disk once, then completes the futures and brings the
+ *     leaderboard up to date.
+ *
+ *     A score can come with the replay of the game it was scored in. If the writer was given a
+ *     replay archive, the replays of each group are appended to it right after their scores, with
+ *     one commit for the group. Replays of games that ended before a score was made (i.e. in the
+ *     easy mode) can be queued on their own, without a score going to the score log.
+ *
+ *     The writer owns its score log and leaderboard for as long as it runs, so nothing else should
+ *     write to the same file at the same time. It is closed when the program exits, after any
+ *     scores still in the queue have been written.
+ *
+ * Attrtibutes:
+ *     public static final int MAX_BATCH - The most scores written as one group
+ *     private static final PendingScore STOP - Queued by close() to stop the writer thread
+ *     private final String strFileName - The score log written to
+ *     private final int iTopK - How many scores each of the leaderboard's top lists holds
+ *     private final String strArchiveDirectory - The replay archive written to, or null
+ *     private final BlockingQueue<PendingScore> queuePending - Scores waiting to be written
+ *     private final CompletableFuture<Leaderboard> futureLeaderboard - The leaderboard, once the writer thread has loaded it
+ *     private final CompletableFuture<ReplayArchive> futureArchive - The replay archive, once the writer thread has opened it
+ *     private final Thread threadWriter - The thread that does all of the writing
+ *     private boolean bClosed - Whether close() has been called; only read or set while holding the writer's lock
+ *
+ * Interesting Methods:
+ *     submit(ScoreRecord) - Queues a score, returning a future of its record number
+ *     submit(ScoreRecord, long, ByteBuffer) - Queues a score along with the replay of its game
+ *     writeLoop() - The writer thread; takes groups off of the queue and commits them
+ *     commit(ScoreLog, Leaderboard, List<PendingScore>) - Appends a group with a single force
+ *     close() - Writes whatever is queued, then stops the writer thread
+ *
+ */
+
+
+// Imports
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+
+public class ScoreWriter implements Closeable
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// Any more than this many scores waiting are left for the next group
+	public static final int MAX_BATCH = 256;
+
+	// Queued last, to tell the writer thread there is nothing more coming
+	private static final PendingScore STOP = new PendingScore(null, false, 0, null);
+
+	// The score log and the size of its leaderboard
+	private final String strFileName;
+	private final int iTopK;
+
+	// Where the replays go, if anywhere
+	private final String strArchiveDirectory;
+
+	// The queue between the callers and the writer thread
+	private final BlockingQueue<PendingScore> queuePending = new LinkedBlockingQueue<>();
+	private final CompletableFuture<Leaderboard> futureLeaderboard = new CompletableFuture<>();
+	private final CompletableFuture<ReplayArchive> futureArchive = new CompletableFuture<>();
+
+	// The writer thread; a daemon, so a stuck disk can never keep the program open
+	private final Thread threadWriter;
+	private boolean bClosed = false;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the score log to write to and the size of its leaderboard, and starting the writer thread
+	// Replays are not kept
+	public ScoreWriter(String strFileName, int iTopK)
+	{
+		this(strFileName, iTopK, null);
+	}
+
+
+	// Constructor, also taking in the folder of the replay archive the scores' replays are kept in
+	public ScoreWriter(String strFileName, int iTopK, String strArchiveDirectory)
+	{
+		this.strFileName = strFileName;
+		this.iTopK = iTopK;
+		this.strArchiveDirectory = strArchiveDirectory;
+
+		threadWriter = new Thread(this::writeLoop, "ScoreWriter-" + strFileName);
+		threadWriter.setDaemon(true);
+		threadWriter.start();
+	}
+
+
+	// Method to queue a score to be written, returning right away
+	// The future is completed on the writer thread, with the score's record number once it is on disk, or with the IOException that stopped it
+	public CompletableFuture<Integer> submit(ScoreRecord record)
+	{
+		return enqueue(new PendingScore(record, true, 0, null));
+	}
+
+
+	// Method to queue a score to be written along with the replay of the game it was scored in, returning right away
+	// The future is the same as submit()'s; the replay is archived right after the score, if the writer has an archive
+	public CompletableFuture<Integer> submit(ScoreRecord record, long lSessionId, ByteBuffer bufReplay)
+	{
+		return enqueue(new PendingScore(record, true, lSessionId, bufReplay));
+	}
+
+
+	// Method to queue only a replay to be archived, for a game that ended without a score to save, returning right away
+	// The record goes to the archive alone, and the future is completed with -1 once the replay's group is done
+	public CompletableFuture<Integer> submitReplay(ScoreRecord record, long lSessionId, ByteBuffer bufReplay)
+	{
+		return enqueue(new PendingScore(record, false, lSessionId, bufReplay));
+	}
+
+
+	// Method to queue a score, or fail it right away if the writer has been closed
+	// Checked and queued under the same lock as close(), so no score can end up queued behind STOP, where it would never be written
+	private synchronized CompletableFuture<Integer> enqueue(PendingScore pending)
+	{
+		if (bClosed)
+		{
+			pending.future.completeExceptionally(new IOException("The score writer for " + strFileName + " has been closed."));
+		}
+		else
+		{
+			queuePending.add(pending);
+		}
+
+		return pending.future;
+	}
+
+
+	// Getter for the leaderboard of the score log
+	// It is loaded by the writer thread before any score is written, and brought up to date after every group
+	public CompletableFuture<Leaderboard> getLeaderboard()
+	{
+		return futureLeaderboard;
+	}
+
+
+	// Getter for the replay archive, or null if the writer wasn't given one (or it could not be opened)
+	// It is opened by the writer thread before any score is written; it is safe to read from any thread
+	public CompletableFuture<ReplayArchive> getArchive()
+	{
+		return futureArchive;
+	}
+
+
+	// The writer thread: open the log and the archive and load the leaderboard, then commit groups of scores until told to stop
+	private void writeLoop()
+	{
+		List<PendingScore> listBatch = new ArrayList<>();
+		boolean bStopped = false;
+
+		try (ScoreLog log = new ScoreLog(strFileName); ReplayArchive archive = openArchive())
+		{
+			Leaderboard leaderboard = loadLeaderboard(log);
+
+			while (!bStopped)
+			{
+				// Wait for a score, then take everything else that has queued up behind it
+				listBatch.add(queuePending.take());
+				queuePending.drainTo(listBatch, MAX_BATCH - 1);
+
+				bStopped = commit(log, archive, leaderboard, listBatch);
+				listBatch.clear();
+			}
+		}
+
+		// If the log cannot even be opened, every score queued (now or later) fails with the same exception
+		catch (IOException e)
+		{
+			futureLeaderboard.completeExceptionally(e);
+			futureArchive.completeExceptionally(e);
+			failAll(listBatch, e);
+
+			while (!bStopped)
+			{
+				try
+				{
+					listBatch.add(queuePending.take());
+					queuePending.drainTo(listBatch);
+					bStopped = failAll(listBatch, e);
+					listBatch.clear();
+				}
+				catch (InterruptedException eInterrupted)
+				{
+					return;
+				}
+			}
+		}
+
+		// Nothing interrupts the writer thread on purpose; if something does, just stop
+		catch (InterruptedException e)
+		{
+			failAll(listBatch, new IOException("The score writer for " + strFileName + " was interrupted."));
+		}
+	}
+
+
+	// Method to load the leaderboard and save its snapshot, completing the future either way
+	// A leaderboard that cannot be loaded doesn't stop scores from being written; it is just left out
+	private Leaderboard loadLeaderboard(ScoreLog log)
+	{
+		try
+		{
+			Leaderboard leaderboard = Leaderboard.load(strFileName, log, iTopK);
+			leaderboard.save(strFileName);
+			futureLeaderboard.complete(leaderboard);
+			return leaderboard;
+		}
+		catch (IOException e)
+		{
+			futureLeaderboard.completeExceptionally(e);
+			return null;
+		}
+	}
+
+
+	// Method to open the replay archive, completing the future either way
+	// An archive that cannot be opened doesn't stop scores from being written; their replays are just not kept
+	private ReplayArchive openArchive()
+	{
+		if (strArchiveDirectory == null)
+		{
+			futureArchive.complete(null);
+			return null;
+		}
+
+		try
+		{
+			ReplayArchive archive = new ReplayArchive(strArchiveDirectory);
+			futureArchive.complete(archive);
+			return archive;
+		}
+		catch (IOException e)
+		{
+			System.out.println("The replay archive in " + strArchiveDirectory + " could not be opened: " + e.getMessage());
+			futureArchive.complete(null);
+			return null;
+		}
+	}
+
+
+	// Method to append a group of scores with a single force, then complete their futures, archive their replays and update the leaderboard
+	// Returns whether the group ended with STOP
+	private boolean commit(ScoreLog log, ReplayArchive archive, Leaderboard leaderboard, List<PendingScore> listBatch)
+	{
+		List<ScoreRecord> listRecords = new ArrayList<>(listBatch.size());
+		boolean bStop = false;
+		int iReplays = 0;
+
+		// The whole group is timed for Java Flight Recorder, if a recording is running; refer to GameEvent
+		ScoreWriteEvent event = new ScoreWriteEvent();
+		event.start();
+
+		for (PendingScore pending : listBatch)
+		{
+			if (pending == STOP)
+			{
+				bStop = true;
+			}
+			else if (pending.bScore)
+			{
+				listRecords.add(pending.record);
+			}
+		}
+
+		try
+		{
+			int iRecord = listRecords.isEmpty() ? 0 : log.appendAll(listRecords);
+
+			for (PendingScore pending : listBatch)
+			{
+				if (pending != STOP)
+				{
+					pending.future.complete(pending.bScore ? iRecord++ : -1);
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			failAll(listBatch, e);
+			return bStop;
+		}
+
+		// The replays only follow the scores; one that cannot be archived is only worth a message as well
+		try
+		{
+			if (archive != null)
+			{
+				for (PendingScore pending : listBatch)
+				{
+					if (pending != STOP && pending.bufReplay != null)
+					{
+						archive.append(pending.lSessionId, pending.record, pending.bufReplay);
+						iReplays++;
+					}
+				}
+
+				archive.commit();
+			}
+		}
+		catch (IOException e)
+		{
+			System.out.println("The replays could not be archived in " + strArchiveDirectory + ": " + e.getMessage());
+		}
+
+		// A group that was nothing but STOP wrote nothing, so it isn't worth an event
+		if (!listRecords.isEmpty() || iReplays > 0)
+		{
+			event.file = strFileName;
+			event.scores = listRecords.size();
+			event.replays = iReplays;
+			event.finish();
+		}
+
+		if (listRecords.isEmpty())
+		{
+			return bStop;
+		}
+
+		// The scores are saved by now, so a snapshot that cannot be saved is only worth a message
+		try
+		{
+			if (leaderboard != null && leaderboard.catchUp(log) > 0)
+			{
+				leaderboard.save(strFileName);
+			}
+		}
+		catch (IOException e)
+		{
+			System.out.println("The leaderboard for " + strFileName + " could not be saved: " + e.getMessage());
+		}
+
+		return bStop;
+	}
+
+
+	// Method to fail every future in a group with the same exception, returning whether the group ended with STOP
+	private static boolean failAll(List<PendingScore> listBatch, IOException e)
+	{
+		boolean bStop = false;
+
+		for (PendingScore pending : listBatch)
+		{
+			if (pending == STOP)
+			{
+				bStop = true;
+			}
+			else
+			{
+				pending.future.completeExceptionally(e);
+			}
+		}
+
+		return bStop;
+	}
+
+
+	@Override
+	// Method to stop taking scores, write whatever is still queued, and wait for the writer thread to finish
+	// STOP is queued under the same lock as enqueue(), so it is always the last thing queued; the wait is outside of it
+	public void close()
+	{
+		synchronized (this)
+		{
+			if (bClosed)
+			{
+				return;
+			}
+
+			bClosed = true;
+			queuePending.add(STOP);
+		}
+
+		try
+		{
+			threadWriter.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// A score waiting in the queue, along with the replay of its game (if any) and the future its caller is holding
+	private static class PendingScore
+	{
+		private final ScoreRecord record;
+		private final boolean bScore;
+		private final long lSessionId;
+		private final ByteBuffer bufReplay;
+		private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+		public PendingScore(ScoreRecord record, boolean bScore, long lSessionId, ByteBuffer bufReplay)
+		{
+			this.record = record;
+			this.bScore = bScore;
+			this.lSessionId = lSessionId;
+			this.bufReplay = bufReplay;
+		}
+	}
+
+
+}
\ No newline at end of file
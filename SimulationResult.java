@@ -0,0 +1,224 @@
+/*
+ * Class: SimulationResult
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     None
+ *
+ * Called by classes:
+ *     MonteCarloSimulator
+ *
+ * Description:
+ *     This class adds up the outcomes of simulated games: how many got through easy mode, how
+ *     many won the survival round and how the rest failed, how long the survival round lasted,
+ *     and how many white tiles each easy round had. Each simulation worker fills its own result,
+ *     and the results are merged together once the workers are done.
+ *
+ * Attrtibutes:
+ *     public static final int SURVIVAL_BINS_PER_SECOND - The resolution of the survival histogram
+ *     private long lGames - The number of games simulated
+ *     private long lEasyFailsBlackTile - Games lost to a black tile in easy mode
+ *     private long lEasyFailsOutOfTime - Games lost to the clock in easy mode
+ *     private long lHardWins - Games that survived the whole hard round
+ *     private long lHardFailsBlackTile - Games lost to a black tile in hard mode
+ *     private long lHardFailsOutOfTime - Games lost to the clock in hard mode
+ *     private long lEasyRounds - The number of easy rounds populated
+ *     private long lEasyWhiteTiles - The number of white tiles across all of those rounds
+ *     private double dSurvivalSum - The total time survived in hard mode, for the mean
+ *     private long[] arrSurvivalHistogram - Counts of hard mode survival times, in fractions of a second
+ *
+ * Interesting Methods:
+ *     merge(SimulationResult) - Adds another worker's result into this one
+ *     getSurvivalPercentile(double) - Reads a survival time percentile off of the histogram
+ *
+ */
+
+
+public class SimulationResult
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// Survival times are counted in tenths of a second, up to the survival time, plus one bin for a win
+	public static final int SURVIVAL_BINS_PER_SECOND = 10;
+
+	// Outcome counters
+	private long lGames;
+	private long lEasyFailsBlackTile;
+	private long lEasyFailsOutOfTime;
+	private long lHardWins;
+	private long lHardFailsBlackTile;
+	private long lHardFailsOutOfTime;
+
+	// White tiles per easy round
+	private long lEasyRounds;
+	private long lEasyWhiteTiles;
+
+	// Survival times in hard mode
+	private double dSurvivalSum;
+	private long[] arrSurvivalHistogram = new long[(int) (HardGameEngine.SURVIVAL_TIME * SURVIVAL_BINS_PER_SECOND) + 1];
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Method to record the start of an easy round and how many white tiles it has
+	public void addEasyRound(int iWhiteTiles)
+	{
+		lEasyRounds++;
+		lEasyWhiteTiles += iWhiteTiles;
+	}
+
+
+	// Method to record a game that ended in easy mode
+	public void addEasyFinish(EngineState state)
+	{
+		lGames++;
+
+		if (state == EngineState.Fail_BlackTile)
+		{
+			lEasyFailsBlackTile++;
+		}
+		else
+		{
+			lEasyFailsOutOfTime++;
+		}
+	}
+
+
+	// Method to record a game that made it to the end of hard mode, and how long it lasted there
+	public void addHardFinish(EngineState state, double dTimeSurvived)
+	{
+		lGames++;
+
+		if (state == EngineState.Won)
+		{
+			lHardWins++;
+		}
+		else if (state == EngineState.Fail_BlackTile)
+		{
+			lHardFailsBlackTile++;
+		}
+		else
+		{
+			lHardFailsOutOfTime++;
+		}
+
+		dSurvivalSum += dTimeSurvived;
+
+		int iBin = (int) (dTimeSurvived * SURVIVAL_BINS_PER_SECOND);
+		arrSurvivalHistogram[Math.min(Math.max(iBin, 0), arrSurvivalHistogram.length - 1)]++;
+	}
+
+
+	// Method to add another result into this one
+	public void merge(SimulationResult other)
+	{
+		lGames += other.lGames;
+		lEasyFailsBlackTile += other.lEasyFailsBlackTile;
+		lEasyFailsOutOfTime += other.lEasyFailsOutOfTime;
+		lHardWins += other.lHardWins;
+		lHardFailsBlackTile += other.lHardFailsBlackTile;
+		lHardFailsOutOfTime += other.lHardFailsOutOfTime;
+		lEasyRounds += other.lEasyRounds;
+		lEasyWhiteTiles += other.lEasyWhiteTiles;
+		dSurvivalSum += other.dSurvivalSum;
+
+		for (int i = 0; i < arrSurvivalHistogram.length; i++)
+		{
+			arrSurvivalHistogram[i] += other.arrSurvivalHistogram[i];
+		}
+	}
+
+
+	// Getter for the number of games simulated
+	public long getGames()
+	{
+		return lGames;
+	}
+
+
+	// Getter for the fraction of games that won the whole game
+	public double getWinRate()
+	{
+		return lGames == 0 ? 0 : (double) lHardWins / lGames;
+	}
+
+
+	// Getter for the fraction of games that made it through easy mode
+	public double getEasyCompletionRate()
+	{
+		return lGames == 0 ? 0 : (double) getHardGames() / lGames;
+	}
+
+
+	// Getter for the number of games that reached hard mode
+	public long getHardGames()
+	{
+		return lHardWins + lHardFailsBlackTile + lHardFailsOutOfTime;
+	}
+
+
+	// Getter for the expected number of white tiles in an easy round
+	public double getExpectedWhitesPerRound()
+	{
+		return lEasyRounds == 0 ? 0 : (double) lEasyWhiteTiles / lEasyRounds;
+	}
+
+
+	// Getter for the mean time survived in hard mode, by the games that reached it
+	public double getMeanSurvivalTime()
+	{
+		return getHardGames() == 0 ? 0 : dSurvivalSum / getHardGames();
+	}
+
+
+	// Method to read a survival time percentile (between 0 and 1) off of the histogram
+	// Accurate to the histogram's resolution; returns the upper edge of the bin the percentile falls in
+	public double getSurvivalPercentile(double dPercentile)
+	{
+		long lTarget = (long) Math.ceil(dPercentile * getHardGames());
+		long lSeen = 0;
+
+		for (int i = 0; i < arrSurvivalHistogram.length; i++)
+		{
+			lSeen += arrSurvivalHistogram[i];
+
+			if (lSeen >= lTarget && lSeen > 0)
+			{
+				return Math.min((i + 1) / (double) SURVIVAL_BINS_PER_SECOND, HardGameEngine.SURVIVAL_TIME);
+			}
+		}
+
+		return 0;
+	}
+
+
+	// Getter for a copy of the survival histogram
+	public long[] getSurvivalHistogram()
+	{
+		return arrSurvivalHistogram.clone();
+	}
+
+
+	@Override
+	// Method to print the result out as a short report
+	public String toString()
+	{
+		return String.format("games: %d%n"
+				+ "  easy completed: %.2f%% (black tile: %d, out of time: %d)%n"
+				+ "  hard won: %.2f%% (black tile: %d, out of time: %d)%n"
+				+ "  whites per easy round: %.3f%n"
+				+ "  survival time: mean %.2fs, p10 %.1fs, p50 %.1fs, p90 %.1fs",
+				lGames,
+				getEasyCompletionRate() * 100, lEasyFailsBlackTile, lEasyFailsOutOfTime,
+				getWinRate() * 100, lHardFailsBlackTile, lHardFailsOutOfTime,
+				getExpectedWhitesPerRound(),
+				getMeanSurvivalTime(), getSurvivalPercentile(.1), getSurvivalPercentile(.5), getSurvivalPercentile(.9));
+	}
+
+
+}
\ No newline at end of file
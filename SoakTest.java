@@ -0,0 +1,368 @@
+/*
+ * Class: SoakTest
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     MenuFX
+ *     GameSession
+ *     BotPlayer
+ *     ClickPolicy
+ *     GameRandom
+ *     LatencyMonitor
+ *     LatencyHistogram
+ *
+ * Called by classes:
+ *     None (run on its own, through main())
+ *
+ * Description:
+ *     This class is the long-running soak test. It launches the whole game, MenuFX and all, then
+ *     has a BotPlayer play thousands of full games through it, one after another: the five easy
+ *     rounds, then the survival round, answering every alert and name prompt, and back to the
+ *     menu. Every so many games it samples the heap after a GC, the live threads, the games and
+ *     animations still in memory after that GC, and the frame times since the last sample.
+ *
+ *     Once every game has been played, each sample is fit with a straight line, leaving out the
+ *     first quarter (the JIT and the caches warming up). The test fails if the heap, the threads
+ *     or the 99th percentile frame time trend upward by more than is allowed over the run, or if
+ *     any game or animation was still in memory at the menu (refer to GameSession); i.e. what an always-on machine left
+ *     running for days would suffer. It also fails if any game that ended in the survival round
+ *     (won or lost) did not bring up exactly one name prompt for the bot to answer: without one,
+ *     the score is saved with an empty name, and the game would otherwise look fine.
+ *
+ *     It needs no display: unless told otherwise, JavaFX is run on the headless Monocle glass
+ *     platform with software Prism, which only needs the Monocle jar on the class path. Every game
+ *     saves a score and a replay like any other, so it should be run from a folder of its own.
+ *
+ * Attrtibutes:
+ *     public static final double REACTION_TIME - The seconds between the bot's clicks
+ *     public static final long GAME_TIMEOUT_SECONDS - The longest a single game may take
+ *     private final List<SoakSample> listSamples - Every sample taken so far
+ *     private int iUnnamedScores - How many games saved a score without the bot answering a name prompt
+ *
+ * Interesting Methods:
+ *     playGame(long) - Plays one full game through the menu, returning the state it ended in, and checks its name prompt
+ *     takeSample(int) - Samples the heap, threads, live sessions and animations, and frame times
+ *     getGrowth(ToDoubleFunction<SoakSample>) - How much a sampled value trended up over the run
+ *
+ */
+
+
+// Imports
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToDoubleFunction;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+
+
+public class SoakTest
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The bot clicks quickly, so the easy rounds go by fast; the survival round still takes up to 30 seconds of game time
+	public static final double REACTION_TIME = .05;
+
+	// A game that hasn't made it back to the menu by now is stuck
+	public static final long GAME_TIMEOUT_SECONDS = 180;
+
+	// The samples, in the order they were taken
+	private final List<SoakSample> listSamples = new ArrayList<>();
+
+	// The games whose score went without a name, whether the prompt never came up or came up more than once
+	private int iUnnamedScores = 0;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Method to run JavaFX with no display: the headless Monocle glass platform and software Prism
+	// Anything already set on the command line is left alone; must be called before JavaFX starts
+	private static void setHeadless()
+	{
+		setDefaultProperty("glass.platform", "Monocle");
+		setDefaultProperty("monocle.platform", "Headless");
+		setDefaultProperty("prism.order", "sw");
+		setDefaultProperty("prism.text", "t2k");
+	}
+
+
+	// Method to set a system property, unless it is already set
+	private static void setDefaultProperty(String strKey, String strValue)
+	{
+		if (System.getProperty(strKey) == null)
+		{
+			System.setProperty(strKey, strValue);
+		}
+	}
+
+
+	// Method to launch the game on a thread of its own, returning once the menu is up
+	private static void launchMenu() throws InterruptedException
+	{
+		Thread threadLaunch = new Thread(() -> Application.launch(MenuFX.class), "SoakTest-launch");
+		threadLaunch.setDaemon(true);
+		threadLaunch.start();
+
+		while (MenuFX.menuFXinstance == null || MenuFX.menuFXinstance.getStage() == null || !MenuFX.menuFXinstance.getStage().isShowing())
+		{
+			if (!threadLaunch.isAlive())
+			{
+				throw new IllegalStateException("The game could not be launched.");
+			}
+
+			Thread.sleep(50);
+		}
+	}
+
+
+	// Method to play one full game through the menu, the same as clicking Start Game, returning the state it ended in
+	// The bot plays from the game's own seed, so a game that goes wrong can be played again
+	// A game that ends in the hard mode saves its score under the name typed into the prompt, so the bot must have answered one
+	public EngineState playGame(long lSeed) throws Exception
+	{
+		BotPlayer bot = new BotPlayer(ClickPolicy.GreensFirst, REACTION_TIME, new GameRandom(~lSeed));
+
+		CompletableFuture<EngineState> futureFinished = callOnFX(() ->
+		{
+			GameSession session = MenuFX.menuFXinstance.startGame(new GameRandom(lSeed));
+			return bot.drive(session.getGameFX());
+		});
+
+		EngineState state = futureFinished.get(GAME_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+		if (bot.isFinalInHardMode() && bot.getNamesEntered() != 1)
+		{
+			System.out.println("FAIL: the game from seed " + lSeed + " ended in " + state + " after " + bot.getNamesEntered()
+					+ " name prompts; its score was not saved under " + BotPlayer.BOT_NAME + ".");
+			iUnnamedScores++;
+		}
+
+		return state;
+	}
+
+
+	// Method to take a sample after the given number of games, back at the menu
+	// The GC is run on the JavaFX application thread, once anything the last game left queued on it has run,
+	// so the games and animations still in memory right after it are only those left behind
+	// The frame times are those since the last sample; the histogram is started over for the next one
+	public SoakSample takeSample(int iGames) throws Exception
+	{
+		SoakSample sample = callOnFX(() ->
+		{
+			long lHeap = GameSession.getHeapAfterGC();
+			int iThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+			LatencyHistogram histFrames = LatencyMonitor.getHistogram(LatencyMetric.FrameTime);
+			SoakSample sampleFX = new SoakSample(iGames, lHeap, iThreads, GameSession.getLiveSessions(), GameSession.getLiveAnimations(),
+					histFrames.getValueAtPercentile(50) / 1e6, histFrames.getValueAtPercentile(99) / 1e6);
+			histFrames.reset();
+			return sampleFX;
+		});
+
+		listSamples.add(sample);
+		return sample;
+	}
+
+
+	// Method to run something on the JavaFX application thread and wait for what it returns
+	private static <T> T callOnFX(Callable<T> callable) throws Exception
+	{
+		CompletableFuture<T> futureResult = new CompletableFuture<>();
+
+		Platform.runLater(() ->
+		{
+			try
+			{
+				futureResult.complete(callable.call());
+			}
+			catch (Exception e)
+			{
+				futureResult.completeExceptionally(e);
+			}
+		});
+
+		return futureResult.get(GAME_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+
+
+	// Method to find how much a sampled value trended up over the run: the slope of its least-squares line times the games
+	// it spans, leaving out the first quarter of the samples; 0 if there are too few samples to tell
+	public double getGrowth(ToDoubleFunction<SoakSample> funcValue)
+	{
+		List<SoakSample> listSteady = listSamples.subList(listSamples.size() / 4, listSamples.size());
+
+		if (listSteady.size() < 3)
+		{
+			return 0;
+		}
+
+		double dMeanX = 0;
+		double dMeanY = 0;
+
+		for (SoakSample sample : listSteady)
+		{
+			dMeanX += sample.iGames;
+			dMeanY += funcValue.applyAsDouble(sample);
+		}
+
+		dMeanX /= listSteady.size();
+		dMeanY /= listSteady.size();
+
+		double dCovariance = 0;
+		double dVariance = 0;
+
+		for (SoakSample sample : listSteady)
+		{
+			double dX = sample.iGames - dMeanX;
+			dCovariance += dX * (funcValue.applyAsDouble(sample) - dMeanY);
+			dVariance += dX * dX;
+		}
+
+		int iSpan = listSteady.get(listSteady.size() - 1).iGames - listSteady.get(0).iGames;
+		return dCovariance / dVariance * iSpan;
+	}
+
+
+	// Method to check the samples once every game has been played, printing each problem, and returning whether there were none
+	public boolean checkTrends(double dMaxHeapGrowthMB, double dMaxFrameGrowthMs)
+	{
+		boolean bPassed = true;
+
+		for (SoakSample sample : listSamples)
+		{
+			if (sample.iLiveSessions > 0 || sample.iLiveAnimations > 0)
+			{
+				System.out.println("FAIL: " + sample.iLiveSessions + " games and " + sample.iLiveAnimations + " animations were still in memory at the menu after " + sample.iGames + " games.");
+				bPassed = false;
+			}
+		}
+
+		double dHeapGrowth = getGrowth(sample -> sample.lHeap / 1048576.0);
+		double dThreadGrowth = getGrowth(sample -> sample.iThreads);
+		double dFrameGrowth = getGrowth(sample -> sample.dFrameP99);
+
+		System.out.printf("Trend over the run: heap %+.2f MB, threads %+.1f, p99 frame time %+.2f ms%n", dHeapGrowth, dThreadGrowth, dFrameGrowth);
+
+		if (dHeapGrowth > dMaxHeapGrowthMB)
+		{
+			System.out.printf("FAIL: the heap grew by %.2f MB; at most %.2f MB is allowed.%n", dHeapGrowth, dMaxHeapGrowthMB);
+			bPassed = false;
+		}
+
+		if (dThreadGrowth >= 1)
+		{
+			System.out.printf("FAIL: the live threads grew by %.1f.%n", dThreadGrowth);
+			bPassed = false;
+		}
+
+		if (dFrameGrowth > dMaxFrameGrowthMs)
+		{
+			System.out.printf("FAIL: the p99 frame time grew by %.2f ms; at most %.2f ms is allowed.%n", dFrameGrowth, dMaxFrameGrowthMs);
+			bPassed = false;
+		}
+
+		return bPassed;
+	}
+
+
+	// Runs the soak test, exiting with 0 if nothing trended upward and 1 if anything did (or a game got stuck)
+	// Arguments (all optional): games, games between samples, the most the heap may grow in MB,
+	// the most the p99 frame time may grow in ms, the first game's seed
+	public static void main(String[] args) throws Exception
+	{
+		int iGames = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int iSampleEvery = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		double dMaxHeapGrowthMB = args.length > 2 ? Double.parseDouble(args[2]) : 16;
+		double dMaxFrameGrowthMs = args.length > 3 ? Double.parseDouble(args[3]) : 4;
+		long lSeed = args.length > 4 ? Long.parseLong(args[4]) : new GameRandom().getSeed();
+
+		setHeadless();
+		launchMenu();
+
+		SoakTest soak = new SoakTest();
+		int iWins = 0;
+		boolean bPassed = true;
+
+		System.out.println("Soaking " + iGames + " games from seed " + lSeed + ", sampling every " + iSampleEvery);
+		System.out.println("games,heap_mb,threads,live_sessions,live_animations,frame_p50_ms,frame_p99_ms,wins");
+		soak.takeSample(0);
+
+		try
+		{
+			for (int i = 1; i <= iGames; i++)
+			{
+				if (soak.playGame(lSeed + i) == EngineState.Won)
+				{
+					iWins++;
+				}
+
+				if (i % iSampleEvery == 0 || i == iGames)
+				{
+					System.out.println(soak.takeSample(i) + "," + iWins);
+				}
+			}
+
+			bPassed = soak.checkTrends(dMaxHeapGrowthMB, dMaxFrameGrowthMs);
+
+			if (soak.iUnnamedScores > 0)
+			{
+				System.out.println("FAIL: " + soak.iUnnamedScores + " scores were saved without the name prompt being answered.");
+				bPassed = false;
+			}
+		}
+		catch (TimeoutException e)
+		{
+			System.out.println("FAIL: a game did not make it back to the menu within " + GAME_TIMEOUT_SECONDS + " seconds.");
+			bPassed = false;
+		}
+
+		System.out.println(bPassed ? "PASS" : "FAIL");
+
+		Platform.exit();
+		System.exit(bPassed ? 0 : 1);
+	}
+
+
+}
+
+
+// One sample of the soak test, taken back at the menu after a number of games
+class SoakSample
+{
+	final int iGames;
+	final long lHeap;
+	final int iThreads;
+	final int iLiveSessions;
+	final int iLiveAnimations;
+	final double dFrameP50;
+	final double dFrameP99;
+
+
+	SoakSample(int iGames, long lHeap, int iThreads, int iLiveSessions, int iLiveAnimations, double dFrameP50, double dFrameP99)
+	{
+		this.iGames = iGames;
+		this.lHeap = lHeap;
+		this.iThreads = iThreads;
+		this.iLiveSessions = iLiveSessions;
+		this.iLiveAnimations = iLiveAnimations;
+		this.dFrameP50 = dFrameP50;
+		this.dFrameP99 = dFrameP99;
+	}
+
+
+	@Override
+	// Method to write the sample out as a line of CSV
+	public String toString()
+	{
+		return String.format("%d,%.2f,%d,%d,%d,%.2f,%.2f", iGames, lHeap / 1048576.0, iThreads, iLiveSessions, iLiveAnimations, dFrameP50, dFrameP99);
+	}
+}
\ No newline at end of file
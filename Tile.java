@@ -7,36 +7,52 @@
  *     None
  * 
  * Called by classes:
- *     GameMode
- *     EasyGameMode
- *     HardGameMode
+ *     ButtonGridRenderer
+ *     CanvasGridRenderer
  * 
  * Description:
- *     This class contains all of the tile objects' functionality. The classes EasyGameMode
- *     and HardGameMode interact heavily with this class.
+ *     This class contains all of the tile objects' functionality. The game modes no longer use it
+ *     directly; only the grid renderers, which draw the game modes' grids, build tiles or draw their images.
+ *     
+ *     A tile's button and image view are built once and kept for the whole game mode; when the
+ *     engine changes a cell's color, the same nodes are re-skinned in place through reskin().
+ *     
+ *     The black and green tile images are tinted once, when this class is loaded, rather than 
+ *     through a ColorAdjust effect on every tile; effects are costly to render on the software
+ *     pipeline, and the tiles are now plain images. The tinting reads each image into one ARGB
+ *     buffer, adjusts the pixels as plain ints, and writes the buffer back in a single call.
  * 
  * Attrtibutes:
  *     public static final Image imgWhiteTile - White tile image constant
  *	   public static final Image imgBlackTile - Black tile image constant
  *	   public static final Image imgGreenTile - Green tile image constant
  *	   public static final Image imgRedTile - Red tile image constant
- *     private TileColor color - Used for assigning a tile Color through the constructor
- *                               used in the game mode classes
- *     private Button btTile - Used for assigning a button through the constructor used 
- *                             in the game mode classes
+ *     private static final Image IMG_BLACK_TILE_TINTED - The black tile image, brightened
+ *     private static final Image IMG_GREEN_TILE_TINTED - The green tile image, darkened and desaturated
+ *     private TileColor color - The color the tile is currently showing
+ *     private ImageView imgvwTile - The tile's image view, whose image is swapped on re-skin
+ *     private Button btTile - The tile's button, created once along with its image
+ *     private int iCellIndex - The index of the engine cell this tile displays
  *                                                      
  * Interesting Methods:
- *     NONE
+ *     reskin(TileColor) - Shows a new color on the same button and image view
+ *     getTileImage(TileColor) - Returns the (tinted) image constant for a tile color
+ *     tint(Image, double, double) - Creates a copy of an image with its saturation and brightness adjusted
+ *     tintPixel(int, double, double) - Adjusts the saturation and brightness of one ARGB pixel, keeping its hue
  * 
  */
 
 
 // Imports
+import java.nio.IntBuffer;
+
 import javafx.geometry.Insets;
 import javafx.scene.control.Button;
-import javafx.scene.effect.ColorAdjust;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
 
 public class Tile 
 {
@@ -50,46 +66,141 @@ public class Tile
 	public static final Image IMG_GREEN_TILE = new Image("image/green_tile.jpg");
 	public static final Image IMG_RED_TILE = new Image("image/red_tile.jpg");
 	
-	// Constructor reference variables that are used in each game mode to create proper tile 
-	// objects, which contain a color and a button- all that is needed to update upon clicks
+	// The black and green tiles, with their colors adjusted once, as JavaFX did not take well to their .jpgs
+	// Same adjustments as the ColorAdjust effects they replace: brightness .14 for black; brightness -.35, saturation -.4 for green
+	private static final Image IMG_BLACK_TILE_TINTED = tint(IMG_BLACK_TILE, 0, .14);
+	private static final Image IMG_GREEN_TILE_TINTED = tint(IMG_GREEN_TILE, -.4, -.35);
+	
+	// Reference variables used in each game mode to display a cell, which contain a color, an image 
+	// and a button- all that is needed to update upon clicks
 	// TileColor from enumeration
 	private TileColor color;
-	// Button for each tile
-	private Button btTile = new Button(null, new ImageView());
+	// Image and button for each tile
+	private ImageView imgvwTile = new ImageView();
+	private Button btTile = new Button(null, imgvwTile);
+	// The engine cell behind this tile, so a click can be handed to the game engine
+	private int iCellIndex;
 	
 	
 	/* -------------------------------- */
 	/* ----- METHODS/CONSTRUCTORS ----- */
 	/* -------------------------------- */
 	
-	// Constructor for the Tile objects
-	public Tile(TileColor color, Button btTile) 
+	// Constructor for the Tile objects, taking in the engine cell and the size of the image (0 for its natural size)
+	// The tile has no color until reskin() is called
+	public Tile(int iCellIndex, double dFitSize) 
 	{
-		// Set the local attributes of color and tile button to equal those passed in from a randomlyPopulate() method
-		this.color = color;
-		this.btTile = btTile;
+		this.iCellIndex = iCellIndex;
+		
+		imgvwTile.setFitWidth(dFitSize);
+		imgvwTile.setFitHeight(dFitSize);
 		
 		// Remove the button border from the tile images
 		// If this step is not performed, then the tiles that users see in the game grids will have actual 
 		// JavaFX button borders, which skews their shape and causes them to look horrible
-		this.btTile.setPadding(Insets.EMPTY);
+		btTile.setPadding(Insets.EMPTY);
+	}
+	
+	
+	// Method to show a new color on this tile, swapping the image on the existing nodes
+	// No new nodes are created, and the tile is enabled again, so it can be clicked
+	public void reskin(TileColor color)
+	{
+		this.color = color;
 		
-		// If the new tile generated is black, adjust its color, as JavaFX did not take well to its .jpg
+		imgvwTile.setImage(getTileImage(color));
+		btTile.setDisable(false);
+	}
+	
+	
+	// Returns the image constant shown for the given tile color; the black and green ones are already tinted
+	public static Image getTileImage(TileColor color)
+	{
+		if (color == TileColor.White)
+		{
+			return IMG_WHITE_TILE;
+		}
 		if (color == TileColor.Black)
 		{
-			ColorAdjust adjustTileColor = new ColorAdjust();
-			adjustTileColor.setBrightness(.14);
-			btTile.getGraphic().setEffect(adjustTileColor);
+			return IMG_BLACK_TILE_TINTED;
 		}
-		
-		// If the new tile generated is green, adjust its color properties, as JavaFX did not take well to its .jpg
 		if (color == TileColor.Green)
 		{
-			ColorAdjust adjustTileColor = new ColorAdjust();
-			adjustTileColor.setBrightness(-.35);
-			adjustTileColor.setSaturation(-.4);
-			btTile.getGraphic().setEffect(adjustTileColor);
+			return IMG_GREEN_TILE_TINTED;
+		}
+		return IMG_RED_TILE;
+	}
+	
+	
+	// Method to create a copy of an image with its saturation and brightness adjusted, pixel by pixel
+	// Each adjustment is between -1 and 1, and works the way a ColorAdjust effect's does: a negative adjustment
+	// scales the value down towards 0, and a positive one moves it up towards 1
+	// The whole image is read into one ARGB buffer and written back with one call, so no Color is made per pixel
+	private static Image tint(Image img, double dSaturation, double dBrightness)
+	{
+		int iWidth = (int) img.getWidth();
+		int iHeight = (int) img.getHeight();
+		
+		WritablePixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+		int[] arrPixels = new int[iWidth * iHeight];
+		img.getPixelReader().getPixels(0, 0, iWidth, iHeight, format, arrPixels, 0, iWidth);
+		
+		for (int i = 0; i < arrPixels.length; i++)
+		{
+			arrPixels[i] = tintPixel(arrPixels[i], dSaturation, dBrightness);
 		}
+		
+		WritableImage imgTinted = new WritableImage(iWidth, iHeight);
+		imgTinted.getPixelWriter().setPixels(0, 0, iWidth, iHeight, format, arrPixels, 0, iWidth);
+		
+		return imgTinted;
+	}
+	
+	
+	// Method to adjust the saturation and brightness of one ARGB pixel, keeping its hue and alpha
+	// In HSB, a channel is brightness * (1 - saturation * f), where f depends only on the hue: 0 for the largest
+	// channel, 1 for the smallest, and in between for the third; so the new channels follow from the old ones
+	// without working out the hue itself
+	private static int tintPixel(int iArgb, double dSaturation, double dBrightness)
+	{
+		int iRed = (iArgb >> 16) & 0xFF;
+		int iGreen = (iArgb >> 8) & 0xFF;
+		int iBlue = iArgb & 0xFF;
+		
+		int iMax = Math.max(iRed, Math.max(iGreen, iBlue));
+		int iMin = Math.min(iRed, Math.min(iGreen, iBlue));
+		
+		double dNewBrightness = adjust(iMax / 255.0, dBrightness);
+		double dNewSaturation = adjust(iMax == 0 ? 0 : (double) (iMax - iMin) / iMax, dSaturation);
+		
+		// A gray has no hue, which HSB treats as a hue of 0 (red)
+		double dRedFactor = iMax == iMin ? 0 : (double) (iMax - iRed) / (iMax - iMin);
+		double dGreenFactor = iMax == iMin ? 1 : (double) (iMax - iGreen) / (iMax - iMin);
+		double dBlueFactor = iMax == iMin ? 1 : (double) (iMax - iBlue) / (iMax - iMin);
+		
+		return (iArgb & 0xFF000000) 
+				| toChannel(dNewBrightness * (1 - dNewSaturation * dRedFactor)) << 16 
+				| toChannel(dNewBrightness * (1 - dNewSaturation * dGreenFactor)) << 8 
+				| toChannel(dNewBrightness * (1 - dNewSaturation * dBlueFactor));
+	}
+	
+	
+	// Method to turn a channel value between 0 and 1 back into a byte
+	private static int toChannel(double dValue)
+	{
+		return (int) Math.round(dValue * 255);
+	}
+	
+	
+	// Method to adjust a value between 0 and 1, the same way ColorAdjust does
+	private static double adjust(double dValue, double dAdjustment)
+	{
+		if (dAdjustment > 0)
+		{
+			return dValue + (1 - dValue) * dAdjustment;
+		}
+		
+		return dValue * (1 + dAdjustment);
 	}
 	
 	
@@ -107,10 +218,10 @@ public class Tile
 	}
 	
 	
-	// Setter for TileColor
-	public void setTileColor(TileColor color)
+	// Getter for the engine cell index
+	public int getCellIndex()
 	{
-		this.color = color;
+		return iCellIndex;
 	}
 	
 	
@@ -0,0 +1,323 @@
+/*
+ * Class: TileGrid
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ *
+ * Classes called:
+ *     GameRandom
+ *
+ * Called by classes:
+ *     GameEngine
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     MonteCarloSimulator
+ *
+ * Description:
+ *     This class is the packed state of a grid of tiles. Every cell is one byte holding its
+ *     color's ordinal, and every color also has a bitmask with one bit per cell (64 cells to a
+ *     long), as does the set of clicked (disabled) cells. Picking the n-th cell of a color is then
+ *     a few popcounts and bit operations, no matter how large the grid is.
+ *
+ *     Every color also has a live count of its cells, and of those not clicked yet, kept up to
+ *     date by every change of color, click and clear. Counting a color, checking that a grid has
+ *     at least one white and one black tile, and checking whether every white tile has been
+ *     clicked are then a single lookup, however large the grid, and are always exact.
+ *
+ *     Cells are indexed by (column * grid size + row), the same as in GameEngine.
+ *
+ *     Run on its own, it makes random changes of color, clicks and clears on grids from 3x3 to
+ *     64x64, checking the live counts against a recount from the bitmasks after every one.
+ *
+ * Attrtibutes:
+ *     public static final byte NO_COLOR - The byte stored in a cell that has not been populated
+ *     private static final TileColor[] COLORS - TileColor.values(), cached so it is not copied on every lookup
+ *     private final int iGridSize - The length and width of the grid
+ *     private final int iCellCount - The number of cells in the grid
+ *     private final byte[] arrCells - The color ordinal of every cell
+ *     private final long[][] arrColorMasks - One bitmask per color, [color ordinal][word]
+ *     private final long[] arrDisabledMask - The bitmask of clicked cells
+ *     private final int[] arrColorCounts - The number of cells of each color, by ordinal
+ *     private final int[] arrEnabledCounts - The number of cells of each color not clicked yet, by ordinal
+ *
+ * Interesting Methods:
+ *     setTileColor(int, TileColor) - Changes a cell's color, keeping the bitmasks and counts in step
+ *     setDisabled(int, boolean) - Clicks (or un-clicks) a cell, keeping the counts in step
+ *     countTiles(TileColor) - The number of cells of a color
+ *     countEnabledTiles(TileColor) - The number of cells of a color that have not been clicked yet
+ *     findNthTile(TileColor, int) - Finds the n-th unclicked cell of a color, i.e. for picking one at random
+ *     checkCounts() - Recounts every color from the bitmasks, to check the live counts against
+ *
+ */
+
+
+// Imports
+import java.util.Arrays;
+
+
+public class TileGrid
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+
+	// The byte stored in a cell that has no color yet
+	public static final byte NO_COLOR = -1;
+
+	// The colors, indexed by ordinal
+	private static final TileColor[] COLORS = TileColor.values();
+
+	// The size of the grid
+	private final int iGridSize;
+	private final int iCellCount;
+
+	// One byte per cell, plus one bit per cell for each color and for the clicked cells
+	private final byte[] arrCells;
+	private final long[][] arrColorMasks;
+	private final long[] arrDisabledMask;
+
+	// The live counts of each color, in all and not yet clicked; updated with every change, rather than counted when asked
+	private final int[] arrColorCounts;
+	private final int[] arrEnabledCounts;
+
+
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+
+	// Constructor, taking in the length and width of the grid
+	public TileGrid(int iGridSize)
+	{
+		this.iGridSize = iGridSize;
+		iCellCount = iGridSize * iGridSize;
+
+		// 64 cells fit in every long, rounded up
+		int iWordCount = (iCellCount + 63) >>> 6;
+
+		arrCells = new byte[iCellCount];
+		arrColorMasks = new long[COLORS.length][iWordCount];
+		arrDisabledMask = new long[iWordCount];
+		arrColorCounts = new int[COLORS.length];
+		arrEnabledCounts = new int[COLORS.length];
+
+		clear();
+	}
+
+
+	// Method to empty every cell and enable them all again
+	public void clear()
+	{
+		Arrays.fill(arrCells, NO_COLOR);
+
+		for (long[] arrMask : arrColorMasks)
+		{
+			Arrays.fill(arrMask, 0L);
+		}
+
+		Arrays.fill(arrDisabledMask, 0L);
+		Arrays.fill(arrColorCounts, 0);
+		Arrays.fill(arrEnabledCounts, 0);
+	}
+
+
+	// Method to change a cell's color, moving its bit and its count from the old color to the new one
+	// A clicked cell stays clicked, so it is only counted as enabled if it wasn't
+	public void setTileColor(int iCell, TileColor color)
+	{
+		int iWord = iCell >>> 6;
+		long lBit = 1L << iCell;
+		int iEnabled = (arrDisabledMask[iWord] & lBit) == 0 ? 1 : 0;
+		byte bOld = arrCells[iCell];
+
+		if (bOld != NO_COLOR)
+		{
+			arrColorMasks[bOld][iWord] &= ~lBit;
+			arrColorCounts[bOld]--;
+			arrEnabledCounts[bOld] -= iEnabled;
+		}
+
+		arrCells[iCell] = (byte) color.ordinal();
+		arrColorMasks[color.ordinal()][iWord] |= lBit;
+		arrColorCounts[color.ordinal()]++;
+		arrEnabledCounts[color.ordinal()] += iEnabled;
+	}
+
+
+	// Getter for a cell's color, or null if it has not been populated
+	public TileColor getTileColor(int iCell)
+	{
+		byte bColor = arrCells[iCell];
+		return bColor == NO_COLOR ? null : COLORS[bColor];
+	}
+
+
+	// Getter for a cell's color ordinal, or NO_COLOR
+	public byte getColorOrdinal(int iCell)
+	{
+		return arrCells[iCell];
+	}
+
+
+	// Setter for whether a cell has been clicked, which moves it in or out of its color's enabled count
+	// Setting it to what it already is changes nothing
+	public void setDisabled(int iCell, boolean bDisabled)
+	{
+		if (isDisabled(iCell) == bDisabled)
+		{
+			return;
+		}
+
+		if (bDisabled)
+		{
+			arrDisabledMask[iCell >>> 6] |= 1L << iCell;
+		}
+		else
+		{
+			arrDisabledMask[iCell >>> 6] &= ~(1L << iCell);
+		}
+
+		if (arrCells[iCell] != NO_COLOR)
+		{
+			arrEnabledCounts[arrCells[iCell]] += bDisabled ? -1 : 1;
+		}
+	}
+
+
+	// Getter for whether a cell has been clicked
+	public boolean isDisabled(int iCell)
+	{
+		return (arrDisabledMask[iCell >>> 6] & (1L << iCell)) != 0;
+	}
+
+
+	// Getter for the number of cells of a color
+	// For white or black, 0 means a populated grid still needs its guaranteed tile
+	public int countTiles(TileColor color)
+	{
+		return arrColorCounts[color.ordinal()];
+	}
+
+
+	// Getter for the number of cells of a color that have not been clicked yet
+	// For white, 0 means the round is complete
+	public int countEnabledTiles(TileColor color)
+	{
+		return arrEnabledCounts[color.ordinal()];
+	}
+
+
+	// Method to find the n-th (starting at 0) cell of a color that has not been clicked yet, or -1 if there are not that many
+	// Whole words are skipped by their popcount, then the bit is found within its word
+	public int findNthTile(TileColor color, int n)
+	{
+		if (n < 0 || n >= arrEnabledCounts[color.ordinal()])
+		{
+			return -1;
+		}
+
+		long[] arrMask = arrColorMasks[color.ordinal()];
+
+		for (int iWord = 0; iWord < arrMask.length; iWord++)
+		{
+			long lBits = arrMask[iWord] & ~arrDisabledMask[iWord];
+			int iBitsInWord = Long.bitCount(lBits);
+
+			if (n < iBitsInWord)
+			{
+				// Drop the lowest set bit n times, then the lowest one left is the n-th
+				for (int i = 0; i < n; i++)
+				{
+					lBits &= lBits - 1;
+				}
+
+				return (iWord << 6) + Long.numberOfTrailingZeros(lBits);
+			}
+
+			n -= iBitsInWord;
+		}
+
+		return -1;
+	}
+
+
+	// Method to recount every color from the bitmasks and check the live counts against them
+	// Walks every word, so it is for checking, not for playing; returns whether every count matched
+	public boolean checkCounts()
+	{
+		for (int iColor = 0; iColor < COLORS.length; iColor++)
+		{
+			int iCount = 0;
+			int iEnabled = 0;
+
+			for (int iWord = 0; iWord < arrDisabledMask.length; iWord++)
+			{
+				iCount += Long.bitCount(arrColorMasks[iColor][iWord]);
+				iEnabled += Long.bitCount(arrColorMasks[iColor][iWord] & ~arrDisabledMask[iWord]);
+			}
+
+			if (iCount != arrColorCounts[iColor] || iEnabled != arrEnabledCounts[iColor])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	// Getter for the grid size
+	public int getGridSize()
+	{
+		return iGridSize;
+	}
+
+
+	// Getter for the number of cells
+	public int getCellCount()
+	{
+		return iCellCount;
+	}
+
+
+	// The count check: random changes of color, clicks and clears on grids of many sizes, recounting after every one
+	// Arguments (all optional): changes per grid size, seed
+	public static void main(String[] args)
+	{
+		int iChanges = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		GameRandom random = args.length > 1 ? new GameRandom(Long.parseLong(args[1])) : new GameRandom();
+
+		for (int iGridSize = GameEngine.MIN_GRID_SIZE; iGridSize <= 64; iGridSize++)
+		{
+			TileGrid grid = new TileGrid(iGridSize);
+
+			for (int i = 0; i < iChanges; i++)
+			{
+				int iCell = random.nextInt(grid.getCellCount());
+				double dRand = random.nextDouble();
+
+				// Mostly colors and clicks, the same as a game; once in a while the whole grid is cleared
+				if (dRand < .5)
+				{
+					grid.setTileColor(iCell, COLORS[random.nextInt(COLORS.length)]);
+				}
+				else if (dRand < .999)
+				{
+					grid.setDisabled(iCell, random.nextDouble() < .8);
+				}
+				else
+				{
+					grid.clear();
+				}
+
+				if (!grid.checkCounts())
+				{
+					System.out.println("The counts are wrong on a " + iGridSize + "x" + iGridSize + " grid after " + (i + 1) + " changes, seed " + random.getSeed() + ".");
+					System.exit(1);
+				}
+			}
+		}
+
+		System.out.println("The counts were right after every change, seed " + random.getSeed() + ".");
+	}
+
+
+}
\ No newline at end of file
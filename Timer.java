@@ -4,41 +4,48 @@
  * Date(s): March - April 2017
  * 
  * Classes called:
- *     None
+ *     GameClock
+ *     GameEvent
  * 
  * Called by classes:
  *     GameFX
+ *     GameLoop
  *     GameMode
  *     EasyGameMode
  *     HardGameMode
  * 
  * Description:
- *     This class can be used to create a timer object that takes in a start time. Implements 
- *     quite a bit of JavaFX programming in the form of timelines and animation.
+ *     This class can be used to create a timer object that takes in a start time. It has no
+ *     timeline of its own; the game mode's GameLoop advances it by the time that has actually
+ *     passed on every tick, and it can be paused and played independently of that loop.
+ *     
+ *     The label only shows tenths of a second, so it is only touched when the tenth it shows 
+ *     changes, and the text for each tenth is formatted once and kept in a table after that.
  * 
  * Attrtibutes:
- *     private double dTime - Variable used to take in the start time specified from the 
- *                            constructor used in GameFX
- *     private Timeline timelineTimer - Timeline used for the timer
+ *     private GameClock clock - The time budget, created from the start time specified in the
+ *                               constructor used in GameFX; shared with the game mode's engine
+ *     private boolean bRunning - Whether the timer clock counts down when the game loop ticks
+ *     private static final int TIME_TEXT_TENTHS - How many tenths of a second the text table holds
+ *     private static final String[] ARR_TIME_TEXT - The text shown for each tenth of a second, formatted once
  *     private Label labelTimer - Label used to place the updating time into
+ *     private long lDisplayedTenths - The tenth of a second the label currently shows, or -1
  *     private final VBox rootPane - Used in order for GameFX to access the timer clock's pane
  * 
  * Interesting Methods:
- *     timerLoop() - Method called every 16ms to manually subtract time from the visual clock;
- *     				 also has an important logical block to manually set the timer clock's
- *     				 current time to 0 if it ever hits or goes under 0, due to the frame rate         
+ *     timerLoop(double) - Method called on every game loop tick to subtract the time passed from the
+ *     				       visual clock; the clock sets the current time to 0 if it ever hits 
+ *     				       or goes under 0, due to the frame rate         
+ *     getTimeText(long) - Returns the text for a number of tenths of a second, from the table
  * 
  */
 
 
 // Imports
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.scene.control.Label;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.util.Duration;
 
 
 public class Timer 
@@ -47,12 +54,20 @@ public class Timer
 	/* ----- ATTRIBUTES ----- */
 	/* ---------------------- */
 	
-	// Starting time variable, also used to decrement/increment the timer clock as needed
-	private double dTime;
+	// The text for every tenth of a second from 0.0 up to 100.0, filled in as each is first shown
+	// Anything above that (only ever reached by clicking a lot of green tiles) is formatted as it comes
+	private static final int TIME_TEXT_TENTHS = 1000;
+	private static final String[] ARR_TIME_TEXT = new String[TIME_TEXT_TENTHS + 1];
+	
+	// The time budget, also used to decrement/increment the timer clock as needed
+	// The game engine adds and subtracts from this same clock through the tile rules
+	private GameClock clock;
 	
 	// Attributes used to visualize the round timer
-    private Timeline timelineTimer;
+	// The timer runs from the start; GameFX pauses it until the grid is populated
+    private boolean bRunning = true;
     private Label labelTimer = new Label();
+    private long lDisplayedTenths = -1;
     private final VBox rootPane;
     
     
@@ -64,7 +79,7 @@ public class Timer
     public Timer(double dStartTime) 
     {
     	// Initialize the timer's start time
-    	dTime = dStartTime;
+    	clock = new GameClock(dStartTime);
     	
     	// Set the rootPane
     	VBox vbTimer = new VBox();
@@ -73,36 +88,90 @@ public class Timer
     	// Adjust the visual properties of the timer
 	    labelTimer.setTextFill(Color.DARKSLATEGRAY);
 	    labelTimer.setStyle("-fx-font-size: 6em;");
-	     
-	    // Create a new timeline that is called indefinitely at 60fps (16 ms)
-        timelineTimer = new Timeline();
-		timelineTimer.setCycleCount(Timeline.INDEFINITE);
-		timelineTimer.getKeyFrames().add(new KeyFrame(Duration.millis(16), e -> timerLoop()));
-		timelineTimer.play();
-        
+	    
 		// Add the updating timer clock to the VBox
 		vbTimer.getChildren().add(labelTimer);
     }
     
     
-    // Method to continually subtract time from the timer clock
-    private void timerLoop()
+    // Method to continually subtract time from the timer clock, called by the game loop with the seconds since its last tick
+    // Package-private, rather than private, so the game loop and the benchmarks can call it directly
+    void timerLoop(double dSeconds)
     {
-    	// Every time it is called (every 16 ms), subtract 16 ms from the clock
-		dTime -= 0.016;
+    	// Nothing passes while the timer is paused
+    	if (!bRunning)
+    	{
+    		return;
+    	}
     	
-		// Sometimes the clock's timeline reads an incorrect number if dTime isn't explicitly 
-		// set to 0 when the timer clock hits or even skips over 0.0 from the 16ms rate
-		// This is to ensure a concrete ZERO when the timer clock hits or goes below 0
+    	// Each tick is timed for Java Flight Recorder, if a recording is running
+    	TimerTickEvent event = new TimerTickEvent();
+    	event.start();
+    	
+    	// Every time it is called, subtract the time that has actually passed from the clock
+		// GameClock ensures a concrete ZERO when the timer clock hits or goes below 0
 		// This is NOT to be confused with setting the timer clock ITSELF to 0.4 when it hits zero,
 		// which visually rounds to and displays 0.0 (which is done in the game mode classes)
-    	if(dTime <= 0)
+		clock.advance(dSeconds);
+    	
+    	// Round the clock's displayed number to one decimal place, and only touch the label when that number changes
+    	// Rounds half up, the same as String.format("%.1f") does
+    	long lTenths = Math.round(clock.getTimeRemaining() * 10);
+    	
+    	boolean bChanged = lTenths != lDisplayedTenths;
+    	
+    	if (bChanged)
     	{
-    		dTime = 0;
+    		lDisplayedTenths = lTenths;
+    		labelTimer.setText(getTimeText(lTenths));
     	}
     	
-    	// Round the clock's displayed number to one decimal place
-    	labelTimer.setText(String.format("%.1f", dTime));
+    	event.advanced = (long) (dSeconds * 1000);
+    	event.remaining = (long) (clock.getTimeRemaining() * 1000);
+    	event.labelChanged = bChanged;
+    	event.finish();
+    }
+    
+    
+    // Method to get the text shown for a number of tenths of a second, i.e. "12.3" for 123
+    // Each is formatted the first time it is needed and kept in the table, so the timer creates no new strings while it runs
+    static String getTimeText(long lTenths)
+    {
+    	if (lTenths < 0 || lTenths > TIME_TEXT_TENTHS)
+    	{
+    		return String.format("%.1f", lTenths / 10.0);
+    	}
+    	
+    	String strText = ARR_TIME_TEXT[(int) lTenths];
+    	
+    	if (strText == null)
+    	{
+    		strText = String.format("%.1f", lTenths / 10.0);
+    		ARR_TIME_TEXT[(int) lTenths] = strText;
+    	}
+    	
+    	return strText;
+    }
+    
+    
+    // Method to start (or resume) the timer clock counting down
+    public void play()
+    {
+    	bRunning = true;
+    }
+    
+    
+    // Method to pause the timer clock; the time left stays where it is
+    public void pause()
+    {
+    	bRunning = false;
+    }
+    
+    
+    // Whether or not the timer clock is counting down
+    public boolean isRunning()
+    {
+    	return bRunning;
     }
     
     
@@ -110,21 +179,21 @@ public class Timer
     // Used with green and red tiles
     public void setTimer(double dSetTime)
     {
-    	dTime = dSetTime;
+    	clock.setTimeRemaining(dSetTime);
     }
     
     // Getter for the time, whatever it may be
     public double getCurrentTime()
     {
-    	return dTime;
+    	return clock.getTimeRemaining();
     }
     
     
-    // Getter for the timeline
-    public Timeline getTimeline()
-	{
-		return timelineTimer;
-	}
+    // Getter for the clock, which the game mode hands to its engine
+    public GameClock getClock()
+    {
+    	return clock;
+    }
     
     
     // Getter for the rootPane
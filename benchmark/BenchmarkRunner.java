@@ -0,0 +1,43 @@
+/*
+ * Class: BenchmarkRunner
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     Every benchmark in this package (through JMH)
+ * 
+ * Called by classes:
+ *     None (run on its own, through main())
+ * 
+ * Description:
+ *     This class runs the benchmarks with the GC profiler attached, so every result comes with 
+ *     its allocation rate as well as its time.
+ * 
+ */
+
+package benchmark;
+
+
+// Imports
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+public class BenchmarkRunner
+{
+	// Runs every benchmark, or only the ones matching the regular expression given as the first argument
+	public static void main(String[] args) throws RunnerException
+	{
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : "benchmark\\..*Benchmark")
+				.addProfiler(GCProfiler.class)
+				.build();
+		
+		new Runner(options).run();
+	}
+	
+	
+}
\ No newline at end of file
@@ -0,0 +1,324 @@
+/*
+ * Class: GameBenchmarkTarget
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     GameEngine
+ *     EasyGameEngine
+ *     HardGameEngine
+ *     GameMode
+ *     EasyGameMode
+ *     HardGameMode
+ *     GameFX
+ *     GridRenderer
+ *     GridLayout
+ *     GameClock
+ *     GameRandom
+ *     Timer
+ *     SaveUserInfo
+ *     ScoreWriter
+ * 
+ * Called by classes:
+ *     benchmark.GameTarget (and through it, every benchmark)
+ * 
+ * Description:
+ *     This class is the benchmarks' way into the game; refer to benchmark.GameTarget for why it 
+ *     is needed. It sits in the default package, next to the game's classes, and performs each 
+ *     operation the benchmarks measure. The headless operations use the game engines alone; the 
+ *     FX operations go through the game modes, which also build and update JavaFX nodes. None of
+ *     those nodes are ever part of a showing scene, so they can be built on the benchmark thread.
+ * 
+ * Attrtibutes:
+ *     private static final double TIMER_START_TIME - A long start time for the timer benchmarks
+ *     private static final long SEED - The seed every engine and game mode is given, so every run sees the same grids
+ *     private static boolean bToolkitStarted - Whether JavaFX has been started in this JVM
+ *     
+ *     The rest are the engines, game modes, clock, timer and score file being measured.
+ * 
+ * Interesting Methods:
+ *     startToolkit() - Starts JavaFX once, so the FX operations can load images and build nodes
+ * 
+ */
+
+
+// Imports
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+import benchmark.GameTarget;
+import javafx.application.Platform;
+
+
+public class GameBenchmarkTarget implements GameTarget
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	// A long start time, so the clock rarely has to be reset back up from 0
+	private static final double TIMER_START_TIME = 1000.0;
+	
+	// Every run populates and updates the same grids, so runs can be compared with each other
+	private static final long SEED = 2017;
+	
+	// JavaFX can only be started once per JVM
+	private static boolean bToolkitStarted = false;
+	
+	// Headless engines, and the cells the hard engine updated
+	private GameEngine engineGeneric;
+	private EasyGameEngine engineEasy;
+	private HardGameEngine engineHard;
+	private int[] arrUpdatedCells;
+	
+	// Game modes, each with its own grid pane and (stopped) timer clock
+	private GameMode modeGeneric;
+	private EasyGameMode modeEasy;
+	private HardGameMode modeHard;
+	
+	// The clock and timer used by the timer benchmarks
+	private GameClock clock;
+	private Timer timerClock;
+	
+	// The temporary scores files and the objects that write to them
+	private File fileScores;
+	private File fileQueuedScores;
+	private SaveUserInfo userInfo;
+	private ScoreWriter writerScores;
+	
+	// Walks through the cells, so each update is on a different one
+	private int iCell = 0;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// Method to start JavaFX, if it hasn't been started already
+	private static synchronized void startToolkit()
+	{
+		if (!bToolkitStarted)
+		{
+			Platform.startup(() -> {});
+			Platform.setImplicitExit(false);
+			bToolkitStarted = true;
+		}
+	}
+	
+	
+	@Override
+	public void setUp(boolean bFX, int iGridSize)
+	{
+		int iEasyGridSize = iGridSize > 0 ? iGridSize : EasyGameEngine.EASY_GRID_SIZE;
+		int iHardGridSize = iGridSize > 0 ? iGridSize : HardGameEngine.HARD_GRID_SIZE;
+		
+		engineGeneric = new GameEngine(iHardGridSize, new GameClock(0), DifficultyTable.DEFAULT, new GameRandom(SEED));
+		engineEasy = new EasyGameEngine(iEasyGridSize, new GameClock(EasyGameEngine.EASY_START_TIME), DifficultyTable.DEFAULT, new GameRandom(SEED));
+		engineHard = new HardGameEngine(iHardGridSize, new GameClock(HardGameEngine.HARD_START_TIME), DifficultyTable.DEFAULT, new GameRandom(SEED));
+		engineHard.randomlyPopulateGrid();
+		arrUpdatedCells = new int[engineHard.getTilesPerUpdate()];
+		clock = new GameClock(TIMER_START_TIME);
+		
+		try
+		{
+			fileScores = File.createTempFile("scores", ".dat");
+			fileQueuedScores = File.createTempFile("queued", ".dat");
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		
+		userInfo = new SaveUserInfo();
+		userInfo.setFinishType(UserFinishType.Fail_OutOfTime);
+		writerScores = new ScoreWriter(fileQueuedScores.getPath(), SaveUserInfo.LEADERBOARD_SIZE);
+		
+		if (bFX)
+		{
+			startToolkit();
+			
+			// Each game mode's grid is drawn and sized the same way as in the game, so -Dtiles.renderer.hard=Canvas measures the canvas
+			// The generic mode is populated on the same size of grid as its headless engine (the hard mode's), so the two can be compared
+			modeGeneric = new GameMode(null, GameFX.HARD_RENDERER.create(GridLayout.fit(iHardGridSize)), new Timer(0),
+					iHardGridSize, new GameRandom(SEED));
+			modeEasy = new EasyGameMode(null, GameFX.EASY_RENDERER.create(GridLayout.fit(iEasyGridSize)), new Timer(EasyGameEngine.EASY_START_TIME),
+					iEasyGridSize, new GameRandom(SEED));
+			modeHard = new HardGameMode(null, GameFX.HARD_RENDERER.create(GridLayout.fit(iHardGridSize)), new Timer(HardGameEngine.HARD_START_TIME),
+					iHardGridSize, new GameRandom(SEED));
+			modeHard.stopAllTimelines();
+			modeHard.randomlyPopulateGrid();
+			
+			// The timers only tick when a game loop drives them, and no game loop is started here
+			timerClock = new Timer(TIMER_START_TIME);
+		}
+	}
+	
+	
+	@Override
+	public void tearDown()
+	{
+		if (modeHard != null)
+		{
+			modeHard.stopAllTimelines();
+		}
+		
+		writerScores.close();
+		
+		for (File file : new File[] {fileScores, fileQueuedScores})
+		{
+			file.delete();
+			new File(file.getPath() + ScoreLog.INDEX_SUFFIX).delete();
+			new File(file.getPath() + Leaderboard.SNAPSHOT_SUFFIX).delete();
+		}
+	}
+	
+	
+	// Method to move on to the next cell
+	private int nextCell()
+	{
+		iCell = (iCell + 1) % engineHard.getCellCount();
+		return iCell;
+	}
+	
+	
+	@Override
+	public Object headlessPopulateGeneric()
+	{
+		engineGeneric.randomlyPopulateGrid();
+		return engineGeneric;
+	}
+	
+	
+	@Override
+	public Object headlessPopulateEasy()
+	{
+		engineEasy.randomlyPopulateGrid();
+		return engineEasy;
+	}
+	
+	
+	@Override
+	public Object headlessPopulateHard()
+	{
+		engineHard.randomlyPopulateGrid();
+		return engineHard;
+	}
+	
+	
+	@Override
+	public Object fxPopulateGeneric()
+	{
+		modeGeneric.randomlyPopulateGrid();
+		return modeGeneric;
+	}
+	
+	
+	@Override
+	public Object fxPopulateEasy()
+	{
+		modeEasy.randomlyPopulateGrid();
+		return modeEasy;
+	}
+	
+	
+	@Override
+	public Object fxPopulateHard()
+	{
+		modeHard.randomlyPopulateGrid();
+		return modeHard;
+	}
+	
+	
+	@Override
+	public Object headlessUpdateTile()
+	{
+		engineHard.randomlyUpdateTile(nextCell());
+		return engineHard;
+	}
+	
+	
+	@Override
+	public int headlessUpdateGrid()
+	{
+		return engineHard.randomlyUpdateGrid(arrUpdatedCells);
+	}
+	
+	
+	@Override
+	public Object fxUpdateTile()
+	{
+		modeHard.randomlyUpdateTile(nextCell());
+		return modeHard.getRenderer();
+	}
+	
+	
+	@Override
+	public Object fxUpdateGrid()
+	{
+		modeHard.randomlyUpdateGrid();
+		return modeHard;
+	}
+	
+	
+	@Override
+	public double headlessTimerAdvance()
+	{
+		clock.advance(0.016);
+		
+		if (clock.getTimeRemaining() <= 0)
+		{
+			clock.reset(TIMER_START_TIME);
+		}
+		
+		return clock.getTimeRemaining();
+	}
+	
+	
+	@Override
+	public String headlessTimerAdvanceAndFormat()
+	{
+		headlessTimerAdvance();
+		return String.format("%.1f", clock.getTimeRemaining());
+	}
+	
+	
+	@Override
+	public double fxTimerLoop()
+	{
+		timerClock.timerLoop(0.016);
+		
+		if (timerClock.getCurrentTime() <= 0)
+		{
+			timerClock.setTimer(TIMER_START_TIME);
+		}
+		
+		return timerClock.getCurrentTime();
+	}
+	
+	
+	@Override
+	public Object headlessAppendUserScore()
+	{
+		userInfo.writeUserScore(fileScores.getPath(), "Benchmark", 15, 15.051);
+		return userInfo;
+	}
+	
+	
+	@Override
+	public Object headlessQueueUserScores(int iCount)
+	{
+		CompletableFuture<Integer> futureLast = null;
+		
+		for (int i = 0; i < iCount; i++)
+		{
+			futureLast = writerScores.submit(new ScoreRecord(UserFinishType.Fail_OutOfTime, "Benchmark", 15, 15.051, System.currentTimeMillis()));
+		}
+		
+		// The writer commits in order, so once the last score is on disk, all of them are
+		return futureLast.join();
+	}
+	
+	
+}
\ No newline at end of file
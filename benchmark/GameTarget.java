@@ -0,0 +1,86 @@
+/*
+ * Interface: GameTarget
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     GameBenchmarkTarget (loaded by name)
+ * 
+ * Called by classes:
+ *     GridPopulationBenchmark
+ *     TileUpdateBenchmark
+ *     TimerBenchmark
+ *     ScoreWriteBenchmark
+ * 
+ * Description:
+ *     JMH will not generate benchmarks for classes in the default package, and classes in a
+ *     named package can't see the game's classes, which are all in the default package. So the
+ *     benchmarks live in this package and call the game through this interface, which is 
+ *     implemented by GameBenchmarkTarget in the default package and loaded by name. Every call
+ *     site only ever sees that one class, so the JIT inlines straight through the interface.
+ * 
+ *     Each method performs one operation and returns something that depends on it, so JMH can
+ *     keep it from being optimized away.
+ * 
+ * Interesting Methods:
+ *     create() - Loads a new GameBenchmarkTarget
+ * 
+ */
+
+package benchmark;
+
+
+public interface GameTarget 
+{
+	// Method to load a new GameBenchmarkTarget from the default package
+	static GameTarget create()
+	{
+		try
+		{
+			return (GameTarget) Class.forName("GameBenchmarkTarget").getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException("GameBenchmarkTarget must be compiled along with the benchmarks.", e);
+		}
+	}
+	
+	
+	// Builds the engines, and with bFX, starts JavaFX and builds the game modes and timer too
+	// The easy and hard engines and game modes are built on grids of the given size, or their own with 0
+	void setUp(boolean bFX, int iGridSize);
+	
+	// Builds everything on each game mode's own grid size
+	default void setUp(boolean bFX)
+	{
+		setUp(bFX, 0);
+	}
+	
+	// Stops any timelines the game modes started
+	void tearDown();
+	
+	// randomlyPopulateGrid() for each engine and game mode
+	Object headlessPopulateGeneric();
+	Object headlessPopulateEasy();
+	Object headlessPopulateHard();
+	Object fxPopulateGeneric();
+	Object fxPopulateEasy();
+	Object fxPopulateHard();
+	
+	// The hard game mode's random updates, on the next cell in turn
+	Object headlessUpdateTile();
+	int headlessUpdateGrid();
+	Object fxUpdateTile();
+	Object fxUpdateGrid();
+	
+	// One tick of the timer clock
+	double headlessTimerAdvance();
+	String headlessTimerAdvanceAndFormat();
+	double fxTimerLoop();
+	
+	// One score appended to a temporary file
+	Object headlessAppendUserScore();
+	
+	// A number of scores queued at once on a score writer, and waited on until they are all on disk
+	Object headlessQueueUserScores(int iCount);
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * Class: GridPopulationBenchmark
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     GameTarget
+ * 
+ * Called by classes:
+ *     BenchmarkRunner (through JMH)
+ * 
+ * Description:
+ *     This class measures randomlyPopulateGrid() for the generic, easy and hard game modes. The 
+ *     headless benchmarks run the engine alone; the fx benchmarks go through the game modes, 
+ *     which also throw away the old tiles and build a new Button, ImageView and Image for every 
+ *     cell, the same as at the start of every round.
+ *     
+ *     Each is run on each game mode's own grid size, then on a 50x50 grid, to show how the
+ *     work grows with the number of cells.
+ * 
+ * Attrtibutes:
+ *     private GameTarget target - The game, as seen from the benchmarks
+ *     public int gridSize - The grid size the easy and hard modes are built on (0 for their own)
+ * 
+ */
+
+package benchmark;
+
+
+// Imports
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridPopulationBenchmark
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	private GameTarget target;
+	
+	// 0 builds each game mode on its own grid size, 5x5 or 6x6
+	@Param({"0", "50"})
+	public int gridSize;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// JavaFX is only started for the fx benchmarks, so the headless ones also run without a display
+	@Setup
+	public void setUp(BenchmarkParams params)
+	{
+		target = GameTarget.create();
+		target.setUp(params.getBenchmark().contains(".fx"), gridSize);
+	}
+	
+	
+	@TearDown
+	public void tearDown()
+	{
+		target.tearDown();
+	}
+	
+	
+	@Benchmark
+	public Object headlessGeneric()
+	{
+		return target.headlessPopulateGeneric();
+	}
+	
+	
+	@Benchmark
+	public Object headlessEasy()
+	{
+		return target.headlessPopulateEasy();
+	}
+	
+	
+	@Benchmark
+	public Object headlessHard()
+	{
+		return target.headlessPopulateHard();
+	}
+	
+	
+	@Benchmark
+	public Object fxGeneric()
+	{
+		return target.fxPopulateGeneric();
+	}
+	
+	
+	@Benchmark
+	public Object fxEasy()
+	{
+		return target.fxPopulateEasy();
+	}
+	
+	
+	@Benchmark
+	public Object fxHard()
+	{
+		return target.fxPopulateHard();
+	}
+	
+	
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Class: ScoreWriteBenchmark
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     GameTarget
+ * 
+ * Called by classes:
+ *     BenchmarkRunner (through JMH)
+ * 
+ * Description:
+ *     This class measures saving a score, which opens the score log, appends the record and 
+ *     closes it again every time. It writes to a temporary file instead of scores.dat. There is 
+ *     no fx benchmark, since SaveUserInfo.appendUserScore() waits on a modal name prompt.
+ *
+ *     It also measures queueing scores on a ScoreWriter, as the game now does, a burst at a time;
+ *     the writer commits each burst as a group, with one force to disk instead of one per score.
+ * 
+ * Attrtibutes:
+ *     public static final int SCORES_PER_BURST - How many scores are queued at once
+ *     private GameTarget target - The game, as seen from the benchmarks
+ * 
+ */
+
+package benchmark;
+
+
+// Imports
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreWriteBenchmark
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	// Scores are counted one at a time, even when queued in bursts
+	public static final int SCORES_PER_BURST = 64;
+	
+	private GameTarget target;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	@Setup
+	public void setUp()
+	{
+		target = GameTarget.create();
+		target.setUp(false);
+	}
+	
+	
+	@TearDown
+	public void tearDown()
+	{
+		target.tearDown();
+	}
+	
+	
+	@Benchmark
+	public Object headlessAppendUserScore()
+	{
+		return target.headlessAppendUserScore();
+	}
+	
+	
+	@Benchmark
+	@OperationsPerInvocation(SCORES_PER_BURST)
+	public Object headlessQueueUserScores()
+	{
+		return target.headlessQueueUserScores(SCORES_PER_BURST);
+	}
+	
+	
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/*
+ * Class: TileUpdateBenchmark
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     GameTarget
+ * 
+ * Called by classes:
+ *     BenchmarkRunner (through JMH)
+ * 
+ * Description:
+ *     This class measures the hard game mode's random tile updates: a single tile, walking 
+ *     through every cell in turn, and the once-a-second update of the grid. The fx benchmarks 
+ *     also redraw the updated tiles, which builds a new ImageView (and ColorAdjust) every time.
+ *     
+ *     Each is run on each game mode's own grid size, then on a 50x50 grid, to show how the
+ *     work grows with the number of cells.
+ * 
+ * Attrtibutes:
+ *     private GameTarget target - The game, as seen from the benchmarks
+ *     public int gridSize - The grid size the easy and hard modes are built on (0 for their own)
+ * 
+ */
+
+package benchmark;
+
+
+// Imports
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileUpdateBenchmark
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	private GameTarget target;
+	
+	// 0 builds each game mode on its own grid size, 5x5 or 6x6
+	@Param({"0", "50"})
+	public int gridSize;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// JavaFX is only started for the fx benchmarks, so the headless ones also run without a display
+	@Setup
+	public void setUp(BenchmarkParams params)
+	{
+		target = GameTarget.create();
+		target.setUp(params.getBenchmark().contains(".fx"), gridSize);
+	}
+	
+	
+	@TearDown
+	public void tearDown()
+	{
+		target.tearDown();
+	}
+	
+	
+	@Benchmark
+	public Object headlessUpdateTile()
+	{
+		return target.headlessUpdateTile();
+	}
+	
+	
+	@Benchmark
+	public int headlessUpdateGrid()
+	{
+		return target.headlessUpdateGrid();
+	}
+	
+	
+	@Benchmark
+	public Object fxUpdateTile()
+	{
+		return target.fxUpdateTile();
+	}
+	
+	
+	@Benchmark
+	public Object fxUpdateGrid()
+	{
+		return target.fxUpdateGrid();
+	}
+	
+	
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Class: TimerBenchmark
+ * Author: Tyler T. Procko
+ * Date(s): October 2026
+ * 
+ * Classes called:
+ *     GameTarget
+ * 
+ * Called by classes:
+ *     BenchmarkRunner (through JMH)
+ * 
+ * Description:
+ *     This class measures one tick of the timer, which runs every 16 milliseconds for the whole
+ *     game: the clock alone, the clock plus formatting its label text, and Timer.timerLoop(), 
+ *     which also sets the text of the label.
+ * 
+ * Attrtibutes:
+ *     private GameTarget target - The game, as seen from the benchmarks
+ * 
+ */
+
+package benchmark;
+
+
+// Imports
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmark
+{
+	/* ---------------------- */
+	/* ----- ATTRIBUTES ----- */
+	/* ---------------------- */
+	
+	private GameTarget target;
+	
+	
+	/* -------------------------------- */
+	/* ----- METHODS/CONSTRUCTORS ----- */
+	/* -------------------------------- */
+	
+	// JavaFX is only started for the fx benchmarks, so the headless ones also run without a display
+	@Setup
+	public void setUp(BenchmarkParams params)
+	{
+		target = GameTarget.create();
+		target.setUp(params.getBenchmark().contains(".fx"));
+	}
+	
+	
+	@TearDown
+	public void tearDown()
+	{
+		target.tearDown();
+	}
+	
+	
+	@Benchmark
+	public double headlessAdvance()
+	{
+		return target.headlessTimerAdvance();
+	}
+	
+	
+	@Benchmark
+	public String headlessAdvanceAndFormat()
+	{
+		return target.headlessTimerAdvanceAndFormat();
+	}
+	
+	
+	@Benchmark
+	public double fxTimerLoop()
+	{
+		return target.fxTimerLoop();
+	}
+	
+	
+}
\ No newline at end of file